@@ -1,20 +1,40 @@
 package com.aquatech.alert.config;
 
+import com.aquatech.alert.utils.CommonUtils;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
+import io.lettuce.core.AbstractRedisClient;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.cluster.ClusterClientOptions;
+import io.lettuce.core.cluster.RedisClusterClient;
+import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
-import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
 
 @Configuration
 public class RedisConfig {
@@ -27,11 +47,109 @@ public class RedisConfig {
     @Value("${spring.data.redis.db}")
     private int database;
 
+    /**
+     * Comma separated host:port seed list. When set, the service connects in cluster mode
+     * and {@code host}/{@code port}/{@code db} are ignored.
+     */
+    @Value("${spring.data.redis.cluster.nodes:}")
+    private String clusterNodes;
+
+    @Value("${spring.data.redis.cluster.max-redirects:3}")
+    private int clusterMaxRedirects;
+
+    /**
+     * Kept below {@code alert.redis-breaker.slow-call-ms}, so a stalled Redis fails calls fast
+     * enough for the breaker to open; the Redisson starter reads the same property.
+     */
+    @Value("${spring.data.redis.timeout:400ms}")
+    private Duration commandTimeout;
+
+    /**
+     * Lettuce is used for both topologies because Jedis cluster connections cannot pipeline,
+     * and the sync job relies on pipelined writes.
+     */
     @Bean
-    JedisConnectionFactory jedisConnectionFactory() {
+    LettuceConnectionFactory redisConnectionFactory() {
+        LettuceClientConfiguration clientConfiguration = LettuceClientConfiguration.builder()
+                .commandTimeout(commandTimeout)
+                .clientOptions(clientOptions())
+                .build();
+        if (isClusterMode()) {
+            RedisClusterConfiguration redisClusterConfiguration = new RedisClusterConfiguration(
+                    Arrays.stream(clusterNodes.split(",")).map(String::trim).toList());
+            redisClusterConfiguration.setMaxRedirects(clusterMaxRedirects);
+            return new LettuceConnectionFactory(redisClusterConfiguration, clientConfiguration);
+        }
         RedisStandaloneConfiguration redisStandaloneConfiguration = new RedisStandaloneConfiguration(host, port);
         redisStandaloneConfiguration.setDatabase(database);
-        return new JedisConnectionFactory(redisStandaloneConfiguration);
+        return new LettuceConnectionFactory(redisStandaloneConfiguration, clientConfiguration);
+    }
+
+    /**
+     * Commands time out after {@link #commandTimeout} and are rejected while disconnected
+     * instead of queueing until the connection is back.
+     */
+    private ClientOptions clientOptions() {
+        TimeoutOptions timeoutOptions = TimeoutOptions.enabled(commandTimeout);
+        if (isClusterMode()) {
+            return ClusterClientOptions.builder()
+                    .timeoutOptions(timeoutOptions)
+                    .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+                    .build();
+        }
+        return ClientOptions.builder()
+                .timeoutOptions(timeoutOptions)
+                .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+                .build();
+    }
+
+    public boolean isClusterMode() {
+        return !CommonUtils.isEmptyString(clusterNodes);
+    }
+
+    /**
+     * Native Lettuce client behind the asynchronous evaluation path. A single connection is
+     * shared by every reading; Lettuce multiplexes concurrent commands onto it, so they are
+     * written to the socket back to back instead of waiting for one another.
+     */
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(name = "alert.evaluation.async-redis", havingValue = "true")
+    public AbstractRedisClient asyncRedisClient() {
+        if (isClusterMode()) {
+            RedisClusterClient clusterClient = RedisClusterClient.create(Arrays.stream(clusterNodes.split(","))
+                    .map(String::trim)
+                    .map(node -> RedisURI.builder(RedisURI.create("redis://" + node)).withTimeout(commandTimeout).build())
+                    .toList());
+            clusterClient.setOptions((ClusterClientOptions) clientOptions());
+            return clusterClient;
+        }
+        RedisClient client = RedisClient.create(RedisURI.builder()
+                .withHost(host)
+                .withPort(port)
+                .withDatabase(database)
+                .withTimeout(commandTimeout)
+                .build());
+        client.setOptions(clientOptions());
+        return client;
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "alert.evaluation.async-redis", havingValue = "true")
+    public StatefulConnection<String, String> asyncRedisConnection(AbstractRedisClient asyncRedisClient) {
+        if (asyncRedisClient instanceof RedisClusterClient clusterClient) {
+            return clusterClient.connect();
+        }
+        return ((RedisClient) asyncRedisClient).connect();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "alert.evaluation.async-redis", havingValue = "true")
+    public RedisClusterAsyncCommands<String, String> asyncRedisCommands(
+            StatefulConnection<String, String> asyncRedisConnection) {
+        if (asyncRedisConnection instanceof StatefulRedisClusterConnection<String, String> clusterConnection) {
+            return clusterConnection.async();
+        }
+        return ((StatefulRedisConnection<String, String>) asyncRedisConnection).async();
     }
 
     @Bean
@@ -58,18 +176,30 @@ public class RedisConfig {
     @Bean
     public RedisTemplate<String, Object> redisTemplate() {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
-        template.setConnectionFactory(jedisConnectionFactory());
+        template.setConnectionFactory(redisConnectionFactory());
         template.setKeySerializer(new StringRedisSerializer());
         template.setValueSerializer(new GenericJackson2JsonRedisSerializer(redisObjectMapper()));
         return template;
     }
 
+    @Bean
+    public RedisScript<Long> applySeriesDeltaScript() {
+        return RedisScript.of(new ClassPathResource("scripts/apply_series_delta.lua"), Long.class);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer() {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory());
+        return container;
+    }
+
     @Bean
     public RedisTemplate<String, String> customStringRedisTemplate() {
         RedisTemplate<String, String> template = new RedisTemplate<>();
-        template.setConnectionFactory(jedisConnectionFactory());
+        template.setConnectionFactory(redisConnectionFactory());
         template.setKeySerializer(new StringRedisSerializer());
         template.setValueSerializer(new StringRedisSerializer());
         return template;
     }
-}
\ No newline at end of file
+}
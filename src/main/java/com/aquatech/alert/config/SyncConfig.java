@@ -7,6 +7,7 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 @EnableAsync
@@ -22,4 +23,20 @@ public class SyncConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * Single writer for the alert history. A flush that fires while the previous one is still
+     * running is dropped; the next one picks up whatever is buffered.
+     */
+    @Bean(name = "historyExecutor")
+    public Executor historyExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.setThreadNamePrefix("HistoryWriter-");
+        executor.initialize();
+        return executor;
+    }
 }
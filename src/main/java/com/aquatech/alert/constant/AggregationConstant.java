@@ -0,0 +1,12 @@
+package com.aquatech.alert.constant;
+
+/**
+ * Aggregations of windowed conditions. Kept apart from {@link OperatorConstant}, whose string
+ * fields are listed as the available operators.
+ */
+public class AggregationConstant {
+    public static final String AVG = "AVG";
+    public static final String MIN = "MIN";
+    public static final String MAX = "MAX";
+    public static final String COUNT = "COUNT";
+}
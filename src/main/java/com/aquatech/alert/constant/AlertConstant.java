@@ -3,4 +3,14 @@ package com.aquatech.alert.constant;
 public class AlertConstant {
     public static final String TYPE_ALERT = "alert";
     public static final String TYPE_RESOLVED = "resolved";
+    public static final String TYPE_DIGEST = "digest";
+    public static final String TYPE_RENOTIFY = "renotify";
+    public static final String TYPE_NO_DATA = "no_data";
+
+    public static final String VIEW_FULL = "full";
+    public static final String VIEW_BASIC = "basic";
+    public static final String VIEW_SUMMARY = "summary";
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
 }
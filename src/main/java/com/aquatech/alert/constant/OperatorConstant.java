@@ -9,6 +9,9 @@ public class OperatorConstant {
     public static final String LESS_THAN_EQUAL = "LTE";
     public static final String RANGE = "RANGE";
     public static final String OUTSIDE_RANGE = "OUTSIDE_RANGE";
+    public static final String RATE_OF_CHANGE = "RATE_OF_CHANGE";
+    public static final String PERCENT_CHANGE = "PERCENT_CHANGE";
+    public static final String Z_SCORE = "Z_SCORE";
 
     public static final double THRESHOLD_PRECISION = 0.001;
 }
\ No newline at end of file
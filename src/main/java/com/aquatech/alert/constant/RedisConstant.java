@@ -1,9 +1,14 @@
 package com.aquatech.alert.constant;
 
 public class RedisConstant {
-    public static final String TRACKING_PREFIX = "Tracking:";
+    /** Per-condition tracking keys used before tracking moved to per-station hashes. */
+    public static final String LEGACY_TRACKING_PREFIX = "Tracking:";
+    public static final String TRACKING_KEY_PATTERN = "tracking:{station:*}";
     public static final long TRACKING_DURATION_HOURS = 1;
 
+    public static final String ALERT_CHANGE_CHANNEL = "alert:changes";
+    public static final String ALERT_TRANSITION_CHANNEL = "alert:transitions";
+
     public static final String KEY_USER_ID = "user_id";
     public static final String KEY_OPERATOR = "operator";
     public static final String KEY_SEVERITY = "severity";
@@ -15,4 +20,7 @@ public class RedisConstant {
     public static final String KEY_ALERT_ID = "alert_id";
     public static final String KEY_CONDITION_UID = "condition_uid";
     public static final String KEY_SILENCED = "silenced";
+    public static final String KEY_AGGREGATION = "aggregation";
+    public static final String KEY_WINDOW_SECONDS = "window_seconds";
+    public static final String KEY_SUSTAIN_SECONDS = "sustain_seconds";
 }
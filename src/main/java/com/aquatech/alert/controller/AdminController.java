@@ -0,0 +1,79 @@
+package com.aquatech.alert.controller;
+
+import com.aquatech.alert.engine.FairScheduler;
+import com.aquatech.alert.payload.response.SuccessApiResponse;
+import com.aquatech.alert.service.AlertEventService;
+import com.aquatech.alert.service.AlertStreamService;
+import com.aquatech.alert.service.EvaluationProfiler;
+import com.aquatech.alert.service.EvaluationScheduler;
+import com.aquatech.alert.service.RedisCircuitBreaker;
+import com.aquatech.alert.service.TrackingJournal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin/")
+public class AdminController {
+    @Autowired
+    private EvaluationScheduler evaluationScheduler;
+
+    @Autowired
+    private AlertEventService alertEventService;
+
+    @Autowired
+    private AlertStreamService alertStreamService;
+
+    @Autowired
+    private EvaluationProfiler evaluationProfiler;
+
+    @Autowired
+    private RedisCircuitBreaker redisCircuitBreaker;
+
+    @Autowired
+    private TrackingJournal trackingJournal;
+
+    @GetMapping("scheduler/queues")
+    public ResponseEntity<?> getSchedulerQueues() {
+        List<FairScheduler.TenantStats> stats = evaluationScheduler.getQueueStats().stream()
+                .sorted(Comparator.comparingInt(FairScheduler.TenantStats::queued).reversed())
+                .toList();
+        return ResponseEntity.ok().body(new SuccessApiResponse<>(stats));
+    }
+
+    @GetMapping("history/buffer")
+    public ResponseEntity<?> getHistoryBuffer() {
+        return ResponseEntity.ok().body(new SuccessApiResponse<>(Map.of(
+                "buffered", alertEventService.getBufferedCount(),
+                "dropped", alertEventService.getDroppedCount())));
+    }
+
+    @GetMapping("stream/subscribers")
+    public ResponseEntity<?> getStreamSubscribers() {
+        return ResponseEntity.ok().body(new SuccessApiResponse<>(Map.of(
+                "subscribers", alertStreamService.getSubscriberCount())));
+    }
+
+    @GetMapping("redis/breaker")
+    public ResponseEntity<?> getRedisBreaker() {
+        Map<String, Object> status = new LinkedHashMap<>(redisCircuitBreaker.getStatus());
+        status.put("journaled", trackingJournal.size());
+        return ResponseEntity.ok().body(new SuccessApiResponse<>(status));
+    }
+
+    @GetMapping("profiler")
+    public ResponseEntity<?> getProfiler(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok().body(new SuccessApiResponse<>(evaluationProfiler.getReport(limit)));
+    }
+
+    @PostMapping("profiler/reset")
+    public ResponseEntity<?> resetProfiler() {
+        evaluationProfiler.reset();
+        return ResponseEntity.ok().body(new SuccessApiResponse<>("Profiler reset successfully"));
+    }
+}
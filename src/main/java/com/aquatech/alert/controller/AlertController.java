@@ -1,11 +1,19 @@
 package com.aquatech.alert.controller;
 
 import com.aquatech.alert.dto.AlertDto;
+import com.aquatech.alert.dto.BulkUpdateItemDto;
+import com.aquatech.alert.entity.Alert;
 import com.aquatech.alert.payload.response.SuccessApiResponse;
+import com.aquatech.alert.service.AlertBulkService;
 import com.aquatech.alert.service.AlertService;
+import com.aquatech.alert.service.SyncService;
+import com.aquatech.alert.utils.ETagUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/")
@@ -13,6 +21,12 @@ public class AlertController {
     @Autowired
     private AlertService alertService;
 
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private AlertBulkService alertBulkService;
+
     @PostMapping("create/{userId}")
     public ResponseEntity<?> createAlert(
             @PathVariable Integer userId,
@@ -21,11 +35,52 @@ public class AlertController {
         return ResponseEntity.ok().body(new SuccessApiResponse<>(alertService.createAlert(userId, alertDto)));
     }
 
+    @PostMapping("bulk/create/{userId}")
+    public ResponseEntity<?> createAlerts(
+            @PathVariable Integer userId,
+            @RequestBody List<AlertDto> alertDtos
+    ) {
+        return ResponseEntity.ok().body(new SuccessApiResponse<>(alertBulkService.createAlerts(userId, alertDtos)));
+    }
+
+    @PutMapping("bulk/update")
+    public ResponseEntity<?> updateAlerts(
+            @RequestBody List<BulkUpdateItemDto> items
+    ) {
+        return ResponseEntity.ok().body(new SuccessApiResponse<>(alertBulkService.updateAlerts(items)));
+    }
+
+    @PostMapping("bulk/delete")
+    public ResponseEntity<?> deleteAlerts(
+            @RequestBody List<String> alertIds
+    ) {
+        return ResponseEntity.ok().body(new SuccessApiResponse<>(alertBulkService.deleteAlerts(alertIds)));
+    }
+
     @GetMapping("get/user/{userId}")
     public ResponseEntity<?> getAlertsByUserId(
-            @PathVariable Integer userId
+            @PathVariable Integer userId,
+            WebRequest request
+    ) {
+        List<Alert> alerts = alertService.getAlertsByUserId(userId);
+        String eTag = ETagUtils.forAlerts(alerts);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(new SuccessApiResponse<>(alerts));
+    }
+
+    @GetMapping("get/user/{userId}/page")
+    public ResponseEntity<?> getAlertPageByUserId(
+            @PathVariable Integer userId,
+            @RequestParam(required = false) Integer stationId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String view
     ) {
-        return ResponseEntity.ok().body(new SuccessApiResponse<>(alertService.getAlertsByUserId(userId)));
+        return ResponseEntity.ok().body(new SuccessApiResponse<>(
+                alertService.getAlertPageByUserId(userId, stationId, status, cursor, limit, view)));
     }
 
     @PutMapping("update/{alertId}")
@@ -54,9 +109,23 @@ public class AlertController {
 
     @GetMapping("get/alert/{alertId}")
     public ResponseEntity<?> getAlertById(
-            @PathVariable String alertId
+            @PathVariable String alertId,
+            WebRequest request
+    ) {
+        Alert alert = alertService.getAlertById(alertId);
+        String eTag = ETagUtils.forAlert(alert);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(new SuccessApiResponse<>(alert));
+    }
+
+    @PostMapping("sync/station/{stationId}/metric/{metricId}")
+    public ResponseEntity<?> syncSeries(
+            @PathVariable Integer stationId,
+            @PathVariable Integer metricId
     ) {
-        return ResponseEntity.ok().body(new SuccessApiResponse<>(alertService.getAlertById(alertId)));
+        return ResponseEntity.ok().body(new SuccessApiResponse<>(syncService.syncSeriesToRedis(stationId, metricId)));
     }
 
     @GetMapping("get/operator")
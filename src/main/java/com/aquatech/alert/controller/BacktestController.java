@@ -0,0 +1,20 @@
+package com.aquatech.alert.controller;
+
+import com.aquatech.alert.dto.BacktestRequestDto;
+import com.aquatech.alert.payload.response.SuccessApiResponse;
+import com.aquatech.alert.service.BacktestService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/backtest/")
+public class BacktestController {
+    @Autowired
+    private BacktestService backtestService;
+
+    @PostMapping("run")
+    public ResponseEntity<?> run(@RequestBody BacktestRequestDto request) {
+        return ResponseEntity.ok().body(new SuccessApiResponse<>(backtestService.run(request)));
+    }
+}
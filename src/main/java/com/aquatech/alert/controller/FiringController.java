@@ -0,0 +1,31 @@
+package com.aquatech.alert.controller;
+
+import com.aquatech.alert.payload.response.SuccessApiResponse;
+import com.aquatech.alert.service.FiringIndexService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/firing/")
+public class FiringController {
+    @Autowired
+    private FiringIndexService firingIndexService;
+
+    @GetMapping("get/user/{userId}")
+    public ResponseEntity<?> getFiringByUserId(
+            @PathVariable Integer userId
+    ) {
+        return ResponseEntity.ok().body(new SuccessApiResponse<>(firingIndexService.getFiringByUserId(userId)));
+    }
+
+    @GetMapping("get/station/{stationId}")
+    public ResponseEntity<?> getFiringByStationId(
+            @PathVariable Integer stationId
+    ) {
+        return ResponseEntity.ok().body(new SuccessApiResponse<>(firingIndexService.getFiringByStationId(stationId)));
+    }
+}
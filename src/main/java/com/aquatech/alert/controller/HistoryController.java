@@ -0,0 +1,49 @@
+package com.aquatech.alert.controller;
+
+import com.aquatech.alert.payload.response.SuccessApiResponse;
+import com.aquatech.alert.service.AlertEventService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/history/")
+public class HistoryController {
+    @Autowired
+    private AlertEventService alertEventService;
+
+    @GetMapping("get/alert/{alertId}")
+    public ResponseEntity<?> getEventsByAlertId(
+            @PathVariable String alertId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity.ok().body(new SuccessApiResponse<>(
+                alertEventService.getEventsByAlertId(alertId, from, to, limit)));
+    }
+
+    @GetMapping("get/alert/{alertId}/count")
+    public ResponseEntity<?> countEventsByAlertId(
+            @PathVariable String alertId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        return ResponseEntity.ok().body(new SuccessApiResponse<>(
+                alertEventService.countEventsByAlertId(alertId, from, to)));
+    }
+
+    @GetMapping("get/station/{stationId}")
+    public ResponseEntity<?> getEventsByStationId(
+            @PathVariable Integer stationId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity.ok().body(new SuccessApiResponse<>(
+                alertEventService.getEventsByStationId(stationId, from, to, limit)));
+    }
+}
@@ -0,0 +1,37 @@
+package com.aquatech.alert.controller;
+
+import com.aquatech.alert.dto.MaintenanceWindowDto;
+import com.aquatech.alert.payload.response.SuccessApiResponse;
+import com.aquatech.alert.service.MaintenanceService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/maintenance/")
+public class MaintenanceController {
+    @Autowired
+    private MaintenanceService maintenanceService;
+
+    @PostMapping("create")
+    public ResponseEntity<?> createWindow(
+            @RequestBody MaintenanceWindowDto windowDto
+    ) {
+        return ResponseEntity.ok().body(new SuccessApiResponse<>(maintenanceService.createWindow(windowDto)));
+    }
+
+    @GetMapping("get/station/{stationId}")
+    public ResponseEntity<?> getWindowsByStationId(
+            @PathVariable Integer stationId
+    ) {
+        return ResponseEntity.ok().body(new SuccessApiResponse<>(maintenanceService.getWindowsByStationId(stationId)));
+    }
+
+    @DeleteMapping("delete/{windowId}")
+    public ResponseEntity<?> deleteWindow(
+            @PathVariable String windowId
+    ) {
+        maintenanceService.deleteWindow(windowId);
+        return ResponseEntity.ok().body(new SuccessApiResponse<>("Maintenance window deleted successfully"));
+    }
+}
@@ -0,0 +1,36 @@
+package com.aquatech.alert.controller;
+
+import com.aquatech.alert.service.AlertStreamService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Server-Sent Events of ALERT/RESOLVED edges. Each event is named after its type_message and
+ * carries the notification JSON; a "dropped" event reports how many were skipped because the
+ * client fell behind.
+ */
+@RestController
+@RequestMapping("/stream/")
+public class StreamController {
+    @Autowired
+    private AlertStreamService alertStreamService;
+
+    @GetMapping(value = "user/{userId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamByUserId(
+            @PathVariable Integer userId
+    ) {
+        return alertStreamService.subscribeUser(userId);
+    }
+
+    @GetMapping(value = "station/{stationId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamByStationId(
+            @PathVariable Integer stationId
+    ) {
+        return alertStreamService.subscribeStation(stationId);
+    }
+}
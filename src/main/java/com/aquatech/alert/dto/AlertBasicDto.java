@@ -0,0 +1,36 @@
+package com.aquatech.alert.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Every alert column except the conditions.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class AlertBasicDto {
+    private UUID uid;
+
+    private String name;
+
+    private Integer userId;
+
+    private Integer stationId;
+
+    private String message;
+
+    private Integer silenced;
+
+    private String status;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+}
@@ -1,6 +1,7 @@
 package com.aquatech.alert.dto;
 
 import com.aquatech.alert.model.AlertCondition;
+import com.aquatech.alert.model.CompositeRule;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -21,6 +22,8 @@ public class AlertDto {
 
     public List<AlertCondition> conditions;
 
+    private CompositeRule rule;
+
     private Integer silenced;
 
     private String status;
@@ -0,0 +1,25 @@
+package com.aquatech.alert.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class AlertSummaryDto {
+    private UUID uid;
+
+    private String name;
+
+    private Integer stationId;
+
+    private String status;
+
+    private LocalDateTime createdAt;
+}
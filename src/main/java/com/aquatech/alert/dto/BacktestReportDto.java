@@ -0,0 +1,61 @@
+package com.aquatech.alert.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BacktestReportDto {
+    private String file;
+
+    /** Lines parsed, replayed (matching station and metric) and rejected as malformed. */
+    private long readings;
+    private long replayed;
+    private long malformed;
+
+    private int stations;
+
+    private long elapsedMillis;
+
+    private long readingsPerSecond;
+
+    private List<ConditionReport> conditions;
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class ConditionReport {
+        private UUID conditionUid;
+
+        private Integer metricId;
+
+        private String operator;
+
+        /** ALERT edges. */
+        private long triggers;
+
+        /** RESOLVED edges. */
+        private long resolves;
+
+        /** Firing episodes shorter than {@code alert.backtest.flap-seconds}. */
+        private long flaps;
+
+        /** flaps / triggers. */
+        private double flapRate;
+
+        private long timeInAlertSeconds;
+
+        /** Time in alert over the time span covered by the replayed stations' readings. */
+        private double timeInAlertRatio;
+
+        private int stationsTriggered;
+    }
+}
@@ -0,0 +1,21 @@
+package com.aquatech.alert.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A proposed alert and the readings file to replay it against. {@code file} is resolved
+ * inside {@code alert.backtest.data-dir}. Without a station id the conditions are evaluated
+ * against every station in the file.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BacktestRequestDto {
+    private AlertDto alert;
+
+    private String file;
+}
@@ -0,0 +1,33 @@
+package com.aquatech.alert.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+/**
+ * Outcome of one entry of a bulk request; {@code index} is its position in the request body.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkItemResult {
+    private int index;
+
+    private UUID alertId;
+
+    private boolean success;
+
+    private String error;
+
+    public static BulkItemResult ok(int index, UUID alertId) {
+        return new BulkItemResult(index, alertId, true, null);
+    }
+
+    public static BulkItemResult failed(int index, UUID alertId, String error) {
+        return new BulkItemResult(index, alertId, false, error);
+    }
+}
@@ -0,0 +1,33 @@
+package com.aquatech.alert.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * One-off window: {@code startsAt} and {@code endsAt}. Weekly window: {@code daysOfWeek}
+ * (bit 0 = Monday), {@code startTime} and {@code durationMinutes}.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class MaintenanceWindowDto {
+    private Integer stationId;
+
+    private String reason;
+
+    private LocalDateTime startsAt;
+
+    private LocalDateTime endsAt;
+
+    private Integer daysOfWeek;
+
+    private LocalTime startTime;
+
+    private Integer durationMinutes;
+}
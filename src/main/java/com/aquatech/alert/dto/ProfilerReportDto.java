@@ -0,0 +1,47 @@
+package com.aquatech.alert.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProfilerReportDto {
+    /** Events recorded since start or the last reset; exact, unlike the per-key counts. */
+    private long readings;
+    private long evaluations;
+    private long flaps;
+
+    private int sampleRate;
+
+    /** Busiest (station, metric) series by readings. */
+    private List<Hit> series;
+
+    /** Conditions evaluated most often. */
+    private List<Hit> conditions;
+
+    /** Conditions resolving most often within {@code alert.profiler.flap-seconds} of firing. */
+    private List<Hit> flapping;
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Hit {
+        /** {@code stationId:metricId} for series, the condition uid otherwise. */
+        private String key;
+
+        /** Upper bound of the count; at least {@code count - error} is exact. */
+        private long count;
+
+        private long error;
+
+        /** count / total of the sketch. */
+        private double share;
+    }
+}
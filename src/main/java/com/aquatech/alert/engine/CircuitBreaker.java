@@ -0,0 +1,131 @@
+package com.aquatech.alert.engine;
+
+import java.util.Arrays;
+
+/**
+ * Count-based circuit breaker. The outcomes of the last {@code windowSize} calls are kept in a
+ * ring; once at least {@code minimumCalls} are in it, a failure rate or slow-call rate at or
+ * above its threshold opens the breaker. While open, callers are expected to take their
+ * fallback instead of calling. After {@code openNanos} the breaker admits probes
+ * ({@link #tryProbe}); {@code probes} consecutive good probes close it, any bad one re-opens it.
+ * <p>
+ * Time is passed in by the caller so the state machine can be driven deterministically.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final boolean[] failed;
+    private final boolean[] slow;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int probes;
+
+    private volatile State state = State.CLOSED;
+    private int next;
+    private int calls;
+    private int failures;
+    private int slowCalls;
+    private long openedAt;
+    private int probeSuccesses;
+
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, long slowCallNanos,
+                          double slowCallRateThreshold, long openNanos, int probes) {
+        if (windowSize < 1 || minimumCalls < 1 || minimumCalls > windowSize || probes < 1) {
+            throw new IllegalArgumentException("Window, minimum calls and probes must be positive, minimum calls at most the window");
+        }
+        this.failed = new boolean[windowSize];
+        this.slow = new boolean[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallNanos = slowCallNanos;
+        this.openNanos = openNanos;
+        this.probes = probes;
+    }
+
+    public State state() {
+        return state;
+    }
+
+    public boolean isClosed() {
+        return state == State.CLOSED;
+    }
+
+    /**
+     * Records a call made while closed; outcomes reported in any other state are ignored.
+     *
+     * @return the new state if this call opened the breaker, otherwise null
+     */
+    public synchronized State record(boolean success, long durationNanos, long nowNanos) {
+        if (state != State.CLOSED) return null;
+        if (calls == failed.length) {
+            if (failed[next]) failures--;
+            if (slow[next]) slowCalls--;
+        } else {
+            calls++;
+        }
+        failed[next] = !success;
+        slow[next] = durationNanos >= slowCallNanos;
+        if (failed[next]) failures++;
+        if (slow[next]) slowCalls++;
+        next = (next + 1) % failed.length;
+
+        if (calls >= minimumCalls && ((double) failures / calls >= failureRateThreshold
+                || (double) slowCalls / calls >= slowCallRateThreshold)) {
+            open(nowNanos);
+            return State.OPEN;
+        }
+        return null;
+    }
+
+    /**
+     * @return true if a probe call should be made now; moves an open breaker whose wait is
+     * over to half-open
+     */
+    public synchronized boolean tryProbe(long nowNanos) {
+        if (state == State.OPEN && nowNanos - openedAt >= openNanos) {
+            state = State.HALF_OPEN;
+            probeSuccesses = 0;
+        }
+        return state == State.HALF_OPEN;
+    }
+
+    /**
+     * @return the new state if the probe changed it, otherwise null
+     */
+    public synchronized State recordProbe(boolean success, long durationNanos, long nowNanos) {
+        if (state != State.HALF_OPEN) return null;
+        if (!success || durationNanos >= slowCallNanos) {
+            open(nowNanos);
+            return State.OPEN;
+        }
+        if (++probeSuccesses < probes) return null;
+        state = State.CLOSED;
+        next = 0;
+        calls = 0;
+        failures = 0;
+        slowCalls = 0;
+        Arrays.fill(failed, false);
+        Arrays.fill(slow, false);
+        return State.CLOSED;
+    }
+
+    public synchronized double failureRate() {
+        return calls == 0 ? 0 : (double) failures / calls;
+    }
+
+    public synchronized double slowCallRate() {
+        return calls == 0 ? 0 : (double) slowCalls / calls;
+    }
+
+    private void open(long nowNanos) {
+        state = State.OPEN;
+        openedAt = nowNanos;
+    }
+}
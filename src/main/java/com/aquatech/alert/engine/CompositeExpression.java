@@ -0,0 +1,102 @@
+package com.aquatech.alert.engine;
+
+import com.aquatech.alert.model.RuleNode;
+import com.aquatech.alert.utils.ConditionUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+/**
+ * A {@link RuleNode} tree compiled against a {@link LatestValueTable}: every comparison holds
+ * the slot of its operand, so evaluation is a walk over the tree reading primitive values.
+ * An operand with no reading newer than the freshness cutoff counts as not met.
+ */
+public class CompositeExpression {
+    private static final String AND = "AND";
+    private static final String OR = "OR";
+
+    private interface Node {
+        boolean test(LatestValueTable table, long freshSince);
+    }
+
+    private record All(Node[] operands) implements Node {
+        public boolean test(LatestValueTable table, long freshSince) {
+            for (Node operand : operands) {
+                if (!operand.test(table, freshSince)) return false;
+            }
+            return true;
+        }
+    }
+
+    private record Any(Node[] operands) implements Node {
+        public boolean test(LatestValueTable table, long freshSince) {
+            for (Node operand : operands) {
+                if (operand.test(table, freshSince)) return true;
+            }
+            return false;
+        }
+    }
+
+    private record Comparison(int slot, String operator, Double threshold, Double thresholdMin,
+                              Double thresholdMax) implements Node {
+        public boolean test(LatestValueTable table, long freshSince) {
+            LatestValueTable.Reading reading = table.latest(slot);
+            if (reading == null || reading.timestamp() < freshSince) return false;
+            return ConditionUtils.evaluate(operator, reading.value(), threshold, thresholdMin, thresholdMax);
+        }
+    }
+
+    private final Node root;
+
+    private CompositeExpression(Node root) {
+        this.root = root;
+    }
+
+    public boolean test(LatestValueTable table, long freshSince) {
+        return root.test(table, freshSince);
+    }
+
+    /**
+     * @param slotOfMetric  allocates the table slot of a metric at the rule's station
+     * @param metricIds     receives every metric the expression refers to
+     * @throws IllegalArgumentException if the expression is malformed
+     */
+    public static CompositeExpression compile(RuleNode node, ToIntFunction<Integer> slotOfMetric, Set<Integer> metricIds) {
+        return new CompositeExpression(compileNode(node, slotOfMetric, metricIds));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the expression is malformed
+     */
+    public static void validate(RuleNode node) {
+        compileNode(node, metricId -> 0, new HashSet<>());
+    }
+
+    private static Node compileNode(RuleNode node, ToIntFunction<Integer> slotOfMetric, Set<Integer> metricIds) {
+        if (node == null) {
+            throw new IllegalArgumentException("Rule node must be provided");
+        }
+        if (node.getOp() != null) {
+            if (node.getOperands() == null || node.getOperands().isEmpty()) {
+                throw new IllegalArgumentException("Rule " + node.getOp() + " needs operands");
+            }
+            List<Node> operands = new ArrayList<>(node.getOperands().size());
+            node.getOperands().forEach(operand -> operands.add(compileNode(operand, slotOfMetric, metricIds)));
+            Node[] compiled = operands.toArray(new Node[0]);
+            return switch (node.getOp().toUpperCase()) {
+                case AND -> new All(compiled);
+                case OR -> new Any(compiled);
+                default -> throw new IllegalArgumentException("Unknown rule op " + node.getOp());
+            };
+        }
+        if (node.getMetricId() == null || node.getOperator() == null) {
+            throw new IllegalArgumentException("Rule comparison needs metric_id and operator");
+        }
+        metricIds.add(node.getMetricId());
+        return new Comparison(slotOfMetric.applyAsInt(node.getMetricId()), node.getOperator(),
+                node.getThreshold(), node.getThresholdMin(), node.getThresholdMax());
+    }
+}
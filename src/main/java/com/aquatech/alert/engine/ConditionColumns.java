@@ -0,0 +1,132 @@
+package com.aquatech.alert.engine;
+
+import com.aquatech.alert.constant.OperatorConstant;
+import com.aquatech.alert.model.CachedCondition;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Conditions of one (station, metric) series laid out column by column for
+ * {@link ThresholdKernel}s. Plain threshold conditions get an operator code; windowed,
+ * sustained and derived conditions get {@link #OP_GENERAL} and are left to the caller.
+ * Missing thresholds are stored as NaN, which fails every comparison, matching the
+ * null checks of the scalar operators.
+ * <p>
+ * Operator codes are kept as doubles so they load into the same vector shape as the thresholds.
+ * <p>
+ * The columns hold only primitives. Uids and whole conditions come from {@link Rows}: the
+ * conditions themselves for {@link #of}, or a store that reads them from its own records
+ * (see {@link #over}), where a plain threshold condition is decoded only when the caller asks
+ * for it, which it only does once the condition flips.
+ */
+public class ConditionColumns {
+    public static final int OP_GENERAL = -1;
+    public static final int OP_EQ = 0;
+    public static final int OP_NEQ = 1;
+    public static final int OP_GT = 2;
+    public static final int OP_GTE = 3;
+    public static final int OP_LT = 4;
+    public static final int OP_LTE = 5;
+    public static final int OP_RANGE = 6;
+    public static final int OP_OUTSIDE_RANGE = 7;
+
+    final int size;
+    final double[] opCodes;
+    final double[] thresholds;
+    final double[] mins;
+    final double[] maxs;
+    private final Rows rows;
+
+    /**
+     * Uid and condition of each column, by column index.
+     */
+    interface Rows {
+        UUID conditionUid(int index);
+
+        CachedCondition condition(int index);
+    }
+
+    private record HeapRows(List<CachedCondition> conditions) implements Rows {
+        @Override
+        public UUID conditionUid(int index) {
+            return conditions.get(index).getConditionUid();
+        }
+
+        @Override
+        public CachedCondition condition(int index) {
+            return conditions.get(index);
+        }
+    }
+
+    private ConditionColumns(int size, Rows rows) {
+        this.size = size;
+        this.opCodes = new double[size];
+        this.thresholds = new double[size];
+        this.mins = new double[size];
+        this.maxs = new double[size];
+        this.rows = rows;
+    }
+
+    public static ConditionColumns of(List<CachedCondition> conditions) {
+        List<CachedCondition> copy = List.copyOf(conditions);
+        return over(copy, new HeapRows(copy));
+    }
+
+    /**
+     * Columns of {@code conditions} whose uids and conditions are served by {@code rows}, so
+     * the conditions need not be kept once the columns are built.
+     */
+    static ConditionColumns over(List<CachedCondition> conditions, Rows rows) {
+        ConditionColumns columns = new ConditionColumns(conditions.size(), rows);
+        for (int i = 0; i < conditions.size(); i++) {
+            CachedCondition condition = conditions.get(i);
+            columns.opCodes[i] = opCodeOf(condition);
+            columns.thresholds[i] = orNaN(condition.getThreshold());
+            // Range operators need both bounds; dropping both keeps OUTSIDE_RANGE from matching one.
+            boolean hasRange = condition.getThresholdMin() != null && condition.getThresholdMax() != null;
+            columns.mins[i] = hasRange ? condition.getThresholdMin() : Double.NaN;
+            columns.maxs[i] = hasRange ? condition.getThresholdMax() : Double.NaN;
+        }
+        return columns;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public UUID conditionUid(int index) {
+        return rows.conditionUid(index);
+    }
+
+    public CachedCondition condition(int index) {
+        return rows.condition(index);
+    }
+
+    public boolean isGeneral(int index) {
+        return opCodes[index] == OP_GENERAL;
+    }
+
+    public static boolean isSet(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    static int opCodeOf(CachedCondition condition) {
+        if (condition.getOperator() == null || condition.isWindowed() || condition.isSustained()) return OP_GENERAL;
+        return switch (condition.getOperator().toUpperCase()) {
+            case OperatorConstant.EQUAL -> OP_EQ;
+            case OperatorConstant.NOT_EQUAL -> OP_NEQ;
+            case OperatorConstant.GREATER_THAN -> OP_GT;
+            case OperatorConstant.GREATER_THAN_EQUAL -> OP_GTE;
+            case OperatorConstant.LESS_THAN -> OP_LT;
+            case OperatorConstant.LESS_THAN_EQUAL -> OP_LTE;
+            case OperatorConstant.RANGE -> OP_RANGE;
+            case OperatorConstant.OUTSIDE_RANGE -> OP_OUTSIDE_RANGE;
+            default -> OP_GENERAL;
+        };
+    }
+
+    private static double orNaN(Double value) {
+        return value == null ? Double.NaN : value;
+    }
+}
@@ -0,0 +1,81 @@
+package com.aquatech.alert.engine;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded single-consumer buffer whose producers never wait: offering to a full buffer evicts
+ * the oldest element and counts it as dropped. Lets one slow reader fall behind without
+ * slowing down whoever publishes to it.
+ */
+public class DropOldestBuffer<T> {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final ArrayDeque<T> items;
+    private final int capacity;
+    private long dropped;
+
+    public DropOldestBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.items = new ArrayDeque<>(capacity);
+    }
+
+    public void offer(T item) {
+        lock.lock();
+        try {
+            if (items.size() == capacity) {
+                items.pollFirst();
+                dropped++;
+            }
+            items.addLast(item);
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the oldest element, or null if none arrived within the timeout
+     */
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            while (items.isEmpty()) {
+                if (nanos <= 0) return null;
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return items.pollFirst();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of elements dropped since the previous call and resets it.
+     */
+    public long takeDropped() {
+        lock.lock();
+        try {
+            long count = dropped;
+            dropped = 0;
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return items.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
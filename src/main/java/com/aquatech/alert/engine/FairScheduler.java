@@ -0,0 +1,208 @@
+package com.aquatech.alert.engine;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToIntFunction;
+
+/**
+ * Executor that keeps one queue per tenant and serves them by deficit round robin. Each time a
+ * tenant comes up it is granted {@code quantum * weight} tasks, so a tenant with a deep backlog
+ * only delays the others by its own quantum. A tenant already running {@code maxInFlightPerTenant}
+ * tasks is skipped until one completes, which keeps a slow tenant from occupying every worker.
+ */
+public class FairScheduler implements AutoCloseable {
+
+    public record TenantStats(String tenant, int weight, int queued, int inFlight,
+                              long submitted, long completed, long oldestQueuedMillis) {
+    }
+
+    private record Task(Runnable runnable, long enqueuedAtNanos) {
+    }
+
+    static final class TenantQueue {
+        private final String tenant;
+        private final int weight;
+        private final ArrayDeque<Task> tasks = new ArrayDeque<>();
+        private long deficit;
+        private int inFlight;
+        private boolean active;
+        private long submitted;
+        private long completed;
+
+        TenantQueue(String tenant, int weight) {
+            this.tenant = tenant;
+            this.weight = weight;
+        }
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition runnable = lock.newCondition();
+    private final Map<String, TenantQueue> tenants = new HashMap<>();
+    private final ArrayDeque<TenantQueue> active = new ArrayDeque<>();
+    private final ToIntFunction<String> weights;
+    private final int quantum;
+    private final int maxInFlightPerTenant;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean closed;
+
+    /**
+     * @param workers worker threads to start; zero leaves draining to the caller, which tests use
+     * @param weights weight of a tenant, at least 1
+     */
+    public FairScheduler(int workers, int quantum, int maxInFlightPerTenant,
+                         ToIntFunction<String> weights, String threadNamePrefix) {
+        if (quantum < 1 || maxInFlightPerTenant < 1) {
+            throw new IllegalArgumentException("Quantum and max in-flight per tenant must be positive");
+        }
+        this.quantum = quantum;
+        this.maxInFlightPerTenant = maxInFlightPerTenant;
+        this.weights = weights;
+        for (int i = 0; i < workers; i++) {
+            Thread worker = new Thread(this::runWorker, threadNamePrefix + i);
+            worker.setDaemon(true);
+            this.workers.add(worker);
+            worker.start();
+        }
+    }
+
+    public void submit(String tenant, Runnable task) {
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Scheduler is closed");
+            }
+            TenantQueue queue = tenants.computeIfAbsent(tenant,
+                    key -> new TenantQueue(key, Math.max(1, weights.applyAsInt(key))));
+            queue.tasks.addLast(new Task(task, System.nanoTime()));
+            queue.submitted++;
+            if (!queue.active) {
+                queue.active = true;
+                active.addLast(queue);
+            }
+            runnable.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<TenantStats> snapshot() {
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            List<TenantStats> stats = new ArrayList<>(tenants.size());
+            for (TenantQueue queue : tenants.values()) {
+                Task oldest = queue.tasks.peekFirst();
+                stats.add(new TenantStats(queue.tenant, queue.weight, queue.tasks.size(), queue.inFlight,
+                        queue.submitted, queue.completed,
+                        oldest == null ? 0 : TimeUnit.NANOSECONDS.toMillis(now - oldest.enqueuedAtNanos)));
+            }
+            return stats;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes the next task by deficit round robin and counts it as in flight, or returns null
+     * if every queued tenant is empty or at its in-flight cap.
+     */
+    Runnable poll() {
+        lock.lock();
+        try {
+            TenantQueue queue = nextQueue();
+            if (queue == null) return null;
+            Runnable task = queue.tasks.pollFirst().runnable();
+            return () -> {
+                try {
+                    task.run();
+                } finally {
+                    complete(queue);
+                }
+            };
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private TenantQueue nextQueue() {
+        int blocked = 0;
+        while (blocked < active.size()) {
+            TenantQueue queue = active.peekFirst();
+            if (queue.tasks.isEmpty()) {
+                active.pollFirst();
+                queue.active = false;
+                queue.deficit = 0;
+                continue;
+            }
+            if (queue.inFlight >= maxInFlightPerTenant) {
+                active.addLast(active.pollFirst());
+                blocked++;
+                continue;
+            }
+            if (queue.deficit <= 0) {
+                queue.deficit += (long) quantum * queue.weight;
+            }
+            queue.deficit--;
+            queue.inFlight++;
+            if (queue.tasks.size() == 1) {
+                // The task taken now empties the queue; it re-enters at the tail on its next submit.
+                active.pollFirst();
+                queue.active = false;
+                queue.deficit = 0;
+            } else if (queue.deficit <= 0) {
+                active.addLast(active.pollFirst());
+            }
+            return queue;
+        }
+        return null;
+    }
+
+    private void complete(TenantQueue queue) {
+        lock.lock();
+        try {
+            queue.inFlight--;
+            queue.completed++;
+            if (queue.active) {
+                runnable.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void runWorker() {
+        while (!closed) {
+            Runnable task;
+            lock.lock();
+            try {
+                while ((task = poll()) == null) {
+                    if (closed) return;
+                    runnable.await();
+                }
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+            try {
+                task.run();
+            } catch (RuntimeException ignored) {
+                // Tasks handle and log their own errors; a stray one must not kill the worker.
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            runnable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        workers.forEach(Thread::interrupt);
+    }
+}
@@ -0,0 +1,107 @@
+package com.aquatech.alert.engine;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent top-K counter built from {@link SpaceSavingSketch} stripes picked by thread id,
+ * so threads recording at once rarely share a lock. With a {@code sampleRate} above 1 only one
+ * in that many events (chosen at random, so periodic patterns do not alias) reaches a sketch,
+ * weighted accordingly; the total is always exact.
+ * <p>
+ * {@link #top} merges the stripes: a key missing from a full stripe may have had up to that
+ * stripe's minimum there, which is added to both its count and its error, so merged counts
+ * remain upper bounds and {@code count - error} lower bounds.
+ */
+public class HeavyHitters<K> {
+
+    public record Estimate<K>(K key, long count, long error) {
+    }
+
+    private final SpaceSavingSketch<K>[] stripes;
+    private final int mask;
+    private final int sampleRate;
+    private final LongAdder total = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public HeavyHitters(int capacity, int stripes, int sampleRate) {
+        if (stripes < 1 || sampleRate < 1) {
+            throw new IllegalArgumentException("Stripes and sample rate must be positive");
+        }
+        int stripeCount = Integer.highestOneBit(stripes);
+        if (stripeCount < stripes) stripeCount <<= 1;
+        this.stripes = new SpaceSavingSketch[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            this.stripes[i] = new SpaceSavingSketch<>(capacity);
+        }
+        this.mask = stripeCount - 1;
+        this.sampleRate = sampleRate;
+    }
+
+    public void add(K key) {
+        total.increment();
+        if (sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) != 0) return;
+        long id = Thread.currentThread().threadId();
+        SpaceSavingSketch<K> stripe = stripes[(int) (id ^ (id >>> 16)) & mask];
+        synchronized (stripe) {
+            stripe.add(key, sampleRate);
+        }
+    }
+
+    public long total() {
+        return total.sum();
+    }
+
+    public List<Estimate<K>> top(int limit) {
+        List<Map<K, SpaceSavingSketch.Entry<K>>> snapshots = new ArrayList<>(stripes.length);
+        long[] mins = new long[stripes.length];
+        for (int i = 0; i < stripes.length; i++) {
+            Map<K, SpaceSavingSketch.Entry<K>> snapshot = new HashMap<>();
+            synchronized (stripes[i]) {
+                for (SpaceSavingSketch.Entry<K> entry : stripes[i].entries()) {
+                    snapshot.put(entry.key(), entry);
+                }
+                mins[i] = stripes[i].min();
+            }
+            snapshots.add(snapshot);
+        }
+
+        Map<K, Estimate<K>> merged = new HashMap<>();
+        for (Map<K, SpaceSavingSketch.Entry<K>> snapshot : snapshots) {
+            for (K key : snapshot.keySet()) {
+                if (merged.containsKey(key)) continue;
+                long count = 0;
+                long error = 0;
+                for (int i = 0; i < snapshots.size(); i++) {
+                    SpaceSavingSketch.Entry<K> entry = snapshots.get(i).get(key);
+                    if (entry != null) {
+                        count += entry.count();
+                        error += entry.error();
+                    } else {
+                        count += mins[i];
+                        error += mins[i];
+                    }
+                }
+                merged.put(key, new Estimate<>(key, count, error));
+            }
+        }
+        return merged.values().stream()
+                .sorted(Comparator.comparingLong((Estimate<K> estimate) -> estimate.count()).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public void clear() {
+        for (SpaceSavingSketch<K> stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+        total.reset();
+    }
+}
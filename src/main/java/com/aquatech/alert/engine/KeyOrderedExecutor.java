@@ -0,0 +1,103 @@
+package com.aquatech.alert.engine;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs tasks in parallel across keys and strictly in submission order per key: each key is
+ * hashed to one of {@code lanes} single-threaded queues. Keys sharing a lane also share its
+ * order, which costs some parallelism but never reorders a key. {@link #isLaneThread} lets a
+ * task finish its follow-up work inline so that ordering holds for that too.
+ */
+public class KeyOrderedExecutor implements AutoCloseable {
+    private static final ThreadLocal<Boolean> LANE_THREAD = ThreadLocal.withInitial(() -> false);
+
+    private final BlockingQueue<Runnable>[] queues;
+    private final Thread[] threads;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Object idle = new Object();
+
+    @SuppressWarnings("unchecked")
+    public KeyOrderedExecutor(int lanes, String threadNamePrefix) {
+        if (lanes < 1) {
+            throw new IllegalArgumentException("Lanes must be positive");
+        }
+        this.queues = new BlockingQueue[lanes];
+        this.threads = new Thread[lanes];
+        for (int i = 0; i < lanes; i++) {
+            BlockingQueue<Runnable> queue = new LinkedBlockingQueue<>();
+            queues[i] = queue;
+            threads[i] = new Thread(() -> runLane(queue), threadNamePrefix + i);
+            threads[i].setDaemon(true);
+            threads[i].start();
+        }
+    }
+
+    public static boolean isLaneThread() {
+        return LANE_THREAD.get();
+    }
+
+    public void execute(long key, Runnable task) {
+        pending.incrementAndGet();
+        queues[laneOf(key, queues.length)].add(task);
+    }
+
+    /**
+     * Tasks submitted and not finished yet.
+     */
+    public int pending() {
+        return pending.get();
+    }
+
+    /**
+     * Waits until every submitted task has finished.
+     *
+     * @return false if tasks were still pending after {@code timeoutMillis}
+     */
+    public boolean awaitIdle(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (idle) {
+            while (pending.get() > 0) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) return false;
+                idle.wait(remaining);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void close() {
+        for (Thread thread : threads) {
+            thread.interrupt();
+        }
+    }
+
+    static int laneOf(long key, int lanes) {
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) ((mixed >>> 32) % lanes);
+    }
+
+    private void runLane(BlockingQueue<Runnable> queue) {
+        LANE_THREAD.set(true);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Runnable task = queue.take();
+                try {
+                    task.run();
+                } catch (RuntimeException ignored) {
+                    // Tasks handle and log their own errors; a stray one must not kill the lane.
+                } finally {
+                    if (pending.decrementAndGet() == 0) {
+                        synchronized (idle) {
+                            idle.notifyAll();
+                        }
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            // Closed.
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.aquatech.alert.engine;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Latest reading of each (station, metric) series that some composite rule refers to.
+ * A series holds a slot while any registered rule refers to it; readings live in chunked
+ * arrays indexed by slot, so compiled rules read their operands without any lookup. Each
+ * slot holds one immutable {@link Reading}, so value and timestamp are written and read
+ * together in a single atomic access. Readings of series without a slot are ignored.
+ */
+public class LatestValueTable {
+    private static final int CHUNK_BITS = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    public record Reading(long timestamp, double value) {
+    }
+
+    private final Map<Long, Integer> slots = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> references = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private volatile AtomicReferenceArray<Reading>[] chunks = newChunks(0);
+    private int nextSlot;
+
+    /**
+     * Returns the slot of a series, allocating one on first use. Every call takes a reference
+     * that must be given back with {@link #release}.
+     */
+    public synchronized int slotOf(long seriesKey) {
+        references.merge(seriesKey, 1, Integer::sum);
+        return slots.computeIfAbsent(seriesKey, key -> allocate());
+    }
+
+    /**
+     * Gives back a reference taken by {@link #slotOf}; the last one frees the slot for reuse.
+     */
+    public synchronized void release(long seriesKey) {
+        Integer remaining = references.computeIfPresent(seriesKey, (key, count) -> count > 1 ? count - 1 : null);
+        if (remaining != null) return;
+        Integer slot = slots.remove(seriesKey);
+        if (slot == null) return;
+        chunks[slot >>> CHUNK_BITS].set(slot & CHUNK_MASK, null);
+        freeSlots.push(slot);
+    }
+
+    /**
+     * Stores a reading if the series has a slot.
+     *
+     * @return whether the series has a slot
+     */
+    public boolean put(long seriesKey, long timestamp, double value) {
+        Integer slot = slots.get(seriesKey);
+        if (slot == null) return false;
+        AtomicReferenceArray<Reading> chunk = chunks[slot >>> CHUNK_BITS];
+        Reading reading = new Reading(timestamp, value);
+        chunk.set(slot & CHUNK_MASK, reading);
+        // The slot may have been released, and even handed to another series, since the lookup:
+        // take the reading back unless a newer one has replaced it already.
+        if (!slot.equals(slots.get(seriesKey))) {
+            chunk.compareAndSet(slot & CHUNK_MASK, reading, null);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Latest reading in the slot, or null if none has arrived yet.
+     */
+    public Reading latest(int slot) {
+        return chunks[slot >>> CHUNK_BITS].get(slot & CHUNK_MASK);
+    }
+
+    public int size() {
+        return slots.size();
+    }
+
+    private int allocate() {
+        Integer free = freeSlots.poll();
+        if (free != null) return free;
+        int slot = nextSlot++;
+        int chunk = slot >>> CHUNK_BITS;
+        if (chunk == chunks.length) {
+            AtomicReferenceArray<Reading>[] grown = Arrays.copyOf(chunks, chunk + 1);
+            grown[chunk] = new AtomicReferenceArray<>(CHUNK_SIZE);
+            chunks = grown;
+        }
+        return slot;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static AtomicReferenceArray<Reading>[] newChunks(int length) {
+        return new AtomicReferenceArray[length];
+    }
+}
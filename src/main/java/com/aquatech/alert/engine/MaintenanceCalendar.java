@@ -0,0 +1,127 @@
+package com.aquatech.alert.engine;
+
+import com.aquatech.alert.entity.MaintenanceWindow;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * Precomputed maintenance calendar of every station with a window. Weekly windows are folded
+ * into a bitmap with one bit per minute of the week; one-off windows are merged into sorted,
+ * disjoint intervals. A lookup is one map probe for stations without windows, and a bit test
+ * plus a binary search otherwise.
+ */
+public class MaintenanceCalendar {
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+
+    private static final MaintenanceCalendar EMPTY = new MaintenanceCalendar(Map.of());
+
+    private final Map<Integer, StationCalendar> stations;
+
+    private MaintenanceCalendar(Map<Integer, StationCalendar> stations) {
+        this.stations = stations;
+    }
+
+    public static MaintenanceCalendar empty() {
+        return EMPTY;
+    }
+
+    public static MaintenanceCalendar of(Collection<MaintenanceWindow> windows) {
+        Map<Integer, List<MaintenanceWindow>> byStation = new HashMap<>();
+        for (MaintenanceWindow window : windows) {
+            byStation.computeIfAbsent(window.getStationId(), stationId -> new ArrayList<>()).add(window);
+        }
+        Map<Integer, StationCalendar> stations = new HashMap<>(byStation.size() * 2);
+        byStation.forEach((stationId, stationWindows) -> stations.put(stationId, StationCalendar.of(stationWindows)));
+        return new MaintenanceCalendar(stations);
+    }
+
+    public boolean isSuppressed(Integer stationId, LocalDateTime at) {
+        StationCalendar calendar = stations.get(stationId);
+        return calendar != null && calendar.contains(at);
+    }
+
+    public int stationCount() {
+        return stations.size();
+    }
+
+    private static long epochMinute(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    private static int minuteOfWeek(LocalDateTime dateTime) {
+        return (dateTime.getDayOfWeek().getValue() - 1) * MINUTES_PER_DAY
+                + dateTime.getHour() * 60 + dateTime.getMinute();
+    }
+
+    private static final class StationCalendar {
+        private final long[] weeklyMinutes;
+        private final long[] starts;
+        private final long[] ends;
+
+        private StationCalendar(long[] weeklyMinutes, long[] starts, long[] ends) {
+            this.weeklyMinutes = weeklyMinutes;
+            this.starts = starts;
+            this.ends = ends;
+        }
+
+        static StationCalendar of(List<MaintenanceWindow> windows) {
+            long[] weeklyMinutes = null;
+            List<long[]> intervals = new ArrayList<>();
+            for (MaintenanceWindow window : windows) {
+                if (window.getDaysOfWeek() != null) {
+                    if (weeklyMinutes == null) weeklyMinutes = new long[(MINUTES_PER_WEEK + 63) / 64];
+                    markWeekly(weeklyMinutes, window);
+                } else if (window.getStartsAt() != null && window.getEndsAt() != null) {
+                    intervals.add(new long[]{epochMinute(window.getStartsAt()), epochMinute(window.getEndsAt())});
+                }
+            }
+
+            intervals.sort(Comparator.comparingLong(interval -> interval[0]));
+            List<long[]> merged = new ArrayList<>();
+            for (long[] interval : intervals) {
+                if (!merged.isEmpty() && interval[0] <= merged.get(merged.size() - 1)[1]) {
+                    long[] last = merged.get(merged.size() - 1);
+                    last[1] = Math.max(last[1], interval[1]);
+                } else {
+                    merged.add(interval);
+                }
+            }
+            long[] starts = new long[merged.size()];
+            long[] ends = new long[merged.size()];
+            for (int i = 0; i < merged.size(); i++) {
+                starts[i] = merged.get(i)[0];
+                ends[i] = merged.get(i)[1];
+            }
+            return new StationCalendar(weeklyMinutes, starts, ends);
+        }
+
+        private static void markWeekly(long[] weeklyMinutes, MaintenanceWindow window) {
+            if (window.getStartTime() == null || window.getDurationMinutes() == null) return;
+            int startOfDay = window.getStartTime().getHour() * 60 + window.getStartTime().getMinute();
+            int duration = Math.min(window.getDurationMinutes(), MINUTES_PER_WEEK);
+            for (int day = 0; day < 7; day++) {
+                if ((window.getDaysOfWeek() & (1 << day)) == 0) continue;
+                int start = day * MINUTES_PER_DAY + startOfDay;
+                for (int minute = start; minute < start + duration; minute++) {
+                    int wrapped = minute % MINUTES_PER_WEEK;
+                    weeklyMinutes[wrapped >>> 6] |= 1L << wrapped;
+                }
+            }
+        }
+
+        boolean contains(LocalDateTime at) {
+            if (weeklyMinutes != null) {
+                int minute = minuteOfWeek(at);
+                if ((weeklyMinutes[minute >>> 6] & (1L << minute)) != 0) return true;
+            }
+            if (starts.length == 0) return false;
+            long minute = epochMinute(at);
+            int index = Arrays.binarySearch(starts, minute);
+            if (index < 0) index = -index - 2;
+            return index >= 0 && minute < ends[index];
+        }
+    }
+}
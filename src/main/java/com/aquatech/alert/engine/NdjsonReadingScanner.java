@@ -0,0 +1,240 @@
+package com.aquatech.alert.engine;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
+/**
+ * Allocation-free parser for one NDJSON line of {@link com.aquatech.alert.model.SensorData}.
+ * Only {@code station_id}, {@code sensor_id}, {@code value} and {@code datetime}
+ * ({@code yyyy-MM-dd HH:mm:ss}) are read; other fields are skipped. Numbers with at most 15
+ * significant digits and no exponent are converted exactly without going through a String.
+ */
+public final class NdjsonReadingScanner {
+    private static final byte[] KEY_STATION_ID = "station_id".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] KEY_SENSOR_ID = "sensor_id".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] KEY_VALUE = "value".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] KEY_DATETIME = "datetime".getBytes(StandardCharsets.US_ASCII);
+    private static final double[] POWERS_OF_TEN = new double[16];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    /**
+     * Mutable result of {@link #parse}; reused across lines.
+     */
+    public static final class Reading {
+        public int stationId;
+        public int metricId;
+        public double value;
+        /** Reading time as seconds since 1970-01-01T00:00 in the readings' local time. */
+        public long localEpochSecond;
+    }
+
+    private final ByteBuffer buffer;
+    private int position;
+    private int end;
+
+    public NdjsonReadingScanner(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Parses the line in {@code [start, end)} into {@code reading}.
+     *
+     * @return false if the line is blank, malformed or lacks one of the four fields
+     */
+    public boolean parse(int start, int end, Reading reading) {
+        this.position = start;
+        this.end = end;
+        try {
+            skipWhitespace();
+            if (position >= end || buffer.get(position) != '{') return false;
+            position++;
+            int seen = 0;
+            while (true) {
+                skipWhitespace();
+                byte next = peek();
+                if (next == '}') break;
+                if (next == ',') {
+                    position++;
+                    continue;
+                }
+                if (next != '"') return false;
+                int keyStart = ++position;
+                skipStringBody();
+                int keyEnd = position - 1;
+                skipWhitespace();
+                if (peek() != ':') return false;
+                position++;
+                skipWhitespace();
+
+                if (keyEquals(keyStart, keyEnd, KEY_VALUE)) {
+                    if (peek() == 'n') return false;
+                    reading.value = parseNumber();
+                    seen |= 1;
+                } else if (keyEquals(keyStart, keyEnd, KEY_STATION_ID)) {
+                    reading.stationId = (int) parseNumber();
+                    seen |= 2;
+                } else if (keyEquals(keyStart, keyEnd, KEY_SENSOR_ID)) {
+                    reading.metricId = (int) parseNumber();
+                    seen |= 4;
+                } else if (keyEquals(keyStart, keyEnd, KEY_DATETIME)) {
+                    if (peek() != '"') return false;
+                    reading.localEpochSecond = parseDatetime();
+                    seen |= 8;
+                } else {
+                    skipValue();
+                }
+            }
+            return seen == 15;
+        } catch (IndexOutOfBoundsException | NumberFormatException | DateTimeException e) {
+            return false;
+        }
+    }
+
+    private byte peek() {
+        if (position >= end) throw new IndexOutOfBoundsException();
+        return buffer.get(position);
+    }
+
+    private void skipWhitespace() {
+        while (position < end) {
+            byte b = buffer.get(position);
+            if (b != ' ' && b != '\t' && b != '\r' && b != '\n') return;
+            position++;
+        }
+    }
+
+    /**
+     * Advances past the closing quote of a string whose opening quote was already consumed.
+     */
+    private void skipStringBody() {
+        while (true) {
+            byte b = peek();
+            position++;
+            if (b == '\\') {
+                position++;
+            } else if (b == '"') {
+                return;
+            }
+        }
+    }
+
+    private void skipValue() {
+        byte first = peek();
+        if (first == '"') {
+            position++;
+            skipStringBody();
+            return;
+        }
+        if (first == '{' || first == '[') {
+            int depth = 0;
+            do {
+                byte b = peek();
+                position++;
+                if (b == '"') {
+                    skipStringBody();
+                } else if (b == '{' || b == '[') {
+                    depth++;
+                } else if (b == '}' || b == ']') {
+                    depth--;
+                }
+            } while (depth > 0);
+            return;
+        }
+        while (position < end) {
+            byte b = buffer.get(position);
+            if (b == ',' || b == '}' || b == ' ' || b == '\t' || b == '\r' || b == '\n') return;
+            position++;
+        }
+    }
+
+    private boolean keyEquals(int start, int end, byte[] key) {
+        if (end - start != key.length) return false;
+        for (int i = 0; i < key.length; i++) {
+            if (buffer.get(start + i) != key[i]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Parses a JSON number, also accepting one wrapped in quotes.
+     */
+    private double parseNumber() {
+        boolean quoted = peek() == '"';
+        if (quoted) position++;
+        int start = position;
+        boolean negative = false;
+        if (peek() == '-') {
+            negative = true;
+            position++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = 0;
+        boolean fraction = false;
+        boolean simple = true;
+        while (position < end) {
+            byte b = buffer.get(position);
+            if (b >= '0' && b <= '9') {
+                if (digits > 0 || b != '0') digits++;
+                mantissa = mantissa * 10 + (b - '0');
+                if (fraction) fractionDigits++;
+            } else if (b == '.' && !fraction) {
+                fraction = true;
+            } else if (b == 'e' || b == 'E' || b == '+' || (b == '-' && position > start)) {
+                simple = false;
+            } else {
+                break;
+            }
+            position++;
+        }
+        int numberEnd = position;
+        if (quoted) {
+            if (peek() != '"') throw new NumberFormatException();
+            position++;
+        }
+        if (numberEnd == start || (negative && numberEnd == start + 1)) {
+            throw new NumberFormatException();
+        }
+        if (simple && digits <= 15 && fractionDigits < POWERS_OF_TEN.length) {
+            double value = fractionDigits == 0 ? mantissa : mantissa / POWERS_OF_TEN[fractionDigits];
+            return negative ? -value : value;
+        }
+        byte[] text = new byte[numberEnd - start];
+        buffer.get(start, text);
+        return Double.parseDouble(new String(text, StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Parses a quoted {@code yyyy-MM-dd HH:mm:ss} (or {@code T} separated) timestamp.
+     */
+    private long parseDatetime() {
+        int start = position + 1;
+        if (start + 20 > end || buffer.get(start + 19) != '"') throw new NumberFormatException();
+        int year = digits(start, 4);
+        int month = digits(start + 5, 2);
+        int day = digits(start + 8, 2);
+        int hour = digits(start + 11, 2);
+        int minute = digits(start + 14, 2);
+        int second = digits(start + 17, 2);
+        position = start + 20;
+        return LocalDate.of(year, month, day).toEpochDay() * 86_400L + hour * 3_600L + minute * 60L + second;
+    }
+
+    private int digits(int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) throw new NumberFormatException();
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,273 @@
+package com.aquatech.alert.engine;
+
+import com.aquatech.alert.model.CachedCondition;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Immutable snapshot of cached conditions held outside the Java heap, so the rule set adds
+ * few objects for the collector to trace however large it grows. Conditions are fixed-size
+ * records in one direct buffer, grouped by (station, metric); alert names and messages are
+ * UTF-8 in a second buffer, written once per alert. On the heap are the per-series
+ * {@link ConditionColumns}, built once with the store (primitive columns only, plus the
+ * general conditions of the series that have any), and a small dictionary of operator and
+ * aggregation names. Uids are read from the records; threshold conditions are only decoded
+ * when the caller asks for one, i.e. when it flips.
+ * <p>
+ * Record layout (bytes): alertId 0-15, conditionUid 16-31, threshold 32, thresholdMin 40,
+ * thresholdMax 48 (NaN when absent), userId 56, severity 60, silenced 64, windowSeconds 68,
+ * sustainSeconds 72 ({@link #NULL_INT} when absent), operator id 76, aggregation id 80,
+ * name offset/length 84/88, message offset/length 92/96.
+ */
+public class OffHeapConditionStore {
+    static final int RECORD_SIZE = 104;
+    static final int NULL_INT = Integer.MIN_VALUE;
+
+    private static final int ALERT_ID = 0;
+    private static final int CONDITION_UID = 16;
+    private static final int THRESHOLD = 32;
+    private static final int THRESHOLD_MIN = 40;
+    private static final int THRESHOLD_MAX = 48;
+    private static final int USER_ID = 56;
+    private static final int SEVERITY = 60;
+    private static final int SILENCED = 64;
+    private static final int WINDOW_SECONDS = 68;
+    private static final int SUSTAIN_SECONDS = 72;
+    private static final int OPERATOR = 76;
+    private static final int AGGREGATION = 80;
+    private static final int NAME = 84;
+    private static final int MESSAGE = 92;
+
+    private static final ConditionColumns NO_COLUMNS = ConditionColumns.of(List.of());
+
+    private final ByteBuffer records;
+    private final ByteBuffer texts;
+    private final Map<Long, Long> seriesRanges;
+    private final Map<Long, ConditionColumns> columnsBySeries;
+    private final List<String> dictionary;
+    private final int size;
+
+    private OffHeapConditionStore(ByteBuffer records, ByteBuffer texts, Map<Long, Long> seriesRanges,
+                                  List<String> dictionary, int size) {
+        this.records = records;
+        this.texts = texts;
+        this.seriesRanges = seriesRanges;
+        this.columnsBySeries = new HashMap<>(seriesRanges.size() * 2);
+        this.dictionary = dictionary;
+        this.size = size;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Columns of the series, shared by every reading until the store is replaced.
+     */
+    public ConditionColumns columns(long seriesKey) {
+        return columnsBySeries.getOrDefault(seriesKey, NO_COLUMNS);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int seriesCount() {
+        return seriesRanges.size();
+    }
+
+    public long offHeapBytes() {
+        return (long) records.capacity() + texts.capacity();
+    }
+
+    private UUID readUuid(int offset) {
+        return new UUID(records.getLong(offset), records.getLong(offset + 8));
+    }
+
+    private CachedCondition read(int base) {
+        CachedCondition condition = new CachedCondition();
+        condition.setAlertId(readUuid(base + ALERT_ID));
+        condition.setConditionUid(readUuid(base + CONDITION_UID));
+        condition.setThreshold(readDouble(base + THRESHOLD));
+        condition.setThresholdMin(readDouble(base + THRESHOLD_MIN));
+        condition.setThresholdMax(readDouble(base + THRESHOLD_MAX));
+        condition.setUserId(readInt(base + USER_ID));
+        condition.setSeverity(readInt(base + SEVERITY));
+        condition.setSilenced(readInt(base + SILENCED));
+        condition.setWindowSeconds(readInt(base + WINDOW_SECONDS));
+        condition.setSustainSeconds(readInt(base + SUSTAIN_SECONDS));
+        condition.setOperator(readWord(base + OPERATOR));
+        condition.setAggregation(readWord(base + AGGREGATION));
+        condition.setAlertName(readText(base + NAME));
+        condition.setMessage(readText(base + MESSAGE));
+        return condition;
+    }
+
+    private Double readDouble(int offset) {
+        double value = records.getDouble(offset);
+        return Double.isNaN(value) ? null : value;
+    }
+
+    private Integer readInt(int offset) {
+        int value = records.getInt(offset);
+        return value == NULL_INT ? null : value;
+    }
+
+    private String readWord(int offset) {
+        int id = records.getInt(offset);
+        return id == NULL_INT ? null : dictionary.get(id);
+    }
+
+    private String readText(int offset) {
+        int textOffset = records.getInt(offset);
+        if (textOffset == NULL_INT) return null;
+        byte[] bytes = new byte[records.getInt(offset + 4)];
+        texts.get(textOffset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Rows of one series: records from {@code first} on, with its general conditions held
+     * ({@code general} is null when the series has none) since they are evaluated on every reading.
+     */
+    private class SeriesRows implements ConditionColumns.Rows {
+        private final int first;
+        private final CachedCondition[] general;
+
+        SeriesRows(int first, CachedCondition[] general) {
+            this.first = first;
+            this.general = general;
+        }
+
+        @Override
+        public UUID conditionUid(int index) {
+            return readUuid((first + index) * RECORD_SIZE + CONDITION_UID);
+        }
+
+        @Override
+        public CachedCondition condition(int index) {
+            CachedCondition condition = general == null ? null : general[index];
+            return condition != null ? condition : read((first + index) * RECORD_SIZE);
+        }
+    }
+
+    /**
+     * Collects conditions on the heap, then lays them out off-heap in {@link #build()}.
+     * Conditions of one alert are expected to share their name and message.
+     */
+    public static class Builder {
+        private final Map<Long, List<CachedCondition>> bySeries = new LinkedHashMap<>();
+        private int size;
+
+        public Builder add(long seriesKey, CachedCondition condition) {
+            bySeries.computeIfAbsent(seriesKey, key -> new ArrayList<>()).add(condition);
+            size++;
+            return this;
+        }
+
+        public OffHeapConditionStore build() {
+            if ((long) size * RECORD_SIZE > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Too many conditions for one store: " + size);
+            }
+            Map<UUID, byte[][]> textsByAlert = new HashMap<>();
+            long textSize = 0;
+            for (List<CachedCondition> conditions : bySeries.values()) {
+                for (CachedCondition condition : conditions) {
+                    if (textsByAlert.containsKey(condition.getAlertId())) continue;
+                    byte[][] alertTexts = {utf8(condition.getAlertName()), utf8(condition.getMessage())};
+                    textsByAlert.put(condition.getAlertId(), alertTexts);
+                    for (byte[] text : alertTexts) textSize += text == null ? 0 : text.length;
+                }
+            }
+            if (textSize > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Alert texts too large for one store: " + textSize);
+            }
+
+            ByteBuffer records = ByteBuffer.allocateDirect(size * RECORD_SIZE);
+            ByteBuffer texts = ByteBuffer.allocateDirect((int) textSize);
+            Map<UUID, int[]> textOffsets = new HashMap<>();
+            Map<String, Integer> wordIds = new HashMap<>();
+            List<String> dictionary = new ArrayList<>();
+            Map<Long, Long> seriesRanges = new HashMap<>(bySeries.size() * 2);
+
+            int index = 0;
+            for (Map.Entry<Long, List<CachedCondition>> series : bySeries.entrySet()) {
+                seriesRanges.put(series.getKey(), ((long) index << 32) | series.getValue().size());
+                for (CachedCondition condition : series.getValue()) {
+                    int base = index * RECORD_SIZE;
+                    int[] offsets = textOffsets.computeIfAbsent(condition.getAlertId(),
+                            alertId -> writeTexts(texts, textsByAlert.get(alertId)));
+                    writeUuid(records, base + ALERT_ID, condition.getAlertId());
+                    writeUuid(records, base + CONDITION_UID, condition.getConditionUid());
+                    records.putDouble(base + THRESHOLD, orNaN(condition.getThreshold()));
+                    records.putDouble(base + THRESHOLD_MIN, orNaN(condition.getThresholdMin()));
+                    records.putDouble(base + THRESHOLD_MAX, orNaN(condition.getThresholdMax()));
+                    records.putInt(base + USER_ID, orNull(condition.getUserId()));
+                    records.putInt(base + SEVERITY, orNull(condition.getSeverity()));
+                    records.putInt(base + SILENCED, orNull(condition.getSilenced()));
+                    records.putInt(base + WINDOW_SECONDS, orNull(condition.getWindowSeconds()));
+                    records.putInt(base + SUSTAIN_SECONDS, orNull(condition.getSustainSeconds()));
+                    records.putInt(base + OPERATOR, wordId(condition.getOperator(), wordIds, dictionary));
+                    records.putInt(base + AGGREGATION, wordId(condition.getAggregation(), wordIds, dictionary));
+                    records.putInt(base + NAME, offsets[0]);
+                    records.putInt(base + NAME + 4, offsets[1]);
+                    records.putInt(base + MESSAGE, offsets[2]);
+                    records.putInt(base + MESSAGE + 4, offsets[3]);
+                    index++;
+                }
+            }
+            OffHeapConditionStore store = new OffHeapConditionStore(records, texts, seriesRanges, List.copyOf(dictionary), size);
+            for (Map.Entry<Long, List<CachedCondition>> series : bySeries.entrySet()) {
+                int first = (int) (seriesRanges.get(series.getKey()) >>> 32);
+                List<CachedCondition> conditions = series.getValue();
+                CachedCondition[] general = null;
+                for (int i = 0; i < conditions.size(); i++) {
+                    if (ConditionColumns.opCodeOf(conditions.get(i)) != ConditionColumns.OP_GENERAL) continue;
+                    if (general == null) general = new CachedCondition[conditions.size()];
+                    general[i] = conditions.get(i);
+                }
+                store.columnsBySeries.put(series.getKey(),
+                        ConditionColumns.over(conditions, store.new SeriesRows(first, general)));
+            }
+            return store;
+        }
+
+        private static int[] writeTexts(ByteBuffer texts, byte[][] alertTexts) {
+            int[] offsets = new int[4];
+            for (int i = 0; i < alertTexts.length; i++) {
+                byte[] text = alertTexts[i];
+                offsets[i * 2] = text == null ? NULL_INT : texts.position();
+                offsets[i * 2 + 1] = text == null ? 0 : text.length;
+                if (text != null) texts.put(text);
+            }
+            return offsets;
+        }
+
+        private static void writeUuid(ByteBuffer records, int offset, UUID uuid) {
+            records.putLong(offset, uuid == null ? 0 : uuid.getMostSignificantBits());
+            records.putLong(offset + 8, uuid == null ? 0 : uuid.getLeastSignificantBits());
+        }
+
+        private static int wordId(String word, Map<String, Integer> wordIds, List<String> dictionary) {
+            if (word == null) return NULL_INT;
+            return wordIds.computeIfAbsent(word, key -> {
+                dictionary.add(key);
+                return dictionary.size() - 1;
+            });
+        }
+
+        private static byte[] utf8(String text) {
+            return text == null ? null : text.getBytes(StandardCharsets.UTF_8);
+        }
+
+        private static double orNaN(Double value) {
+            return value == null ? Double.NaN : value;
+        }
+
+        private static int orNull(Integer value) {
+            return value == null ? NULL_INT : value;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.aquatech.alert.engine;
+
+import com.aquatech.alert.constant.OperatorConstant;
+
+/**
+ * One condition at a time, switching on the integer operator code.
+ */
+public class ScalarThresholdKernel implements ThresholdKernel {
+
+    @Override
+    public long[] evaluate(ConditionColumns columns, double value) {
+        long[] bits = ThresholdKernel.newBits(columns.size);
+        evaluateRange(columns, value, 0, bits);
+        return bits;
+    }
+
+    static void evaluateRange(ConditionColumns columns, double value, int from, long[] bits) {
+        for (int i = from; i < columns.size; i++) {
+            if (test((int) columns.opCodes[i], value, columns.thresholds[i], columns.mins[i], columns.maxs[i])) {
+                bits[i >>> 6] |= 1L << i;
+            }
+        }
+    }
+
+    private static boolean test(int opCode, double value, double threshold, double min, double max) {
+        return switch (opCode) {
+            case ConditionColumns.OP_EQ -> Math.abs(value - threshold) < OperatorConstant.THRESHOLD_PRECISION;
+            case ConditionColumns.OP_NEQ -> Math.abs(value - threshold) >= OperatorConstant.THRESHOLD_PRECISION;
+            case ConditionColumns.OP_GT -> value > threshold;
+            case ConditionColumns.OP_GTE -> value >= threshold;
+            case ConditionColumns.OP_LT -> value < threshold;
+            case ConditionColumns.OP_LTE -> value <= threshold;
+            case ConditionColumns.OP_RANGE -> value >= min && value <= max;
+            case ConditionColumns.OP_OUTSIDE_RANGE -> value < min || value > max;
+            default -> false;
+        };
+    }
+}
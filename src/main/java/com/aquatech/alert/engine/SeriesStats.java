@@ -0,0 +1,64 @@
+package com.aquatech.alert.engine;
+
+/**
+ * Constant-memory statistics of one (station, metric) series: change since the previous
+ * reading and an exponentially weighted mean and variance. No readings are retained.
+ * <p>
+ * The derived values describe the latest reading and are computed when it is added; the z-score
+ * is taken against the mean and variance from before that reading, so a spike does not dilute
+ * its own baseline.
+ */
+public class SeriesStats {
+    private static final double MILLIS_PER_MINUTE = 60_000d;
+
+    private final double alpha;
+    private final int warmupReadings;
+
+    private long count;
+    private long lastTimestamp;
+    private double lastValue;
+    private double mean;
+    private double variance;
+
+    private double ratePerMinute = Double.NaN;
+    private double percentChange = Double.NaN;
+    private double zScore = Double.NaN;
+
+    public SeriesStats(double alpha, int warmupReadings) {
+        this.alpha = alpha;
+        this.warmupReadings = warmupReadings;
+    }
+
+    public synchronized void add(long timestamp, double value) {
+        if (count == 0) {
+            mean = value;
+            variance = 0;
+        } else {
+            long elapsed = timestamp - lastTimestamp;
+            ratePerMinute = elapsed > 0 ? (value - lastValue) * MILLIS_PER_MINUTE / elapsed : Double.NaN;
+            percentChange = lastValue != 0 ? (value - lastValue) * 100 / Math.abs(lastValue) : Double.NaN;
+            double deviation = Math.sqrt(variance);
+            zScore = count >= warmupReadings && deviation > 0 ? (value - mean) / deviation : Double.NaN;
+
+            double diff = value - mean;
+            double increment = alpha * diff;
+            mean += increment;
+            variance = (1 - alpha) * (variance + diff * increment);
+        }
+        lastTimestamp = timestamp;
+        lastValue = value;
+        count++;
+    }
+
+    public synchronized double ratePerMinute() {
+        return ratePerMinute;
+    }
+
+    public synchronized double percentChange() {
+        return percentChange;
+    }
+
+    public synchronized double zScore() {
+        return zScore;
+    }
+}
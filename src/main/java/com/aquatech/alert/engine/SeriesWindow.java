@@ -0,0 +1,157 @@
+package com.aquatech.alert.engine;
+
+import com.aquatech.alert.constant.AggregationConstant;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Recent readings of one (station, metric) series in a fixed-size ring of primitive arrays.
+ * Each distinct window length gets an aggregator that keeps a running sum and monotonic
+ * min/max deques over the ring, so adding a reading and reading an aggregate are amortised O(1)
+ * and memory per series is fixed by the capacity. When a window holds more readings than the
+ * ring, its oldest readings are dropped first.
+ * <p>
+ * Timestamps are clamped to be non-decreasing so late readings do not reorder the ring.
+ */
+public class SeriesWindow {
+    private final int mask;
+    private final long[] timestamps;
+    private final double[] values;
+    private final List<Aggregator> aggregators = new ArrayList<>(2);
+    private long nextSeq;
+    private long lastTimestamp = Long.MIN_VALUE;
+
+    public SeriesWindow(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.mask = size - 1;
+        this.timestamps = new long[size];
+        this.values = new double[size];
+    }
+
+    public synchronized void add(long timestamp, double value) {
+        lastTimestamp = Math.max(lastTimestamp, timestamp);
+        long seq = nextSeq;
+        for (Aggregator aggregator : aggregators) {
+            aggregator.evictBefore(seq - mask);
+        }
+        int slot = (int) (seq & mask);
+        timestamps[slot] = lastTimestamp;
+        values[slot] = value;
+        nextSeq = seq + 1;
+        for (Aggregator aggregator : aggregators) {
+            aggregator.push(seq, value);
+        }
+    }
+
+    /**
+     * Aggregate of the readings in {@code (now - windowMillis, now]}, or NaN when the window is
+     * empty (COUNT returns 0). Unknown aggregations return NaN.
+     */
+    public synchronized double aggregate(String aggregation, long windowMillis, long now) {
+        Aggregator aggregator = aggregatorFor(windowMillis);
+        aggregator.evictOlderThan(now - windowMillis);
+        long count = aggregator.end - aggregator.start;
+        if (AggregationConstant.COUNT.equalsIgnoreCase(aggregation)) return count;
+        if (count == 0) return Double.NaN;
+        return switch (aggregation.toUpperCase()) {
+            case AggregationConstant.AVG -> aggregator.sum / count;
+            case AggregationConstant.MIN -> values[(int) (aggregator.minSeqs.first() & mask)];
+            case AggregationConstant.MAX -> values[(int) (aggregator.maxSeqs.first() & mask)];
+            default -> Double.NaN;
+        };
+    }
+
+    private Aggregator aggregatorFor(long windowMillis) {
+        for (Aggregator aggregator : aggregators) {
+            if (aggregator.windowMillis == windowMillis) return aggregator;
+        }
+        Aggregator aggregator = new Aggregator(windowMillis);
+        long first = Math.max(0, nextSeq - (mask + 1));
+        aggregator.start = first;
+        aggregator.end = first;
+        for (long seq = first; seq < nextSeq; seq++) {
+            aggregator.push(seq, values[(int) (seq & mask)]);
+        }
+        aggregators.add(aggregator);
+        return aggregator;
+    }
+
+    private final class Aggregator {
+        private final long windowMillis;
+        private final SeqDeque minSeqs = new SeqDeque(mask + 1);
+        private final SeqDeque maxSeqs = new SeqDeque(mask + 1);
+        private long start;
+        private long end;
+        private double sum;
+
+        Aggregator(long windowMillis) {
+            this.windowMillis = windowMillis;
+        }
+
+        void push(long seq, double value) {
+            sum += value;
+            end = seq + 1;
+            while (!minSeqs.isEmpty() && values[(int) (minSeqs.last() & mask)] >= value) minSeqs.removeLast();
+            minSeqs.addLast(seq);
+            while (!maxSeqs.isEmpty() && values[(int) (maxSeqs.last() & mask)] <= value) maxSeqs.removeLast();
+            maxSeqs.addLast(seq);
+        }
+
+        void evictOlderThan(long cutoff) {
+            while (start < end && timestamps[(int) (start & mask)] <= cutoff) {
+                evictOldest();
+            }
+        }
+
+        void evictBefore(long seq) {
+            while (start < end && start < seq) {
+                evictOldest();
+            }
+        }
+
+        private void evictOldest() {
+            sum -= values[(int) (start & mask)];
+            if (!minSeqs.isEmpty() && minSeqs.first() == start) minSeqs.removeFirst();
+            if (!maxSeqs.isEmpty() && maxSeqs.first() == start) maxSeqs.removeFirst();
+            start++;
+            if (start == end) sum = 0;
+        }
+    }
+
+    private static final class SeqDeque {
+        private final long[] seqs;
+        private final int mask;
+        private long head;
+        private long tail;
+
+        SeqDeque(int capacity) {
+            this.seqs = new long[capacity];
+            this.mask = capacity - 1;
+        }
+
+        boolean isEmpty() {
+            return head == tail;
+        }
+
+        long first() {
+            return seqs[(int) (head & mask)];
+        }
+
+        long last() {
+            return seqs[(int) ((tail - 1) & mask)];
+        }
+
+        void addLast(long seq) {
+            seqs[(int) (tail++ & mask)] = seq;
+        }
+
+        void removeFirst() {
+            head++;
+        }
+
+        void removeLast() {
+            tail--;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.aquatech.alert.engine;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving top-K sketch: keeps at most {@code capacity} counters; an unseen key takes over
+ * the smallest counter and inherits its count as error. Counts never underestimate and
+ * overestimate by at most {@link Entry#error()}, so every key seen more than
+ * {@code total / capacity} times is guaranteed to be held. Counters sit in a min-heap, so an
+ * update is O(log capacity) and only a new key allocates.
+ * <p>
+ * Not thread-safe.
+ */
+public class SpaceSavingSketch<K> {
+
+    public record Entry<K>(K key, long count, long error) {
+    }
+
+    private static final class Counter<K> {
+        private K key;
+        private long count;
+        private long error;
+        private int position;
+    }
+
+    private final int capacity;
+    private final Counter<K>[] heap;
+    private final Map<K, Counter<K>> counters;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public SpaceSavingSketch(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.heap = new Counter[capacity];
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    public void add(K key, long weight) {
+        Counter<K> counter = counters.get(key);
+        if (counter != null) {
+            counter.count += weight;
+            siftDown(counter.position);
+            return;
+        }
+        if (size < capacity) {
+            counter = new Counter<>();
+            counter.key = key;
+            counter.count = weight;
+            counter.position = size;
+            heap[size++] = counter;
+            counters.put(key, counter);
+            siftUp(counter.position);
+            return;
+        }
+        counter = heap[0];
+        counters.remove(counter.key);
+        counter.key = key;
+        counter.error = counter.count;
+        counter.count += weight;
+        counters.put(key, counter);
+        siftDown(0);
+    }
+
+    /**
+     * @return the count any key not held may have had, 0 while the sketch is not full
+     */
+    public long min() {
+        return size < capacity ? 0 : heap[0].count;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public List<Entry<K>> entries() {
+        List<Entry<K>> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            entries.add(new Entry<>(heap[i].key, heap[i].count, heap[i].error));
+        }
+        return entries;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            heap[i] = null;
+        }
+        counters.clear();
+        size = 0;
+    }
+
+    private void siftUp(int position) {
+        Counter<K> counter = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (heap[parent].count <= counter.count) break;
+            move(heap[parent], position);
+            position = parent;
+        }
+        move(counter, position);
+    }
+
+    private void siftDown(int position) {
+        Counter<K> counter = heap[position];
+        int half = size >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            if (child + 1 < size && heap[child + 1].count < heap[child].count) child++;
+            if (counter.count <= heap[child].count) break;
+            move(heap[child], position);
+            position = child;
+        }
+        move(counter, position);
+    }
+
+    private void move(Counter<K> counter, int position) {
+        heap[position] = counter;
+        counter.position = position;
+    }
+}
@@ -0,0 +1,26 @@
+package com.aquatech.alert.engine;
+
+/**
+ * Evaluates every plain threshold condition of a {@link ConditionColumns} against one reading
+ * and returns the met conditions as a bitmask (bit {@code i} of word {@code i / 64}).
+ * Bits of {@link ConditionColumns#OP_GENERAL} conditions are always clear.
+ */
+public interface ThresholdKernel {
+
+    long[] evaluate(ConditionColumns columns, double value);
+
+    /**
+     * Returns the Vector API kernel when preferred and the {@code jdk.incubator.vector} module
+     * is present ({@code --add-modules jdk.incubator.vector}), otherwise the scalar kernel.
+     */
+    static ThresholdKernel create(boolean preferVector) {
+        if (preferVector && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            return new VectorThresholdKernel();
+        }
+        return new ScalarThresholdKernel();
+    }
+
+    static long[] newBits(int size) {
+        return new long[(size + 63) >>> 6];
+    }
+}
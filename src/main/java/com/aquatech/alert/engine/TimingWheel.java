@@ -0,0 +1,166 @@
+package com.aquatech.alert.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical hashed timing wheel. Level {@code L} has {@code wheelSize} buckets of
+ * {@code wheelSize^L} ticks each; a timer is placed on the lowest level whose span covers its
+ * delay and cascades down as the wheel turns. Scheduling and cancelling are O(1) (a bucket is a
+ * doubly linked list), and a tick only touches the timers that are due or cascading, so millions
+ * of pending timers cost one small node each and nothing per tick.
+ * <p>
+ * Operations are synchronized; {@link #advance} returns the expired payloads instead of running
+ * them, so callbacks can schedule new timers without re-entering the wheel.
+ */
+public class TimingWheel<T> {
+
+    public static final class Timeout<T> {
+        private final T payload;
+        private long deadlineTick;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(T payload, long deadlineTick) {
+            this.payload = payload;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T payload() {
+            return payload;
+        }
+
+        private boolean isLinked() {
+            return next != null;
+        }
+    }
+
+    private final long tickMillis;
+    private final int levelBits;
+    private final int mask;
+    private final Timeout<T>[][] buckets;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int wheelSize, int levels, long startMillis) {
+        if (tickMillis < 1 || levels < 1 || wheelSize < 2 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Tick must be positive, wheel size a power of two and levels at least 1");
+        }
+        this.tickMillis = tickMillis;
+        this.levelBits = Integer.numberOfTrailingZeros(wheelSize);
+        this.mask = wheelSize - 1;
+        this.buckets = new Timeout[levels][wheelSize];
+        for (Timeout<T>[] level : buckets) {
+            for (int slot = 0; slot < wheelSize; slot++) {
+                Timeout<T> sentinel = new Timeout<>(null, 0);
+                sentinel.prev = sentinel;
+                sentinel.next = sentinel;
+                level[slot] = sentinel;
+            }
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Schedules {@code payload} to expire at {@code deadlineMillis}; deadlines already passed
+     * expire on the next tick.
+     */
+    public synchronized Timeout<T> schedule(long deadlineMillis, T payload) {
+        Timeout<T> timeout = new Timeout<>(payload, Math.max(ceilDiv(deadlineMillis, tickMillis), currentTick + 1));
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * @return false if the timer already expired or was cancelled
+     */
+    public synchronized boolean cancel(Timeout<T> timeout) {
+        if (timeout == null || !timeout.isLinked()) return false;
+        unlink(timeout);
+        size--;
+        return true;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Turns the wheel up to {@code nowMillis} and returns the payloads that expired, in deadline order.
+     */
+    public synchronized List<T> advance(long nowMillis) {
+        List<T> expired = new ArrayList<>();
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            for (int level = 1; level < buckets.length; level++) {
+                if ((currentTick & ((1L << (levelBits * level)) - 1)) != 0) break;
+                cascade(buckets[level][(int) (currentTick >>> (levelBits * level)) & mask]);
+            }
+            Timeout<T> timeout = detach(buckets[0][(int) currentTick & mask]);
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                if (timeout.deadlineTick <= currentTick) {
+                    timeout.prev = null;
+                    timeout.next = null;
+                    size--;
+                    expired.add(timeout.payload);
+                } else {
+                    place(timeout);
+                }
+                timeout = next;
+            }
+        }
+        return expired;
+    }
+
+    private void cascade(Timeout<T> sentinel) {
+        Timeout<T> timeout = detach(sentinel);
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            place(timeout);
+            timeout = next;
+        }
+    }
+
+    /**
+     * Empties a bucket and returns its timers as a null-terminated list linked through
+     * {@code next}, so re-placing one into the same bucket cannot revisit it.
+     */
+    private Timeout<T> detach(Timeout<T> sentinel) {
+        if (sentinel.next == sentinel) return null;
+        Timeout<T> first = sentinel.next;
+        sentinel.prev.next = null;
+        sentinel.prev = sentinel;
+        sentinel.next = sentinel;
+        return first;
+    }
+
+    private void place(Timeout<T> timeout) {
+        long delta = timeout.deadlineTick - currentTick;
+        int level = 0;
+        while (level < buckets.length - 1 && delta >= 1L << (levelBits * (level + 1))) {
+            level++;
+        }
+        // Beyond the top level's span the slot wraps; the timer is re-placed when it comes round.
+        int slot = (int) (timeout.deadlineTick >>> (levelBits * level)) & mask;
+        Timeout<T> sentinel = buckets[level][slot];
+        timeout.prev = sentinel.prev;
+        timeout.next = sentinel;
+        sentinel.prev.next = timeout;
+        sentinel.prev = timeout;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        timeout.prev.next = timeout.next;
+        timeout.next.prev = timeout.prev;
+        timeout.prev = null;
+        timeout.next = null;
+    }
+
+    private static long ceilDiv(long value, long divisor) {
+        return -Math.floorDiv(-value, divisor);
+    }
+}
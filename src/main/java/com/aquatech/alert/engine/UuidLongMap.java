@@ -0,0 +1,242 @@
+package com.aquatech.alert.engine;
+
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Concurrent open-addressing map from {@link UUID} to a primitive {@code long}.
+ * Keys are stored as their two halves in parallel {@code long[]} arrays, so an entry costs
+ * three longs instead of a boxed node, key and value. The table is split into segments, each
+ * guarded by a {@link StampedLock}; lookups are lock-free optimistic reads.
+ */
+public class UuidLongMap {
+    private static final int SEGMENT_BITS = 4;
+    private static final int SEGMENT_COUNT = 1 << SEGMENT_BITS;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    public interface EntryConsumer {
+        void accept(UUID key, long value);
+    }
+
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+
+    public UuidLongMap() {
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(16);
+        }
+    }
+
+    public long get(UUID key, long missingValue) {
+        long hash = hash(key);
+        return segmentFor(hash).get(key.getMostSignificantBits(), key.getLeastSignificantBits(), hash, missingValue);
+    }
+
+    public boolean containsKey(UUID key) {
+        long hash = hash(key);
+        return segmentFor(hash).indexOf(key.getMostSignificantBits(), key.getLeastSignificantBits(), hash) >= 0;
+    }
+
+    public void put(UUID key, long value) {
+        long hash = hash(key);
+        segmentFor(hash).put(key.getMostSignificantBits(), key.getLeastSignificantBits(), hash, value);
+    }
+
+    public boolean remove(UUID key) {
+        long hash = hash(key);
+        return segmentFor(hash).remove(key.getMostSignificantBits(), key.getLeastSignificantBits(), hash);
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            long stamp = segment.lock.readLock();
+            try {
+                size += segment.size;
+            } finally {
+                segment.lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    public void forEach(EntryConsumer consumer) {
+        for (Segment segment : segments) {
+            long stamp = segment.lock.readLock();
+            try {
+                for (int i = 0; i < segment.used.length; i++) {
+                    if (segment.used[i]) {
+                        consumer.accept(new UUID(segment.msbs[i], segment.lsbs[i]), segment.values[i]);
+                    }
+                }
+            } finally {
+                segment.lock.unlockRead(stamp);
+            }
+        }
+    }
+
+    private Segment segmentFor(long hash) {
+        return segments[(int) (hash >>> (64 - SEGMENT_BITS))];
+    }
+
+    private static long hash(UUID key) {
+        return hash(key.getMostSignificantBits(), key.getLeastSignificantBits());
+    }
+
+    private static long hash(long msb, long lsb) {
+        long h = msb * 0x9E3779B97F4A7C15L ^ lsb;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        return h ^ (h >>> 33);
+    }
+
+    private static final class Segment {
+        private final StampedLock lock = new StampedLock();
+        private long[] msbs;
+        private long[] lsbs;
+        private long[] values;
+        private boolean[] used;
+        private int size;
+
+        Segment(int capacity) {
+            allocate(capacity);
+        }
+
+        private void allocate(int capacity) {
+            msbs = new long[capacity];
+            lsbs = new long[capacity];
+            values = new long[capacity];
+            used = new boolean[capacity];
+        }
+
+        long get(long msb, long lsb, long hash, long missingValue) {
+            long stamp = lock.tryOptimisticRead();
+            long value = missingValue;
+            try {
+                value = find(msb, lsb, hash, missingValue);
+            } catch (ArrayIndexOutOfBoundsException ignored) {
+                // Arrays were swapped by a resize mid-read; validate() fails below.
+            }
+            if (lock.validate(stamp)) {
+                return value;
+            }
+            stamp = lock.readLock();
+            try {
+                return find(msb, lsb, hash, missingValue);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        int indexOf(long msb, long lsb, long hash) {
+            long stamp = lock.readLock();
+            try {
+                return slotOf(msb, lsb, hash);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        void put(long msb, long lsb, long hash, long value) {
+            long stamp = lock.writeLock();
+            try {
+                int slot = slotOf(msb, lsb, hash);
+                if (slot >= 0) {
+                    values[slot] = value;
+                    return;
+                }
+                if (size + 1 > used.length * LOAD_FACTOR) {
+                    resize();
+                }
+                int mask = used.length - 1;
+                int index = (int) hash & mask;
+                while (used[index]) {
+                    index = (index + 1) & mask;
+                }
+                msbs[index] = msb;
+                lsbs[index] = lsb;
+                values[index] = value;
+                used[index] = true;
+                size++;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        boolean remove(long msb, long lsb, long hash) {
+            long stamp = lock.writeLock();
+            try {
+                int slot = slotOf(msb, lsb, hash);
+                if (slot < 0) {
+                    return false;
+                }
+                // Backward-shift deletion keeps probe chains intact without tombstones.
+                int mask = used.length - 1;
+                int hole = slot;
+                int next = (hole + 1) & mask;
+                while (used[next]) {
+                    int home = (int) hash(msbs[next], lsbs[next]) & mask;
+                    if (((next - home) & mask) >= ((next - hole) & mask)) {
+                        msbs[hole] = msbs[next];
+                        lsbs[hole] = lsbs[next];
+                        values[hole] = values[next];
+                        hole = next;
+                    }
+                    next = (next + 1) & mask;
+                }
+                used[hole] = false;
+                size--;
+                return true;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        private long find(long msb, long lsb, long hash, long missingValue) {
+            long[] currentMsbs = msbs;
+            long[] currentLsbs = lsbs;
+            long[] currentValues = values;
+            boolean[] currentUsed = used;
+            int mask = currentUsed.length - 1;
+            int index = (int) hash & mask;
+            for (int probes = 0; probes < currentUsed.length && currentUsed[index]; probes++) {
+                if (currentMsbs[index] == msb && currentLsbs[index] == lsb) {
+                    return currentValues[index];
+                }
+                index = (index + 1) & mask;
+            }
+            return missingValue;
+        }
+
+        private int slotOf(long msb, long lsb, long hash) {
+            int mask = used.length - 1;
+            int index = (int) hash & mask;
+            while (used[index]) {
+                if (msbs[index] == msb && lsbs[index] == lsb) {
+                    return index;
+                }
+                index = (index + 1) & mask;
+            }
+            return -1;
+        }
+
+        private void resize() {
+            long[] oldMsbs = msbs;
+            long[] oldLsbs = lsbs;
+            long[] oldValues = values;
+            boolean[] oldUsed = used;
+            allocate(oldUsed.length * 2);
+            int mask = used.length - 1;
+            for (int i = 0; i < oldUsed.length; i++) {
+                if (!oldUsed[i]) continue;
+                int index = (int) hash(oldMsbs[i], oldLsbs[i]) & mask;
+                while (used[index]) {
+                    index = (index + 1) & mask;
+                }
+                msbs[index] = oldMsbs[i];
+                lsbs[index] = oldLsbs[i];
+                values[index] = oldValues[i];
+                used[index] = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.aquatech.alert.engine;
+
+import com.aquatech.alert.constant.OperatorConstant;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Branch-free pass over the columns with the Vector API: every lane computes all comparisons
+ * and keeps the one selected by its operator code. The tail shorter than a vector falls back
+ * to the scalar kernel. Only loaded when {@code jdk.incubator.vector} is present,
+ * see {@link ThresholdKernel#create}.
+ */
+public class VectorThresholdKernel implements ThresholdKernel {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public long[] evaluate(ConditionColumns columns, double value) {
+        long[] bits = ThresholdKernel.newBits(columns.size);
+        DoubleVector reading = DoubleVector.broadcast(SPECIES, value);
+        int upperBound = SPECIES.loopBound(columns.size);
+        int i = 0;
+        for (; i < upperBound; i += SPECIES.length()) {
+            DoubleVector opCodes = DoubleVector.fromArray(SPECIES, columns.opCodes, i);
+            DoubleVector thresholds = DoubleVector.fromArray(SPECIES, columns.thresholds, i);
+            DoubleVector mins = DoubleVector.fromArray(SPECIES, columns.mins, i);
+            DoubleVector maxs = DoubleVector.fromArray(SPECIES, columns.maxs, i);
+            DoubleVector distance = reading.sub(thresholds).abs();
+
+            VectorMask<Double> met = opCodes.eq(ConditionColumns.OP_EQ)
+                    .and(distance.lt(OperatorConstant.THRESHOLD_PRECISION))
+                    .or(opCodes.eq(ConditionColumns.OP_NEQ)
+                            .and(distance.compare(VectorOperators.GE, OperatorConstant.THRESHOLD_PRECISION)))
+                    .or(opCodes.eq(ConditionColumns.OP_GT).and(reading.compare(VectorOperators.GT, thresholds)))
+                    .or(opCodes.eq(ConditionColumns.OP_GTE).and(reading.compare(VectorOperators.GE, thresholds)))
+                    .or(opCodes.eq(ConditionColumns.OP_LT).and(reading.compare(VectorOperators.LT, thresholds)))
+                    .or(opCodes.eq(ConditionColumns.OP_LTE).and(reading.compare(VectorOperators.LE, thresholds)))
+                    .or(opCodes.eq(ConditionColumns.OP_RANGE)
+                            .and(reading.compare(VectorOperators.GE, mins))
+                            .and(reading.compare(VectorOperators.LE, maxs)))
+                    .or(opCodes.eq(ConditionColumns.OP_OUTSIDE_RANGE)
+                            .and(reading.compare(VectorOperators.LT, mins).or(reading.compare(VectorOperators.GT, maxs))));
+
+            // The lane count divides 64, so a vector never straddles two words.
+            bits[i >>> 6] |= met.toLong() << (i & 63);
+        }
+        ScalarThresholdKernel.evaluateRange(columns, value, i, bits);
+        return bits;
+    }
+}
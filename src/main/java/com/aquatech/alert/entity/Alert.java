@@ -4,23 +4,31 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
-import com.aquatech.alert.entity.converter.AlertConditionListConverter;
 import com.aquatech.alert.model.AlertCondition;
+import com.aquatech.alert.model.CompositeRule;
 
 import jakarta.persistence.Column;
-import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 @Entity
-@Table(name = "alert")
+// idx_alert_user_station_status also serves findByUserId through its user_id prefix.
+// The GIN index on conditions is created by db/alert-schema.sql.
+@Table(name = "alert", indexes = {
+        @Index(name = "idx_alert_user_station_status", columnList = "user_id, station_id, status"),
+        @Index(name = "idx_alert_status_station", columnList = "status, station_id"),
+        @Index(name = "idx_alert_user_created", columnList = "user_id, created_at, uid")
+})
 @Getter
 @Setter
 @AllArgsConstructor
@@ -55,7 +63,11 @@ public class Alert {
     @Column(name = "status", nullable = false, length = 50)
     private String status;
 
-    @Column(name = "conditions", columnDefinition = "TEXT")
-    @Convert(converter = AlertConditionListConverter.class)
+    @Column(name = "conditions", columnDefinition = "jsonb")
+    @JdbcTypeCode(SqlTypes.JSON)
     private List<AlertCondition> conditions;
+
+    @Column(name = "rule", columnDefinition = "jsonb")
+    @JdbcTypeCode(SqlTypes.JSON)
+    private CompositeRule rule;
 }
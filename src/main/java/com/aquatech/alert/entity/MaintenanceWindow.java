@@ -0,0 +1,62 @@
+package com.aquatech.alert.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Period during which readings of a station are not evaluated, e.g. tank cleaning.
+ * Either one-off ({@code startsAt} to {@code endsAt}) or weekly ({@code daysOfWeek} bitmask,
+ * bit 0 = Monday, from {@code startTime} for {@code durationMinutes}). Times are in the same
+ * local time as sensor readings.
+ */
+@Entity
+@Table(name = "maintenance_window", indexes = {
+        @Index(name = "idx_maintenance_window_station", columnList = "station_id")
+})
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class MaintenanceWindow {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "uid", updatable = false, nullable = false)
+    private UUID uid;
+
+    @Column(name = "station_id", nullable = false)
+    private Integer stationId;
+
+    @Column(name = "reason")
+    private String reason;
+
+    @Column(name = "starts_at", columnDefinition = "TIMESTAMP")
+    private LocalDateTime startsAt;
+
+    @Column(name = "ends_at", columnDefinition = "TIMESTAMP")
+    private LocalDateTime endsAt;
+
+    @Column(name = "days_of_week")
+    private Integer daysOfWeek;
+
+    @Column(name = "start_time", columnDefinition = "TIME")
+    private LocalTime startTime;
+
+    @Column(name = "duration_minutes")
+    private Integer durationMinutes;
+
+    @Column(name = "created_at", nullable = false, columnDefinition = "TIMESTAMP")
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,28 @@
+package com.aquatech.alert.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+/**
+ * Published on {@link com.aquatech.alert.constant.RedisConstant#ALERT_CHANGE_CHANNEL} and as a local
+ * application event whenever an alert is written, so every replica can drop derived state.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlertChangeMessage {
+    @JsonProperty("origin")
+    private String origin;
+
+    @JsonProperty("alert_id")
+    private UUID alertId;
+
+    @JsonProperty("user_id")
+    private Integer userId;
+}
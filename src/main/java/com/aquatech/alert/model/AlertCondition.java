@@ -34,4 +34,18 @@ public class AlertCondition {
 
     private Integer severity;
 
+    /**
+     * Optional AVG/MIN/MAX/COUNT over the last {@code windowSeconds}; the result is compared
+     * instead of the current value. Null compares the current value.
+     */
+    private String aggregation;
+
+    @JsonProperty("window_seconds")
+    private Integer windowSeconds;
+
+    /**
+     * Optional duration the comparison must hold continuously before the condition fires.
+     */
+    @JsonProperty("sustain_seconds")
+    private Integer sustainSeconds;
 }
@@ -0,0 +1,38 @@
+package com.aquatech.alert.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Several alert/resolved edges for one user collapsed into a single message on the
+ * notification topic, with {@code type_message = "digest"}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlertDigestNotification {
+    @JsonProperty("user_id")
+    private Integer userId;
+
+    @JsonProperty("timestamp")
+    private LocalDateTime timestamp;
+
+    @JsonProperty("type_message")
+    private String typeMessage;
+
+    @JsonProperty("alert_count")
+    private Integer alertCount;
+
+    @JsonProperty("resolved_count")
+    private Integer resolvedCount;
+
+    @JsonProperty("notifications")
+    private List<AlertNotification> notifications;
+}
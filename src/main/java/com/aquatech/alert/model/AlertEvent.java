@@ -0,0 +1,55 @@
+package com.aquatech.alert.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One ALERT/RESOLVED edge as stored in the {@code alert_event} history table.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlertEvent {
+    @JsonProperty("alert_id")
+    private UUID alertId;
+
+    @JsonProperty("condition_uid")
+    private UUID conditionUid;
+
+    @JsonProperty("station_id")
+    private Integer stationId;
+
+    @JsonProperty("user_id")
+    private Integer userId;
+
+    @JsonProperty("metric_id")
+    private Integer metricId;
+
+    @JsonProperty("type_message")
+    private String typeMessage;
+
+    @JsonProperty("severity")
+    private Integer severity;
+
+    @JsonProperty("value")
+    private Double value;
+
+    @JsonProperty("threshold")
+    private Double threshold;
+
+    @JsonProperty("threshold_min")
+    private Double thresholdMin;
+
+    @JsonProperty("threshold_max")
+    private Double thresholdMax;
+
+    @JsonProperty("occurred_at")
+    private LocalDateTime occurredAt;
+}
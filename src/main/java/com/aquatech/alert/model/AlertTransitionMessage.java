@@ -0,0 +1,23 @@
+package com.aquatech.alert.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Published on {@link com.aquatech.alert.constant.RedisConstant#ALERT_TRANSITION_CHANNEL} for every
+ * ALERT/RESOLVED edge, so stream subscribers connected to any replica receive it.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlertTransitionMessage {
+    @JsonProperty("origin")
+    private String origin;
+
+    @JsonProperty("notification")
+    private AlertNotification notification;
+}
@@ -0,0 +1,75 @@
+package com.aquatech.alert.model;
+
+import com.aquatech.alert.constant.RedisConstant;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+/**
+ * Typed view of the condition payload stored under a condition cache key
+ * (see {@link com.aquatech.alert.utils.CacheUtils#getValueKey}).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CachedCondition {
+    @JsonProperty(RedisConstant.KEY_ALERT_ID)
+    private UUID alertId;
+
+    @JsonProperty(RedisConstant.KEY_ALERT_NAME)
+    private String alertName;
+
+    @JsonProperty(RedisConstant.KEY_USER_ID)
+    private Integer userId;
+
+    @JsonProperty(RedisConstant.KEY_MESSAGE)
+    private String message;
+
+    @JsonProperty(RedisConstant.KEY_CONDITION_UID)
+    private UUID conditionUid;
+
+    @JsonProperty(RedisConstant.KEY_SEVERITY)
+    private Integer severity;
+
+    @JsonProperty(RedisConstant.KEY_OPERATOR)
+    private String operator;
+
+    @JsonProperty(RedisConstant.KEY_THRESHOLD)
+    private Double threshold;
+
+    @JsonProperty(RedisConstant.KEY_THRESHOLD_MIN)
+    private Double thresholdMin;
+
+    @JsonProperty(RedisConstant.KEY_THRESHOLD_MAX)
+    private Double thresholdMax;
+
+    @JsonProperty(RedisConstant.KEY_SILENCED)
+    private Integer silenced;
+
+    @JsonProperty(RedisConstant.KEY_AGGREGATION)
+    private String aggregation;
+
+    @JsonProperty(RedisConstant.KEY_WINDOW_SECONDS)
+    private Integer windowSeconds;
+
+    @JsonProperty(RedisConstant.KEY_SUSTAIN_SECONDS)
+    private Integer sustainSeconds;
+
+    @JsonIgnore
+    public boolean isWindowed() {
+        return aggregation != null && windowSeconds != null && windowSeconds > 0;
+    }
+
+    @JsonIgnore
+    public boolean isSustained() {
+        return sustainSeconds != null && sustainSeconds > 0;
+    }
+}
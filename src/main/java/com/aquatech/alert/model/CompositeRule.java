@@ -0,0 +1,24 @@
+package com.aquatech.alert.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+/**
+ * AND/OR expression across metrics of one station that fires as a single condition,
+ * e.g. temperature > 30 AND oxygen < 4.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompositeRule {
+    private UUID uid;
+
+    private Integer severity;
+
+    private RuleNode expression;
+}
@@ -0,0 +1,34 @@
+package com.aquatech.alert.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Local application event raised when a per-condition timer of a firing condition expires, or
+ * when its alert stops being evaluated (see {@link com.aquatech.alert.service.ConditionTimerService}).
+ */
+@Getter
+@AllArgsConstructor
+public class ConditionTimerEvent {
+    public enum Kind {
+        /** Still firing after the re-notification interval. */
+        RENOTIFY,
+        /** The condition's series has sent no reading within the stale-data timeout. */
+        NO_DATA,
+        /** Tracking is about to expire and the series has kept reporting; extend it. */
+        REFRESH,
+        /** Tracking is about to expire and the series stopped reporting; resolve it. */
+        EXPIRE,
+        /** The condition's alert was silenced, deactivated or deleted; resolve it. */
+        SILENCED
+    }
+
+    private final Kind kind;
+    private final CachedCondition condition;
+    private final Integer stationId;
+
+    /**
+     * Latest reading of the condition's series, at the firing edge or after.
+     */
+    private final SensorData lastReading;
+}
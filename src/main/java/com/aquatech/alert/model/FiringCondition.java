@@ -0,0 +1,75 @@
+package com.aquatech.alert.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+/**
+ * A condition that is currently firing, as kept in the per-user and per-station firing indexes.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class FiringCondition {
+    @JsonProperty("alert_id")
+    private UUID alertId;
+
+    @JsonProperty("alert_name")
+    private String alertName;
+
+    @JsonProperty("condition_uid")
+    private UUID conditionUid;
+
+    @JsonProperty("station_id")
+    private Integer stationId;
+
+    @JsonProperty("user_id")
+    private Integer userId;
+
+    @JsonProperty("severity")
+    private Integer severity;
+
+    @JsonProperty("metric_id")
+    private Integer metricId;
+
+    @JsonProperty("metric_name")
+    private String metricName;
+
+    @JsonProperty("operator")
+    private String operator;
+
+    @JsonProperty("threshold")
+    private Double threshold;
+
+    @JsonProperty("threshold_min")
+    private Double thresholdMin;
+
+    @JsonProperty("threshold_max")
+    private Double thresholdMax;
+
+    /**
+     * Value of the reading that made the condition fire.
+     */
+    @JsonProperty("value")
+    private Double value;
+
+    /**
+     * Epoch millis of the firing edge.
+     */
+    @JsonProperty("since")
+    private Long since;
+
+    /**
+     * Epoch millis of the last refresh of a condition that kept firing; null until the first.
+     * The entry counts as stale once this (or {@code since}) is older than the tracking duration.
+     */
+    @JsonProperty("refreshed_at")
+    private Long refreshedAt;
+}
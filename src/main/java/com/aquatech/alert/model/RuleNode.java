@@ -0,0 +1,39 @@
+package com.aquatech.alert.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Node of a composite rule expression. A node with {@code op} AND/OR combines its
+ * {@code operands}; any other node is a comparison of the latest value of {@code metricId}
+ * at the alert's station, using the instantaneous operators of {@link AlertCondition}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RuleNode {
+    private String op;
+
+    private List<RuleNode> operands;
+
+    @JsonProperty("metric_id")
+    private Integer metricId;
+
+    private String operator;
+
+    private Double threshold;
+
+    @JsonProperty("threshold_min")
+    private Double thresholdMin;
+
+    @JsonProperty("threshold_max")
+    private Double thresholdMax;
+}
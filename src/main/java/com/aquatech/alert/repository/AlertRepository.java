@@ -7,22 +7,46 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface AlertRepository extends JpaRepository<Alert, UUID> {
+public interface AlertRepository extends JpaRepository<Alert, UUID>, AlertRepositoryCustom {
     List<Alert> findByUserId(Integer userId);
 
     @Query("SELECT a FROM Alert a WHERE a.userId = ?1 AND a.stationId = ?2 AND a.status != 'deleted'")
     Optional<Alert> findActiveAlertByUserIdAndStationId(Integer userId, Integer stationId);
 
+    @Query("SELECT a FROM Alert a WHERE a.userId = ?1 AND a.stationId IN ?2 AND a.status != 'deleted'")
+    List<Alert> findActiveAlertsByUserIdAndStationIds(Integer userId, Collection<Integer> stationIds);
+
     @Query("SELECT a FROM Alert a WHERE a.status = 'active'")
     List<Alert> getAllActiveAlerts();
 
+    @Query("SELECT a FROM Alert a WHERE a.status = 'active' AND a.rule IS NOT NULL")
+    List<Alert> findActiveAlertsWithRule();
+
+    @Query(value = "SELECT * FROM alert a WHERE a.status = 'active' AND a.station_id = ?1 " +
+            "AND a.conditions @> CAST(?2 AS jsonb)", nativeQuery = true)
+    List<Alert> findActiveAlertsByStationIdAndConditions(Integer stationId, String conditionsFilter);
+
+    /**
+     * Active alerts of a station having at least one condition on the given metric,
+     * resolved by the GIN index on conditions.
+     */
+    default List<Alert> findActiveAlertsByStationIdAndMetricId(Integer stationId, Integer metricId) {
+        return findActiveAlertsByStationIdAndConditions(stationId, "[{\"metric_id\": " + metricId + "}]");
+    }
+
     @Transactional
     @Modifying
     @Query("UPDATE Alert a SET a.status = 'deleted', a.updatedAt = CURRENT_TIMESTAMP WHERE a.uid = ?1 ")
     void deleteByAlertId(UUID alertId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Alert a SET a.status = 'deleted', a.updatedAt = CURRENT_TIMESTAMP WHERE a.uid IN ?1 ")
+    void deleteByAlertIds(Collection<UUID> alertIds);
 }
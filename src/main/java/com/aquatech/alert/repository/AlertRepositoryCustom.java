@@ -0,0 +1,23 @@
+package com.aquatech.alert.repository;
+
+import com.aquatech.alert.dto.AlertBasicDto;
+import com.aquatech.alert.dto.AlertSummaryDto;
+import com.aquatech.alert.entity.Alert;
+import com.aquatech.alert.utils.CursorUtils;
+
+import java.util.List;
+
+/**
+ * Keyset-paginated listing of a user's alerts, newest first. Station and status filters are
+ * optional; a null {@code after} position starts from the first page.
+ */
+public interface AlertRepositoryCustom {
+    List<Alert> findUserAlertsPage(Integer userId, Integer stationId, String status,
+                                   CursorUtils.Position after, int limit);
+
+    List<AlertBasicDto> findUserAlertBasicsPage(Integer userId, Integer stationId, String status,
+                                                CursorUtils.Position after, int limit);
+
+    List<AlertSummaryDto> findUserAlertSummariesPage(Integer userId, Integer stationId, String status,
+                                                     CursorUtils.Position after, int limit);
+}
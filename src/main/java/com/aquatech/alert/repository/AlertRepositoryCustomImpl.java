@@ -0,0 +1,87 @@
+package com.aquatech.alert.repository;
+
+import com.aquatech.alert.dto.AlertBasicDto;
+import com.aquatech.alert.dto.AlertSummaryDto;
+import com.aquatech.alert.entity.Alert;
+import com.aquatech.alert.utils.CursorUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiFunction;
+
+public class AlertRepositoryCustomImpl implements AlertRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Alert> findUserAlertsPage(Integer userId, Integer stationId, String status,
+                                          CursorUtils.Position after, int limit) {
+        return findPage(Alert.class, (cb, root) -> root, userId, stationId, status, after, limit);
+    }
+
+    @Override
+    public List<AlertBasicDto> findUserAlertBasicsPage(Integer userId, Integer stationId, String status,
+                                                       CursorUtils.Position after, int limit) {
+        return findPage(AlertBasicDto.class, (cb, root) -> cb.construct(AlertBasicDto.class,
+                        root.get("uid"), root.get("name"), root.get("userId"), root.get("stationId"),
+                        root.get("message"), root.get("silenced"), root.get("status"),
+                        root.get("createdAt"), root.get("updatedAt")),
+                userId, stationId, status, after, limit);
+    }
+
+    @Override
+    public List<AlertSummaryDto> findUserAlertSummariesPage(Integer userId, Integer stationId, String status,
+                                                            CursorUtils.Position after, int limit) {
+        return findPage(AlertSummaryDto.class, (cb, root) -> cb.construct(AlertSummaryDto.class,
+                        root.get("uid"), root.get("name"), root.get("stationId"), root.get("status"),
+                        root.get("createdAt")),
+                userId, stationId, status, after, limit);
+    }
+
+    /**
+     * Builds WHERE user_id = ? [AND station_id = ?] [AND status = ?]
+     * [AND (created_at, uid) < (?, ?)] ORDER BY created_at DESC, uid DESC LIMIT ?,
+     * which walks idx_alert_user_created backwards.
+     */
+    private <T> List<T> findPage(Class<T> resultType,
+                                 BiFunction<CriteriaBuilder, Root<Alert>, Selection<? extends T>> selection,
+                                 Integer userId, Integer stationId, String status,
+                                 CursorUtils.Position after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(resultType);
+        Root<Alert> root = query.from(Alert.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(root.get("userId"), userId));
+        if (stationId != null) {
+            predicates.add(cb.equal(root.get("stationId"), stationId));
+        }
+        if (status != null) {
+            predicates.add(cb.equal(root.get("status"), status));
+        }
+        if (after != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(root.<LocalDateTime>get("createdAt"), after.createdAt()),
+                    cb.and(
+                            cb.equal(root.get("createdAt"), after.createdAt()),
+                            cb.lessThan(root.<UUID>get("uid"), after.uid()))));
+        }
+
+        query.select(selection.apply(cb, root))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(root.get("createdAt")), cb.desc(root.get("uid")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -0,0 +1,18 @@
+package com.aquatech.alert.repository;
+
+import com.aquatech.alert.entity.MaintenanceWindow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface MaintenanceWindowRepository extends JpaRepository<MaintenanceWindow, UUID> {
+    List<MaintenanceWindow> findByStationId(Integer stationId);
+
+    @Query("SELECT w FROM MaintenanceWindow w WHERE w.daysOfWeek IS NOT NULL OR w.endsAt > ?1")
+    List<MaintenanceWindow> findCurrentAndUpcoming(LocalDateTime now);
+}
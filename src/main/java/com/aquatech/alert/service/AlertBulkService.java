@@ -0,0 +1,196 @@
+package com.aquatech.alert.service;
+
+import com.aquatech.alert.dto.AlertDto;
+import com.aquatech.alert.dto.BulkItemResult;
+import com.aquatech.alert.dto.BulkUpdateItemDto;
+import com.aquatech.alert.engine.CompositeExpression;
+import com.aquatech.alert.entity.Alert;
+import com.aquatech.alert.repository.AlertRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+/**
+ * Bulk variants of the alert write API. Each request validates with a single lookup query,
+ * persists in one transaction (Hibernate groups the statements into JDBC batches, see
+ * hibernate.jdbc.batch_size) and applies all Redis changes in one pipeline
+ * (see {@link CacheService#applyChanges}).
+ * Entries that fail validation are reported and skipped; the rest are applied.
+ */
+@Service
+@Slf4j
+public class AlertBulkService {
+    @Autowired
+    private AlertService alertService;
+
+    @Autowired
+    private AlertRepository alertRepository;
+
+    @Autowired
+    private CacheService cacheService;
+
+    @Autowired
+    private AlertChangeService alertChangeService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    public List<BulkItemResult> createAlerts(Integer userId, List<AlertDto> alertDtos) {
+        if (userId == null || alertDtos == null) {
+            throw new IllegalArgumentException("User ID and alert data must be provided");
+        }
+
+        Set<Integer> stationIds = new HashSet<>();
+        alertDtos.forEach(alertDto -> {
+            if (alertDto != null && alertDto.getStationId() != null) stationIds.add(alertDto.getStationId());
+        });
+        Set<Integer> takenStationIds = new HashSet<>();
+        if (!stationIds.isEmpty()) {
+            alertRepository.findActiveAlertsByUserIdAndStationIds(userId, stationIds)
+                    .forEach(alert -> takenStationIds.add(alert.getStationId()));
+        }
+
+        BulkItemResult[] results = new BulkItemResult[alertDtos.size()];
+        List<Alert> toCreate = new ArrayList<>();
+        List<Integer> createdIndexes = new ArrayList<>();
+        for (int i = 0; i < alertDtos.size(); i++) {
+            AlertDto alertDto = alertDtos.get(i);
+            String error = validate(alertDto);
+            if (error == null && !takenStationIds.add(alertDto.getStationId())) {
+                error = "Alert already exists for this user and station";
+            }
+            if (error != null) {
+                results[i] = BulkItemResult.failed(i, null, error);
+                continue;
+            }
+            toCreate.add(alertService.newAlert(userId, alertDto));
+            createdIndexes.add(i);
+        }
+
+        List<Alert> created = transactionTemplate.execute(status -> alertRepository.saveAll(toCreate));
+        Map<String, String> upserts = new LinkedHashMap<>();
+        for (int i = 0; i < created.size(); i++) {
+            upserts.putAll(cacheService.buildEntries(created.get(i)));
+            results[createdIndexes.get(i)] = BulkItemResult.ok(createdIndexes.get(i), created.get(i).getUid());
+        }
+        cacheService.applyChanges(upserts, List.of());
+        alertChangeService.notifyChanged(created);
+
+        log.info("[createAlerts] userId={} requested={} created={}", userId, alertDtos.size(), created.size());
+        return Arrays.asList(results);
+    }
+
+    public List<BulkItemResult> updateAlerts(List<BulkUpdateItemDto> items) {
+        if (items == null) {
+            throw new IllegalArgumentException("Alert data must be provided");
+        }
+
+        BulkItemResult[] results = new BulkItemResult[items.size()];
+        Map<Integer, UUID> alertIds = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            BulkUpdateItemDto item = items.get(i);
+            UUID alertId = item == null ? null : parseUuid(item.getAlertId());
+            String error = alertId == null ? "Invalid alert ID" : validate(item.getAlert());
+            if (error != null) {
+                results[i] = BulkItemResult.failed(i, alertId, error);
+                continue;
+            }
+            alertIds.put(i, alertId);
+        }
+
+        Map<String, String> upserts = new LinkedHashMap<>();
+        Set<String> removals = new HashSet<>();
+        List<Alert> updated = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<UUID, Alert> alerts = new HashMap<>();
+            alertRepository.findAllById(new HashSet<>(alertIds.values()))
+                    .forEach(alert -> alerts.put(alert.getUid(), alert));
+
+            alertIds.forEach((index, alertId) -> {
+                Alert alert = alerts.get(alertId);
+                if (alert == null) {
+                    results[index] = BulkItemResult.failed(index, alertId, "Alert not found");
+                    return;
+                }
+                Map<String, String> previousEntries = cacheService.buildEntries(alert);
+                alertService.applyAlertDto(alert, items.get(index).getAlert());
+                cacheService.collectDiff(previousEntries, cacheService.buildEntries(alert), upserts, removals);
+                updated.add(alert);
+                results[index] = BulkItemResult.ok(index, alertId);
+            });
+            // Loaded entities are flushed as batched UPDATEs on commit.
+        });
+        cacheService.applyChanges(upserts, removals);
+        alertChangeService.notifyChanged(updated);
+
+        log.info("[updateAlerts] requested={} updated={}", items.size(), updated.size());
+        return Arrays.asList(results);
+    }
+
+    public List<BulkItemResult> deleteAlerts(List<String> alertIdValues) {
+        if (alertIdValues == null) {
+            throw new IllegalArgumentException("Alert IDs must be provided");
+        }
+
+        BulkItemResult[] results = new BulkItemResult[alertIdValues.size()];
+        Map<Integer, UUID> alertIds = new LinkedHashMap<>();
+        for (int i = 0; i < alertIdValues.size(); i++) {
+            UUID alertId = parseUuid(alertIdValues.get(i));
+            if (alertId == null) {
+                results[i] = BulkItemResult.failed(i, null, "Invalid alert ID");
+                continue;
+            }
+            alertIds.put(i, alertId);
+        }
+
+        Map<UUID, Alert> alerts = new HashMap<>();
+        alertRepository.findAllById(new HashSet<>(alertIds.values()))
+                .forEach(alert -> alerts.put(alert.getUid(), alert));
+
+        Set<String> removals = new HashSet<>();
+        alertIds.forEach((index, alertId) -> {
+            Alert alert = alerts.get(alertId);
+            if (alert == null) {
+                results[index] = BulkItemResult.failed(index, alertId, "Alert not found");
+                return;
+            }
+            removals.addAll(cacheService.buildEntries(alert).keySet());
+            results[index] = BulkItemResult.ok(index, alertId);
+        });
+
+        if (!alerts.isEmpty()) {
+            alertRepository.deleteByAlertIds(alerts.keySet());
+        }
+        cacheService.applyChanges(Map.of(), removals);
+        alertChangeService.notifyChanged(alerts.values());
+
+        log.info("[deleteAlerts] requested={} deleted={}", alertIdValues.size(), alerts.size());
+        return Arrays.asList(results);
+    }
+
+    private String validate(AlertDto alertDto) {
+        if (alertDto == null) return "Alert data must be provided";
+        if (alertDto.getStationId() == null) return "Station ID must be provided";
+        if (alertDto.getStatus() == null) return "Status must be provided";
+        if (alertDto.getRule() != null && alertDto.getRule().getExpression() != null) {
+            try {
+                CompositeExpression.validate(alertDto.getRule().getExpression());
+            } catch (IllegalArgumentException e) {
+                return e.getMessage();
+            }
+        }
+        return null;
+    }
+
+    private UUID parseUuid(String value) {
+        if (value == null) return null;
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
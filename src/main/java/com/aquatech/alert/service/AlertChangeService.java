@@ -0,0 +1,100 @@
+package com.aquatech.alert.service;
+
+import com.aquatech.alert.constant.RedisConstant;
+import com.aquatech.alert.entity.Alert;
+import com.aquatech.alert.model.AlertChangeMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Fans alert writes out to local {@code @EventListener}s and, through Redis pub/sub,
+ * to the same listeners on every other replica.
+ */
+@Service
+@Slf4j
+public class AlertChangeService implements MessageListener {
+    private final String instanceId = UUID.randomUUID().toString();
+
+    @Autowired
+    private RedisTemplate<String, String> customStringRedisTemplate;
+
+    @Autowired
+    private RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PostConstruct
+    public void subscribe() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(RedisConstant.ALERT_CHANGE_CHANNEL));
+    }
+
+    public void notifyChanged(Alert alert) {
+        if (alert == null) return;
+        AlertChangeMessage message = new AlertChangeMessage(instanceId, alert.getUid(), alert.getUserId());
+        eventPublisher.publishEvent(message);
+        try {
+            customStringRedisTemplate.convertAndSend(RedisConstant.ALERT_CHANGE_CHANNEL,
+                    objectMapper.writeValueAsString(message));
+        } catch (Exception e) {
+            log.error("[notifyChanged] Broadcast failed. alertId={}", alert.getUid(), e);
+        }
+    }
+
+    /**
+     * Same as {@link #notifyChanged(Alert)} for many alerts, broadcasting in one pipeline.
+     */
+    public void notifyChanged(Collection<Alert> alerts) {
+        if (alerts.isEmpty()) return;
+        List<byte[]> payloads = new ArrayList<>(alerts.size());
+        for (Alert alert : alerts) {
+            AlertChangeMessage message = new AlertChangeMessage(instanceId, alert.getUid(), alert.getUserId());
+            eventPublisher.publishEvent(message);
+            try {
+                payloads.add(objectMapper.writeValueAsBytes(message));
+            } catch (Exception e) {
+                log.error("[notifyChanged] Serialization failed. alertId={}", alert.getUid(), e);
+            }
+        }
+        try {
+            byte[] channel = RedisConstant.ALERT_CHANGE_CHANNEL.getBytes(StandardCharsets.UTF_8);
+            customStringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                payloads.forEach(payload -> connection.publish(channel, payload));
+                return null;
+            });
+        } catch (Exception e) {
+            log.error("[notifyChanged] Broadcast failed for {} alerts", alerts.size(), e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            AlertChangeMessage change = objectMapper.readValue(
+                    new String(message.getBody(), StandardCharsets.UTF_8), AlertChangeMessage.class);
+            if (instanceId.equals(change.getOrigin())) return;
+            eventPublisher.publishEvent(change);
+        } catch (Exception e) {
+            log.error("[onMessage] Invalid alert change message", e);
+        }
+    }
+}
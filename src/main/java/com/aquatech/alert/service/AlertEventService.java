@@ -0,0 +1,263 @@
+package com.aquatech.alert.service;
+
+import com.aquatech.alert.constant.AlertConstant;
+import com.aquatech.alert.model.AlertEvent;
+import com.aquatech.alert.model.CachedCondition;
+import com.aquatech.alert.model.SensorData;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.StringReader;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind history of ALERT/RESOLVED edges. {@link #record} only offers to a bounded
+ * in-memory buffer, so evaluation never waits on Postgres; when the buffer is full the edge is
+ * dropped from history (it is still published) and counted. The buffer is drained on the
+ * history executor and written with COPY, or with batched inserts when the connection is not
+ * a PostgreSQL one. Whatever is still buffered at shutdown is written before the pool closes.
+ */
+@Service
+@Slf4j
+public class AlertEventService {
+    private static final String COLUMNS = "alert_id, condition_uid, station_id, user_id, metric_id, type_message, "
+            + "severity, value, threshold, threshold_min, threshold_max, occurred_at";
+    private static final String COPY_SQL = "COPY alert_event (" + COLUMNS + ") FROM STDIN WITH (FORMAT csv)";
+    private static final String INSERT_SQL = "INSERT INTO alert_event (" + COLUMNS + ") "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final RowMapper<AlertEvent> ROW_MAPPER = (rs, rowNum) -> new AlertEvent(
+            rs.getObject("alert_id", UUID.class),
+            rs.getObject("condition_uid", UUID.class),
+            rs.getObject("station_id", Integer.class),
+            rs.getObject("user_id", Integer.class),
+            rs.getObject("metric_id", Integer.class),
+            rs.getString("type_message"),
+            rs.getObject("severity", Integer.class),
+            rs.getObject("value", Double.class),
+            rs.getObject("threshold", Double.class),
+            rs.getObject("threshold_min", Double.class),
+            rs.getObject("threshold_max", Double.class),
+            rs.getObject("occurred_at", LocalDateTime.class));
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${alert.history.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${alert.history.partition-months-ahead:2}")
+    private int partitionMonthsAhead;
+
+    private final BlockingQueue<AlertEvent> buffer;
+    private final AtomicLong dropped = new AtomicLong();
+
+    public AlertEventService(@Value("${alert.history.buffer-size:100000}") int bufferSize) {
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+    }
+
+    public void record(CachedCondition condition, SensorData sensorData, Double value, String messageType) {
+        AlertEvent event = new AlertEvent(condition.getAlertId(), condition.getConditionUid(),
+                sensorData.getStationId(), condition.getUserId(), sensorData.getSensorId(), messageType,
+                condition.getSeverity(), value, condition.getThreshold(), condition.getThresholdMin(),
+                condition.getThresholdMax(), LocalDateTime.now());
+        if (!buffer.offer(event)) {
+            long total = dropped.incrementAndGet();
+            if ((total & (total - 1)) == 0) {
+                log.warn("[record] History buffer full, {} edges dropped so far", total);
+            }
+        }
+    }
+
+    public int getBufferedCount() {
+        return buffer.size();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    @Scheduled(fixedDelayString = "${alert.history.flush-interval-ms:1000}")
+    @Async("historyExecutor")
+    public void flush() {
+        drain();
+    }
+
+    /**
+     * Final synchronous flush, so edges buffered when the instance is stopped are not lost.
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        drain();
+        log.info("[flushOnShutdown] History buffer flushed, {} edges dropped since startup", dropped.get());
+    }
+
+    private void drain() {
+        List<AlertEvent> batch = new ArrayList<>(Math.min(batchSize, buffer.size()));
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            try {
+                write(batch);
+            } catch (Exception e) {
+                log.error("[flush] Failed to write {} history events", batch.size(), e);
+            }
+            batch.clear();
+        }
+    }
+
+    public List<AlertEvent> getEventsByAlertId(String alertId, LocalDateTime from, LocalDateTime to, Integer limit) {
+        UUID uid;
+        try {
+            uid = UUID.fromString(alertId);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid alert ID");
+        }
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM alert_event WHERE alert_id = ? "
+                        + "AND occurred_at >= ? AND occurred_at < ? ORDER BY occurred_at DESC LIMIT ?",
+                ROW_MAPPER, uid, fromOrDefault(from), toOrDefault(to), pageSize(limit));
+    }
+
+    public List<AlertEvent> getEventsByStationId(Integer stationId, LocalDateTime from, LocalDateTime to,
+                                                 Integer limit) {
+        if (stationId == null) {
+            throw new IllegalArgumentException("Station ID must be provided");
+        }
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM alert_event WHERE station_id = ? "
+                        + "AND occurred_at >= ? AND occurred_at < ? ORDER BY occurred_at DESC LIMIT ?",
+                ROW_MAPPER, stationId, fromOrDefault(from), toOrDefault(to), pageSize(limit));
+    }
+
+    /**
+     * Number of edges per type, e.g. how often an alert fired in a month.
+     */
+    public Map<String, Long> countEventsByAlertId(String alertId, LocalDateTime from, LocalDateTime to) {
+        UUID uid;
+        try {
+            uid = UUID.fromString(alertId);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid alert ID");
+        }
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counts.put(AlertConstant.TYPE_ALERT, 0L);
+        counts.put(AlertConstant.TYPE_RESOLVED, 0L);
+        jdbcTemplate.query("SELECT type_message, count(*) FROM alert_event WHERE alert_id = ? "
+                        + "AND occurred_at >= ? AND occurred_at < ? GROUP BY type_message",
+                rs -> {
+                    counts.put(rs.getString(1), rs.getLong(2));
+                }, uid, fromOrDefault(from), toOrDefault(to));
+        return counts;
+    }
+
+    /**
+     * Creates the monthly partitions from the current month to {@code partition-months-ahead}
+     * months ahead, so rows rarely land in the default partition.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 0 3 * * *")
+    public void ensurePartitions() {
+        LocalDate month = LocalDate.now().withDayOfMonth(1);
+        for (int i = 0; i <= partitionMonthsAhead; i++, month = month.plusMonths(1)) {
+            String sql = String.format(
+                    "CREATE TABLE IF NOT EXISTS alert_event_%s PARTITION OF alert_event FOR VALUES FROM ('%s') TO ('%s')",
+                    month.format(PARTITION_SUFFIX), month, month.plusMonths(1));
+            try {
+                jdbcTemplate.execute(sql);
+            } catch (Exception e) {
+                log.error("[ensurePartitions] Could not create partition for {}", month, e);
+            }
+        }
+    }
+
+    private void write(List<AlertEvent> events) throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            if (connection.isWrapperFor(PGConnection.class)) {
+                connection.unwrap(PGConnection.class).getCopyAPI()
+                        .copyIn(COPY_SQL, new StringReader(toCsv(events)));
+            } else {
+                insertBatch(connection, events);
+            }
+        }
+    }
+
+    private static String toCsv(List<AlertEvent> events) {
+        StringBuilder csv = new StringBuilder(events.size() * 192);
+        for (AlertEvent event : events) {
+            // Unquoted empty fields are read as NULL by COPY csv.
+            appendField(csv, event.getAlertId()).append(',');
+            appendField(csv, event.getConditionUid()).append(',');
+            appendField(csv, event.getStationId()).append(',');
+            appendField(csv, event.getUserId()).append(',');
+            appendField(csv, event.getMetricId()).append(',');
+            appendField(csv, event.getTypeMessage()).append(',');
+            appendField(csv, event.getSeverity()).append(',');
+            appendField(csv, event.getValue()).append(',');
+            appendField(csv, event.getThreshold()).append(',');
+            appendField(csv, event.getThresholdMin()).append(',');
+            appendField(csv, event.getThresholdMax()).append(',');
+            appendField(csv, event.getOccurredAt()).append('\n');
+        }
+        return csv.toString();
+    }
+
+    private static StringBuilder appendField(StringBuilder csv, Object value) {
+        return value == null ? csv : csv.append(value);
+    }
+
+    private static void insertBatch(Connection connection, List<AlertEvent> events) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+            for (AlertEvent event : events) {
+                statement.setObject(1, event.getAlertId());
+                statement.setObject(2, event.getConditionUid());
+                statement.setObject(3, event.getStationId(), Types.INTEGER);
+                statement.setObject(4, event.getUserId(), Types.INTEGER);
+                statement.setObject(5, event.getMetricId(), Types.INTEGER);
+                statement.setString(6, event.getTypeMessage());
+                statement.setObject(7, event.getSeverity(), Types.INTEGER);
+                statement.setObject(8, event.getValue(), Types.DOUBLE);
+                statement.setObject(9, event.getThreshold(), Types.DOUBLE);
+                statement.setObject(10, event.getThresholdMin(), Types.DOUBLE);
+                statement.setObject(11, event.getThresholdMax(), Types.DOUBLE);
+                statement.setObject(12, event.getOccurredAt());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private static LocalDateTime fromOrDefault(LocalDateTime from) {
+        return from == null ? LocalDateTime.now().minusDays(30) : from;
+    }
+
+    private static LocalDateTime toOrDefault(LocalDateTime to) {
+        return to == null ? LocalDateTime.now().plusMinutes(1) : to;
+    }
+
+    private static int pageSize(Integer limit) {
+        int pageSize = limit == null ? AlertConstant.DEFAULT_PAGE_SIZE : limit;
+        if (pageSize < 1 || pageSize > AlertConstant.MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + AlertConstant.MAX_PAGE_SIZE);
+        }
+        return pageSize;
+    }
+}
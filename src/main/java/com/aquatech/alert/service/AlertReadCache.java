@@ -0,0 +1,59 @@
+package com.aquatech.alert.service;
+
+import com.aquatech.alert.entity.Alert;
+import com.aquatech.alert.model.AlertChangeMessage;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process read-through cache for alert reads. Entries are dropped on every
+ * alert change, local or from another replica, and otherwise expire after the TTL.
+ */
+@Service
+public class AlertReadCache {
+    private final Cache<UUID, Alert> alertsById;
+    private final Cache<Integer, List<Alert>> alertsByUserId;
+
+    public AlertReadCache(
+            @Value("${alert.read-cache.max-alerts:10000}") long maxAlerts,
+            @Value("${alert.read-cache.max-user-alerts:100000}") long maxUserAlerts,
+            @Value("${alert.read-cache.ttl-seconds:60}") long ttlSeconds
+    ) {
+        this.alertsById = Caffeine.newBuilder()
+                .maximumSize(maxAlerts)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+        // Weighed by list size so a few power users cannot pin the whole budget.
+        this.alertsByUserId = Caffeine.newBuilder()
+                .maximumWeight(maxUserAlerts)
+                .<Integer, List<Alert>>weigher((userId, alerts) -> alerts.size() + 1)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public Alert getAlert(UUID alertId, Function<UUID, Alert> loader) {
+        return alertsById.get(alertId, loader);
+    }
+
+    public List<Alert> getUserAlerts(Integer userId, Function<Integer, List<Alert>> loader) {
+        return alertsByUserId.get(userId, loader);
+    }
+
+    @EventListener
+    public void onAlertChanged(AlertChangeMessage change) {
+        if (change.getAlertId() != null) {
+            alertsById.invalidate(change.getAlertId());
+        }
+        if (change.getUserId() != null) {
+            alertsByUserId.invalidate(change.getUserId());
+        }
+    }
+}
@@ -1,11 +1,18 @@
 package com.aquatech.alert.service;
 
+import com.aquatech.alert.constant.AlertConstant;
 import com.aquatech.alert.constant.OperatorConstant;
+import com.aquatech.alert.dto.AlertBasicDto;
 import com.aquatech.alert.dto.AlertDto;
+import com.aquatech.alert.dto.AlertSummaryDto;
+import com.aquatech.alert.dto.CursorPage;
+import com.aquatech.alert.engine.CompositeExpression;
 import com.aquatech.alert.entity.Alert;
 import com.aquatech.alert.model.AlertCondition;
+import com.aquatech.alert.model.CompositeRule;
 import com.aquatech.alert.repository.AlertRepository;
 import com.aquatech.alert.utils.CommonUtils;
+import com.aquatech.alert.utils.CursorUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -14,7 +21,9 @@ import java.lang.reflect.Modifier;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
 
 @Service
 public class AlertService {
@@ -24,6 +33,12 @@ public class AlertService {
     @Autowired()
     private CacheService cacheService;
 
+    @Autowired()
+    private AlertReadCache alertReadCache;
+
+    @Autowired()
+    private AlertChangeService alertChangeService;
+
     public Alert createAlert(Integer userId, AlertDto alertDto) {
         if (userId == null || alertDto == null) {
             throw new IllegalArgumentException("User ID and alert data must be provided");
@@ -34,31 +49,60 @@ public class AlertService {
                     throw new IllegalArgumentException("Alert already exists for this user and station");
                 });
 
-        Alert alert = new Alert();
-        alert.setUserId(userId);
-        alert.setName(alertDto.getName());
-        alert.setStationId(alertDto.getStationId());
-        alert.setSilenced(alertDto.getSilenced());
-        alert.setStatus(alertDto.getStatus());
-        alert.setCreatedAt(LocalDateTime.now());
-        alert.setUpdatedAt(LocalDateTime.now());
-        alert.setMessage(alertDto.getMessage());
-        if (!CommonUtils.isEmptyCollection(alertDto.getConditions())) {
-            alert.setConditions(addUidToConditions(alertDto.getConditions()));
-        } else {
-            alert.setConditions(null);
-        }
-        Alert createdAlert = alertRepository.save(alert);
+        Alert createdAlert = alertRepository.save(newAlert(userId, alertDto));
 
-        if (createdAlert.getStatus().equals("active")) {
-            cacheService.setCache(createdAlert);
-        }
+        cacheService.applyDiff(Map.of(), cacheService.buildEntries(createdAlert));
+        alertChangeService.notifyChanged(createdAlert);
 
         return createdAlert;
     }
 
     public List<Alert> getAlertsByUserId(Integer userId) {
-        return alertRepository.findByUserId(userId);
+        return alertReadCache.getUserAlerts(userId, alertRepository::findByUserId);
+    }
+
+    /**
+     * Keyset-paginated listing, newest first.
+     *
+     * @param view one of {@link AlertConstant#VIEW_FULL}, {@link AlertConstant#VIEW_BASIC}
+     *             (no conditions) or {@link AlertConstant#VIEW_SUMMARY}
+     */
+    public CursorPage<?> getAlertPageByUserId(Integer userId, Integer stationId, String status,
+                                              String cursor, Integer limit, String view) {
+        if (userId == null) {
+            throw new IllegalArgumentException("User ID must be provided");
+        }
+        int pageSize = limit == null ? AlertConstant.DEFAULT_PAGE_SIZE : limit;
+        if (pageSize < 1 || pageSize > AlertConstant.MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + AlertConstant.MAX_PAGE_SIZE);
+        }
+        CursorUtils.Position after = CommonUtils.isEmptyString(cursor) ? null : CursorUtils.decode(cursor);
+
+        // One extra row tells whether another page exists without a count query.
+        int fetchSize = pageSize + 1;
+        String resolvedView = view == null ? AlertConstant.VIEW_FULL : view.toLowerCase();
+        return switch (resolvedView) {
+            case AlertConstant.VIEW_FULL -> toPage(
+                    alertRepository.findUserAlertsPage(userId, stationId, status, after, fetchSize),
+                    pageSize, Alert::getCreatedAt, Alert::getUid);
+            case AlertConstant.VIEW_BASIC -> toPage(
+                    alertRepository.findUserAlertBasicsPage(userId, stationId, status, after, fetchSize),
+                    pageSize, AlertBasicDto::getCreatedAt, AlertBasicDto::getUid);
+            case AlertConstant.VIEW_SUMMARY -> toPage(
+                    alertRepository.findUserAlertSummariesPage(userId, stationId, status, after, fetchSize),
+                    pageSize, AlertSummaryDto::getCreatedAt, AlertSummaryDto::getUid);
+            default -> throw new IllegalArgumentException("Unknown view: " + view);
+        };
+    }
+
+    private <T> CursorPage<T> toPage(List<T> rows, int pageSize,
+                                     Function<T, LocalDateTime> createdAt, Function<T, UUID> uid) {
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, pageSize);
+        T last = items.get(pageSize - 1);
+        return new CursorPage<>(items, CursorUtils.encode(createdAt.apply(last), uid.apply(last)));
     }
 
     public Alert updateAlert(String alertId, AlertDto alertDto) {
@@ -68,30 +112,13 @@ public class AlertService {
 
         Alert alert = alertRepository.findById(UUID.fromString(alertId))
                 .orElseThrow(() -> new IllegalArgumentException("Alert not found"));
-        String status = alert.getStatus();
-
-        alert.setName(alertDto.getName());
-        alert.setStationId(alertDto.getStationId());
-        alert.setSilenced(alertDto.getSilenced());
-        alert.setStatus(alertDto.getStatus());
+        Map<String, String> previousEntries = cacheService.buildEntries(alert);
 
-        alert.setMessage(alertDto.getMessage());
-
-        if (!CommonUtils.isEmptyCollection(alertDto.getConditions())) {
-            alert.setConditions(addUidToConditions(alertDto.getConditions()));
-        } else {
-            alert.setConditions(null);
-        }
-        alert.setUpdatedAt(LocalDateTime.now());
+        applyAlertDto(alert, alertDto);
         Alert updatedAlert = alertRepository.save(alert);
 
-        if (updatedAlert.getStatus().equals("active")) {
-            cacheService.setCache(updatedAlert);
-        } else {
-            if (status.equals("active")) {
-                cacheService.removeCache(updatedAlert);
-            }
-        }
+        cacheService.applyDiff(previousEntries, cacheService.buildEntries(updatedAlert));
+        alertChangeService.notifyChanged(updatedAlert);
 
         return updatedAlert;
     }
@@ -103,7 +130,8 @@ public class AlertService {
         Alert deletedAlert = alertRepository.findById(UUID.fromString(alertId))
                 .orElseThrow(() -> new IllegalArgumentException("Alert not found"));
         alertRepository.deleteByAlertId(UUID.fromString(alertId));
-        cacheService.removeCache(deletedAlert);
+        cacheService.applyDiff(cacheService.buildEntries(deletedAlert), Map.of());
+        alertChangeService.notifyChanged(deletedAlert);
     }
 
     public Alert updateAlertStatus(String alertId, String status) {
@@ -114,28 +142,62 @@ public class AlertService {
         Alert alert = alertRepository.findById(UUID.fromString(alertId))
                 .orElseThrow(() -> new IllegalArgumentException("Alert not found"));
 
-        String statusAlert = alert.getStatus();
+        Map<String, String> previousEntries = cacheService.buildEntries(alert);
 
         alert.setStatus(status);
         alert.setUpdatedAt(LocalDateTime.now());
 
         Alert updatedAlert = alertRepository.save(alert);
 
-        if (status.equals("active")) {
-            cacheService.setCache(updatedAlert);
-        } else {
-            if (statusAlert.equals("active")) {
-                cacheService.removeCache(updatedAlert);
-            }
-        }
+        cacheService.applyDiff(previousEntries, cacheService.buildEntries(updatedAlert));
+        alertChangeService.notifyChanged(updatedAlert);
 
-        return alertRepository.save(alert);
+        return updatedAlert;
     }
 
     public List<Alert> getAllActiveAlerts() {
         return alertRepository.getAllActiveAlerts();
     }
 
+    public List<Alert> getActiveAlertsByStationIdAndMetricId(Integer stationId, Integer metricId) {
+        if (stationId == null || metricId == null) {
+            throw new IllegalArgumentException("Station ID and metric ID must be provided");
+        }
+        return alertRepository.findActiveAlertsByStationIdAndMetricId(stationId, metricId);
+    }
+
+    Alert newAlert(Integer userId, AlertDto alertDto) {
+        Alert alert = new Alert();
+        alert.setUserId(userId);
+        alert.setCreatedAt(LocalDateTime.now());
+        applyAlertDto(alert, alertDto);
+        return alert;
+    }
+
+    void applyAlertDto(Alert alert, AlertDto alertDto) {
+        alert.setName(alertDto.getName());
+        alert.setStationId(alertDto.getStationId());
+        alert.setSilenced(alertDto.getSilenced());
+        alert.setStatus(alertDto.getStatus());
+        alert.setMessage(alertDto.getMessage());
+        if (!CommonUtils.isEmptyCollection(alertDto.getConditions())) {
+            alert.setConditions(addUidToConditions(alertDto.getConditions()));
+        } else {
+            alert.setConditions(null);
+        }
+        CompositeRule rule = alertDto.getRule();
+        if (rule != null && rule.getExpression() != null) {
+            CompositeExpression.validate(rule.getExpression());
+            if (rule.getUid() == null) {
+                rule.setUid(UUID.randomUUID());
+            }
+            alert.setRule(rule);
+        } else {
+            alert.setRule(null);
+        }
+        alert.setUpdatedAt(LocalDateTime.now());
+    }
+
     private List<AlertCondition> addUidToConditions(List<AlertCondition> conditions) {
         for (AlertCondition condition : conditions) {
             if (condition.getUid() == null) {
@@ -149,8 +211,8 @@ public class AlertService {
         if (alertId == null) {
             throw new IllegalArgumentException("Alert ID must be provided");
         }
-        return alertRepository.findById(UUID.fromString(alertId))
-                .orElseThrow(() -> new IllegalArgumentException("Alert not found"));
+        return alertReadCache.getAlert(UUID.fromString(alertId), uid -> alertRepository.findById(uid)
+                .orElseThrow(() -> new IllegalArgumentException("Alert not found")));
     }
 
     public List<String> getOperator() {
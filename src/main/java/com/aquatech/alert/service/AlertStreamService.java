@@ -0,0 +1,240 @@
+package com.aquatech.alert.service;
+
+import com.aquatech.alert.constant.RedisConstant;
+import com.aquatech.alert.engine.DropOldestBuffer;
+import com.aquatech.alert.model.AlertNotification;
+import com.aquatech.alert.model.AlertTransitionMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes ALERT/RESOLVED edges to Server-Sent Events subscribers, filtered by user or station.
+ * Publishing only serializes the edge once and offers it to the matching subscribers'
+ * {@link DropOldestBuffer}s, so a slow client loses its oldest events instead of holding up
+ * evaluation. Each subscriber is drained by its own virtual thread. Edges are relayed to the
+ * other replicas through Redis pub/sub, since a client may be connected to any of them.
+ */
+@Service
+@Slf4j
+public class AlertStreamService implements MessageListener {
+    private static final String EVENT_DROPPED = "dropped";
+
+    private record StreamEvent(String name, String data) {
+    }
+
+    private final class Subscriber {
+        private final Map<Integer, Set<Subscriber>> index;
+        private final Integer key;
+        private final SseEmitter emitter;
+        private final DropOldestBuffer<StreamEvent> buffer = new DropOldestBuffer<>(bufferSize);
+        private volatile Thread writer;
+        private volatile boolean closed;
+
+        Subscriber(Map<Integer, Set<Subscriber>> index, Integer key, SseEmitter emitter) {
+            this.index = index;
+            this.key = key;
+            this.emitter = emitter;
+        }
+
+        void run() {
+            try {
+                while (!closed) {
+                    StreamEvent event = buffer.poll(heartbeatSeconds, TimeUnit.SECONDS);
+                    long dropped = buffer.takeDropped();
+                    if (dropped > 0) {
+                        emitter.send(SseEmitter.event().name(EVENT_DROPPED).data(dropped));
+                    }
+                    if (event == null) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        emitter.send(SseEmitter.event().name(event.name()).data(event.data(), MediaType.APPLICATION_JSON));
+                    }
+                }
+            } catch (InterruptedException e) {
+                // Closed by the emitter callbacks or on shutdown.
+            } catch (Exception e) {
+                log.debug("[Subscriber] Stream closed by client key={}", key);
+            } finally {
+                close();
+                try {
+                    emitter.complete();
+                } catch (Exception ignored) {
+                    // Already completed or the connection is gone.
+                }
+            }
+        }
+
+        synchronized void close() {
+            if (closed) return;
+            closed = true;
+            index.computeIfPresent(key, (k, subscribers) -> {
+                subscribers.remove(this);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+            subscriberCount.decrementAndGet();
+            Thread current = writer;
+            if (current != null && current != Thread.currentThread()) {
+                current.interrupt();
+            }
+        }
+    }
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Map<Integer, Set<Subscriber>> subscribersByUser = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<Subscriber>> subscribersByStation = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    @Autowired
+    private RedisTemplate<String, String> customStringRedisTemplate;
+
+    @Autowired
+    private RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${alert.stream.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${alert.stream.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    @Value("${alert.stream.heartbeat-seconds:15}")
+    private long heartbeatSeconds;
+
+    @Value("${alert.stream.timeout-minutes:30}")
+    private long timeoutMinutes;
+
+    @Value("${alert.stream.relay:true}")
+    private boolean relay;
+
+    /**
+     * Edges waiting to be relayed to the other replicas, published by one virtual thread.
+     */
+    private final DropOldestBuffer<String> relayBuffer = new DropOldestBuffer<>(10000);
+    private volatile Thread relayThread;
+
+    @PostConstruct
+    public void start() {
+        if (!relay) return;
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(RedisConstant.ALERT_TRANSITION_CHANNEL));
+        relayThread = Thread.ofVirtual().name("alert-stream-relay").start(this::runRelay);
+    }
+
+    public SseEmitter subscribeUser(Integer userId) {
+        if (userId == null) {
+            throw new IllegalArgumentException("User ID must be provided");
+        }
+        return subscribe(subscribersByUser, userId);
+    }
+
+    public SseEmitter subscribeStation(Integer stationId) {
+        if (stationId == null) {
+            throw new IllegalArgumentException("Station ID must be provided");
+        }
+        return subscribe(subscribersByStation, stationId);
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    public void publish(AlertNotification notification) {
+        if (relay) {
+            try {
+                relayBuffer.offer(objectMapper.writeValueAsString(new AlertTransitionMessage(instanceId, notification)));
+            } catch (Exception e) {
+                log.error("[publish] Serialization failed. alertId={}", notification.getAlertId(), e);
+            }
+        }
+        deliver(notification);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            AlertTransitionMessage transition = objectMapper.readValue(
+                    new String(message.getBody(), StandardCharsets.UTF_8), AlertTransitionMessage.class);
+            if (instanceId.equals(transition.getOrigin())) return;
+            deliver(transition.getNotification());
+        } catch (Exception e) {
+            log.error("[onMessage] Invalid alert transition message", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (relayThread != null) relayThread.interrupt();
+        subscribersByUser.values().forEach(subscribers -> subscribers.forEach(Subscriber::close));
+        subscribersByStation.values().forEach(subscribers -> subscribers.forEach(Subscriber::close));
+    }
+
+    private SseEmitter subscribe(Map<Integer, Set<Subscriber>> index, Integer key) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new IllegalStateException("Too many stream subscribers");
+        }
+        SseEmitter emitter = new SseEmitter(Duration.ofMinutes(timeoutMinutes).toMillis());
+        Subscriber subscriber = new Subscriber(index, key, emitter);
+        index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+        subscriber.writer = Thread.ofVirtual().name("alert-stream-" + key).start(subscriber::run);
+        return emitter;
+    }
+
+    private void deliver(AlertNotification notification) {
+        Set<Subscriber> byUser = notification.getUserId() == null ? null : subscribersByUser.get(notification.getUserId());
+        Set<Subscriber> byStation = subscribersByStation.get(notification.getStationId());
+        if (byUser == null && byStation == null) return;
+        try {
+            StreamEvent event = new StreamEvent(notification.getTypeMessage(), objectMapper.writeValueAsString(notification));
+            if (byUser != null) byUser.forEach(subscriber -> subscriber.buffer.offer(event));
+            if (byStation != null) byStation.forEach(subscriber -> subscriber.buffer.offer(event));
+        } catch (Exception e) {
+            log.error("[deliver] Serialization failed. alertId={}", notification.getAlertId(), e);
+        }
+    }
+
+    private void runRelay() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                String payload = relayBuffer.poll(1, TimeUnit.SECONDS);
+                long dropped = relayBuffer.takeDropped();
+                if (dropped > 0) {
+                    log.warn("[runRelay] Relay buffer full, dropped {} transitions", dropped);
+                }
+                if (payload == null) continue;
+                try {
+                    customStringRedisTemplate.convertAndSend(RedisConstant.ALERT_TRANSITION_CHANNEL, payload);
+                } catch (Exception e) {
+                    log.error("[runRelay] Broadcast failed", e);
+                }
+            }
+        } catch (InterruptedException e) {
+            // Shutting down.
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.aquatech.alert.service;
+
+import com.aquatech.alert.model.CachedCondition;
+import com.aquatech.alert.utils.CacheUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Non-blocking lookups for the evaluation path. Callbacks run on Lettuce I/O threads,
+ * so they must stay CPU-only; anything that blocks goes back to an executor.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "alert.evaluation.async-redis", havingValue = "true")
+public class AsyncCacheService {
+
+    @Autowired
+    private RedisClusterAsyncCommands<String, String> asyncRedisCommands;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Resolves the index of a (station, metric) series and fetches all of its conditions
+     * with one MGET. Both keys carry the same hash tag, so this also works on a cluster.
+     */
+    public CompletionStage<List<CachedCondition>> getConditions(Integer stationId, Integer metricId) {
+        String indexKey = CacheUtils.buildIndexKey(stationId, metricId);
+        return asyncRedisCommands.smembers(indexKey).thenCompose(cacheKeys -> {
+            if (cacheKeys == null || cacheKeys.isEmpty()) {
+                return CompletableFuture.completedFuture(List.of());
+            }
+            return asyncRedisCommands.mget(cacheKeys.toArray(new String[0]))
+                    .thenApply(this::parseConditions);
+        });
+    }
+
+    private List<CachedCondition> parseConditions(List<KeyValue<String, String>> values) {
+        List<CachedCondition> conditions = new ArrayList<>(values.size());
+        for (KeyValue<String, String> value : values) {
+            if (!value.hasValue()) continue;
+            try {
+                conditions.add(objectMapper.readValue(value.getValue(), CachedCondition.class));
+            } catch (Exception e) {
+                log.error("[parseConditions] Invalid condition payload. cacheKey={}", value.getKey(), e);
+            }
+        }
+        return conditions;
+    }
+}
@@ -0,0 +1,410 @@
+package com.aquatech.alert.service;
+
+import com.aquatech.alert.dto.AlertDto;
+import com.aquatech.alert.dto.BacktestReportDto;
+import com.aquatech.alert.dto.BacktestRequestDto;
+import com.aquatech.alert.engine.NdjsonReadingScanner;
+import com.aquatech.alert.model.AlertCondition;
+import com.aquatech.alert.model.CachedCondition;
+import com.aquatech.alert.model.SensorData;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Replays a historical NDJSON file of {@link SensorData} through a proposed alert to see how
+ * often it would have fired. The file is memory-mapped in chunks that are parsed in parallel,
+ * keeping only readings of the alert's station and metrics; each station is then replayed in
+ * order, in parallel, with its own {@link SeriesStateService} and the same edge detection as
+ * {@link KafkaService}. Composite rules are not replayed.
+ * <p>
+ * All runs share one pool of {@code threads} workers. At most {@code max-concurrent} runs are
+ * accepted at once, further ones are rejected, and a run keeps at most {@code max-readings}
+ * matching readings, so the heap a backtest can take stays bounded.
+ */
+@Service
+@Slf4j
+public class BacktestService {
+
+    @Value("${alert.backtest.data-dir:/data/backtest}")
+    private String dataDir;
+
+    @Value("${alert.backtest.chunk-mb:64}")
+    private int chunkMb;
+
+    @Value("${alert.backtest.threads:0}")
+    private int threads;
+
+    @Value("${alert.backtest.max-concurrent:2}")
+    private int maxConcurrent;
+
+    @Value("${alert.backtest.max-readings:10000000}")
+    private long maxReadings;
+
+    @Value("${alert.backtest.flap-seconds:300}")
+    private long flapSeconds;
+
+    @Value("${alert.window.capacity:1024}")
+    private int windowCapacity;
+
+    @Value("${alert.stats.ewm-alpha:0.1}")
+    private double ewmAlpha;
+
+    @Value("${alert.stats.warmup-readings:10}")
+    private int warmupReadings;
+
+    /** Kept readings are counted into the run's total in steps of this many. */
+    private static final int KEPT_BATCH = 4096;
+
+    private ExecutorService executor;
+    private Semaphore runs;
+
+    /**
+     * Readings of one station in file order, as parallel primitive arrays.
+     */
+    private static final class StationReadings {
+        private int[] metricIds = new int[64];
+        private double[] values = new double[64];
+        private long[] times = new long[64];
+        private int size;
+
+        void add(int metricId, double value, long time) {
+            ensureCapacity(size + 1);
+            metricIds[size] = metricId;
+            values[size] = value;
+            times[size] = time;
+            size++;
+        }
+
+        void append(StationReadings other) {
+            ensureCapacity(size + other.size);
+            System.arraycopy(other.metricIds, 0, metricIds, size, other.size);
+            System.arraycopy(other.values, 0, values, size, other.size);
+            System.arraycopy(other.times, 0, times, size, other.size);
+            size += other.size;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity <= metricIds.length) return;
+            int newCapacity = Math.max(capacity, metricIds.length * 2);
+            metricIds = Arrays.copyOf(metricIds, newCapacity);
+            values = Arrays.copyOf(values, newCapacity);
+            times = Arrays.copyOf(times, newCapacity);
+        }
+    }
+
+    private record ChunkResult(Map<Integer, StationReadings> stations, long readings, long malformed) {
+    }
+
+    private record StationResult(long[] triggers, long[] resolves, long[] flaps, long[] timeInAlert, long span) {
+    }
+
+    @PostConstruct
+    public void init() {
+        int parallelism = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        executor = Executors.newFixedThreadPool(parallelism);
+        runs = new Semaphore(maxConcurrent);
+        log.info("[init] threads={} maxConcurrent={} maxReadings={}", parallelism, maxConcurrent, maxReadings);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public BacktestReportDto run(BacktestRequestDto request) {
+        if (request == null || request.getAlert() == null || request.getFile() == null) {
+            throw new IllegalArgumentException("Alert data and file must be provided");
+        }
+        if (!runs.tryAcquire()) {
+            throw new IllegalStateException("Too many backtests running");
+        }
+        try {
+            return replayFile(request);
+        } finally {
+            runs.release();
+        }
+    }
+
+    private BacktestReportDto replayFile(BacktestRequestDto request) {
+        AlertDto alert = request.getAlert();
+        List<CachedCondition> conditions = toConditions(alert);
+        int[] conditionMetricIds = alert.getConditions().stream().mapToInt(AlertCondition::getMetricId).toArray();
+        int[] metricIds = Arrays.stream(conditionMetricIds).distinct().toArray();
+        Path path = resolve(request.getFile());
+
+        long startedAt = System.nanoTime();
+        AtomicLong kept = new AtomicLong();
+        List<Future<?>> futures = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            List<Future<ChunkResult>> chunkFutures = new ArrayList<>();
+            for (long[] chunk : splitChunks(channel, chunkMb * 1024L * 1024L)) {
+                chunkFutures.add(executor.submit(() -> parseChunk(channel, chunk[0], chunk[1], alert.getStationId(),
+                        metricIds, kept, maxReadings)));
+            }
+            futures.addAll(chunkFutures);
+
+            Map<Integer, StationReadings> stations = new LinkedHashMap<>();
+            long readings = 0;
+            long malformed = 0;
+            for (Future<ChunkResult> future : chunkFutures) {
+                ChunkResult result = future.get();
+                readings += result.readings();
+                malformed += result.malformed();
+                result.stations().forEach((stationId, chunkReadings) ->
+                        stations.computeIfAbsent(stationId, key -> new StationReadings()).append(chunkReadings));
+            }
+
+            List<Future<StationResult>> stationFutures = new ArrayList<>(stations.size());
+            long replayed = 0;
+            for (Map.Entry<Integer, StationReadings> entry : stations.entrySet()) {
+                replayed += entry.getValue().size;
+                stationFutures.add(executor.submit(() -> replay(entry.getKey(), entry.getValue(), conditions, conditionMetricIds)));
+            }
+            futures.addAll(stationFutures);
+            List<StationResult> results = new ArrayList<>(stationFutures.size());
+            for (Future<StationResult> future : stationFutures) {
+                results.add(future.get());
+            }
+
+            long elapsedMillis = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+            log.info("[run] file={} readings={} replayed={} stations={} elapsedMs={}",
+                    request.getFile(), readings, replayed, stations.size(), elapsedMillis);
+            return new BacktestReportDto(request.getFile(), readings, replayed, malformed, stations.size(),
+                    elapsedMillis, readings * 1000 / elapsedMillis, summarize(conditions, conditionMetricIds, results));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read " + request.getFile(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Backtest interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IllegalArgumentException cause) throw cause;
+            throw new IllegalStateException("Backtest failed", e.getCause());
+        } finally {
+            // The pool is shared, so a failed run must not leave its remaining tasks behind.
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private List<CachedCondition> toConditions(AlertDto alert) {
+        if (alert.getConditions() == null || alert.getConditions().isEmpty()) {
+            throw new IllegalArgumentException("At least one condition must be provided");
+        }
+        List<CachedCondition> conditions = new ArrayList<>(alert.getConditions().size());
+        for (AlertCondition alertCondition : alert.getConditions()) {
+            if (alertCondition.getMetricId() == null || alertCondition.getOperator() == null) {
+                throw new IllegalArgumentException("Metric ID and operator must be provided for every condition");
+            }
+            CachedCondition condition = new CachedCondition();
+            condition.setAlertName(alert.getName());
+            condition.setMessage(alert.getMessage());
+            condition.setConditionUid(alertCondition.getUid() != null ? alertCondition.getUid() : UUID.randomUUID());
+            condition.setSeverity(alertCondition.getSeverity());
+            condition.setOperator(alertCondition.getOperator());
+            condition.setThreshold(alertCondition.getThreshold());
+            condition.setThresholdMin(alertCondition.getThresholdMin());
+            condition.setThresholdMax(alertCondition.getThresholdMax());
+            condition.setAggregation(alertCondition.getAggregation());
+            condition.setWindowSeconds(alertCondition.getWindowSeconds());
+            condition.setSustainSeconds(alertCondition.getSustainSeconds());
+            conditions.add(condition);
+        }
+        return conditions;
+    }
+
+    private Path resolve(String file) {
+        Path base = Path.of(dataDir).toAbsolutePath().normalize();
+        Path path = base.resolve(file).normalize();
+        if (!path.startsWith(base)) {
+            throw new IllegalArgumentException("Invalid file");
+        }
+        if (!Files.isRegularFile(path)) {
+            throw new IllegalArgumentException("File not found");
+        }
+        return path;
+    }
+
+    /**
+     * Splits the file into ranges of about {@code chunkBytes}, each ending just after a newline.
+     */
+    private static List<long[]> splitChunks(FileChannel channel, long chunkBytes) throws IOException {
+        long size = channel.size();
+        List<long[]> chunks = new ArrayList<>();
+        ByteBuffer probe = ByteBuffer.allocate(8192);
+        long start = 0;
+        while (start < size) {
+            long end = Math.min(start + chunkBytes, size);
+            search:
+            while (end < size) {
+                probe.clear();
+                int read = channel.read(probe, end);
+                if (read <= 0) {
+                    end = size;
+                    break;
+                }
+                for (int i = 0; i < read; i++) {
+                    if (probe.get(i) == '\n') {
+                        end += i + 1;
+                        break search;
+                    }
+                }
+                end += read;
+            }
+            chunks.add(new long[]{start, Math.min(end, size)});
+            start = end;
+        }
+        return chunks;
+    }
+
+    /**
+     * @param kept readings kept so far by all chunks of the run, checked against {@code maxReadings}
+     */
+    private static ChunkResult parseChunk(FileChannel channel, long start, long end, Integer stationFilter,
+                                          int[] metricIds, AtomicLong kept, long maxReadings) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        NdjsonReadingScanner scanner = new NdjsonReadingScanner(buffer);
+        NdjsonReadingScanner.Reading reading = new NdjsonReadingScanner.Reading();
+        Map<Integer, StationReadings> stations = new HashMap<>();
+        long readings = 0;
+        long malformed = 0;
+        int keptSinceCheck = 0;
+        int limit = buffer.limit();
+        int lineStart = 0;
+        for (int i = 0; i <= limit; i++) {
+            if (i < limit && buffer.get(i) != '\n') continue;
+            if (i > lineStart) {
+                if (scanner.parse(lineStart, i, reading)) {
+                    readings++;
+                    if ((stationFilter == null || stationFilter == reading.stationId) && contains(metricIds, reading.metricId)) {
+                        stations.computeIfAbsent(reading.stationId, key -> new StationReadings())
+                                .add(reading.metricId, reading.value, reading.localEpochSecond);
+                        if (++keptSinceCheck == KEPT_BATCH) {
+                            checkKept(kept.addAndGet(keptSinceCheck), maxReadings);
+                            keptSinceCheck = 0;
+                        }
+                    }
+                } else if (!isBlank(buffer, lineStart, i)) {
+                    malformed++;
+                }
+            }
+            lineStart = i + 1;
+        }
+        checkKept(kept.addAndGet(keptSinceCheck), maxReadings);
+        return new ChunkResult(stations, readings, malformed);
+    }
+
+    private static void checkKept(long kept, long maxReadings) {
+        if (kept > maxReadings) {
+            throw new IllegalArgumentException("More than " + maxReadings
+                    + " matching readings; backtest a single station or a shorter file");
+        }
+    }
+
+    /**
+     * Replays one station's readings in order with the evaluator and edge detection of the live path.
+     */
+    private StationResult replay(Integer stationId, StationReadings readings, List<CachedCondition> conditions,
+                                 int[] conditionMetricIds) {
+        int count = conditions.size();
+        long[] triggers = new long[count];
+        long[] resolves = new long[count];
+        long[] flaps = new long[count];
+        long[] timeInAlert = new long[count];
+        boolean[] firing = new boolean[count];
+        long[] firingSince = new long[count];
+
+        SeriesStateService seriesState = new SeriesStateService(windowCapacity, ewmAlpha, warmupReadings);
+        for (int c = 0; c < count; c++) {
+            seriesState.register(SeriesStateService.seriesKey(stationId, conditionMetricIds[c]), conditions.get(c));
+        }
+        SensorData sensorData = new SensorData();
+        sensorData.setStationId(stationId);
+        for (int r = 0; r < readings.size; r++) {
+            long time = readings.times[r];
+            double value = readings.values[r];
+            sensorData.setSensorId(readings.metricIds[r]);
+            sensorData.setValue(value);
+            sensorData.setDatetime(LocalDateTime.ofEpochSecond(time, 0, ZoneOffset.UTC));
+            SeriesStateService.Outcome outcome = seriesState.record(sensorData);
+            for (int c = 0; c < count; c++) {
+                if (conditionMetricIds[c] != readings.metricIds[r]) continue;
+                boolean isMet = seriesState.evaluate(conditions.get(c), outcome, sensorData, value);
+                if (isMet == firing[c]) continue;
+                firing[c] = isMet;
+                if (isMet) {
+                    triggers[c]++;
+                    firingSince[c] = time;
+                } else {
+                    resolves[c]++;
+                    long duration = time - firingSince[c];
+                    timeInAlert[c] += duration;
+                    if (duration < flapSeconds) flaps[c]++;
+                }
+            }
+        }
+        long last = readings.size == 0 ? 0 : readings.times[readings.size - 1];
+        for (int c = 0; c < count; c++) {
+            if (firing[c]) timeInAlert[c] += last - firingSince[c];
+        }
+        long span = readings.size == 0 ? 0 : last - readings.times[0];
+        return new StationResult(triggers, resolves, flaps, timeInAlert, span);
+    }
+
+    private static List<BacktestReportDto.ConditionReport> summarize(List<CachedCondition> conditions,
+                                                                       int[] conditionMetricIds,
+                                                                       List<StationResult> results) {
+        long totalSpan = results.stream().mapToLong(StationResult::span).sum();
+        List<BacktestReportDto.ConditionReport> reports = new ArrayList<>(conditions.size());
+        for (int c = 0; c < conditions.size(); c++) {
+            long triggers = 0, resolves = 0, flaps = 0, timeInAlert = 0;
+            int stationsTriggered = 0;
+            for (StationResult result : results) {
+                triggers += result.triggers()[c];
+                resolves += result.resolves()[c];
+                flaps += result.flaps()[c];
+                timeInAlert += result.timeInAlert()[c];
+                if (result.triggers()[c] > 0) stationsTriggered++;
+            }
+            CachedCondition condition = conditions.get(c);
+            reports.add(new BacktestReportDto.ConditionReport(condition.getConditionUid(),
+                    conditionMetricIds[c], condition.getOperator(), triggers, resolves, flaps,
+                    triggers == 0 ? 0 : (double) flaps / triggers, timeInAlert,
+                    totalSpan == 0 ? 0 : (double) timeInAlert / totalSpan, stationsTriggered));
+        }
+        return reports;
+    }
+
+    private static boolean contains(int[] values, int value) {
+        for (int candidate : values) {
+            if (candidate == value) return true;
+        }
+        return false;
+    }
+
+    private static boolean isBlank(ByteBuffer buffer, int start, int end) {
+        for (int i = start; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b != ' ' && b != '\t' && b != '\r') return false;
+        }
+        return true;
+    }
+}
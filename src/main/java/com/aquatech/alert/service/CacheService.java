@@ -2,17 +2,27 @@ package com.aquatech.alert.service;
 
 import com.aquatech.alert.entity.Alert;
 import com.aquatech.alert.model.AlertCondition;
+import com.aquatech.alert.model.CachedCondition;
 import com.aquatech.alert.utils.CacheUtils;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisClusterNode;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.Cursor;
 import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import static com.aquatech.alert.utils.CacheUtils.getValueKey;
@@ -20,6 +30,8 @@ import static com.aquatech.alert.utils.CacheUtils.getValueKey;
 @Service
 @Slf4j
 public class CacheService {
+    private static final String LEGACY_INDEX_PATTERN = "idx:station:*";
+    private static final String LEGACY_CACHE_PATTERN = "station:*:alert:*:metric:*:condition:*";
 
     @Autowired
     private RedisTemplate<String, Object> redisTemplate;
@@ -30,78 +42,165 @@ public class CacheService {
     @Autowired
     private ObjectMapper objectMapper;
 
-    public void setCache(Alert alertEntity) {
-        if (alertEntity == null || alertEntity.getStationId() == null || alertEntity.getUid() == null) {
-            log.warn("[setCache] Skip – alert or identifiers are null. alert={}", alertEntity);
-            return;
-        }
-
-        if (alertEntity.getConditions() == null || alertEntity.getConditions().isEmpty()) {
-            log.debug("[setCache] No conditions to cache for alertId={}", alertEntity.getUid());
-            return;
-        }
+    @Autowired
+    private RedisScript<Long> applySeriesDeltaScript;
 
-        alertEntity.getConditions().forEach(condition -> {
-            if (condition.getMetricId() == null) {
-                log.warn("[setCache] Skip condition with null metricId. alertId={} conditionUid={} ",
-                        alertEntity.getUid(), condition.getUid());
-                return;
+    /**
+     * Blocking counterpart of {@link AsyncCacheService#getConditions}: the conditions of a
+     * series, read with one SMEMBERS of its index and one MGET of the listed keys.
+     */
+    public List<CachedCondition> getConditions(Integer stationId, Integer metricId) {
+        Set<String> cacheKeys = customStringRedisTemplate.opsForSet().members(CacheUtils.buildIndexKey(stationId, metricId));
+        if (cacheKeys == null || cacheKeys.isEmpty()) return List.of();
+        List<String> keys = new ArrayList<>(cacheKeys);
+        List<String> values = customStringRedisTemplate.opsForValue().multiGet(keys);
+        if (values == null) return List.of();
+        List<CachedCondition> conditions = new ArrayList<>(values.size());
+        for (int i = 0; i < keys.size(); i++) {
+            if (values.get(i) == null) continue;
+            try {
+                conditions.add(objectMapper.readValue(values.get(i), CachedCondition.class));
+            } catch (Exception e) {
+                log.error("[getConditions] Invalid condition payload. cacheKey={}", keys.get(i), e);
             }
+        }
+        return conditions;
+    }
 
+    /**
+     * Builds every cache entry (cacheKey -> payload JSON) an alert contributes while active.
+     * Inactive and silenced alerts contribute nothing.
+     */
+    public Map<String, String> buildEntries(Alert alertEntity) {
+        Map<String, String> entries = new LinkedHashMap<>();
+        if (alertEntity == null || alertEntity.getStationId() == null || alertEntity.getUid() == null
+                || !"active".equals(alertEntity.getStatus()) || alertEntity.getConditions() == null
+                || CacheUtils.isSilenced(alertEntity)) {
+            return entries;
+        }
+        for (AlertCondition condition : alertEntity.getConditions()) {
+            if (condition.getMetricId() == null || condition.getUid() == null) continue;
             String cacheKey = CacheUtils.buildCacheKey(
                     alertEntity.getStationId().toString(),
                     alertEntity.getUid().toString(),
                     condition.getMetricId().toString(),
                     condition.getUid().toString());
-
             try {
-                String payloadJson = objectMapper.writeValueAsString(getValueKey(alertEntity, condition));
-                redisTemplate.opsForValue().set(cacheKey, payloadJson);
-
-                String indexKey = CacheUtils.buildIndexKey(alertEntity.getStationId(), condition.getMetricId());
-                customStringRedisTemplate.opsForSet().add(indexKey, cacheKey); // Sử dụng stringRedisTemplate
-
-                log.debug("[setCache] Cached condition. cacheKey={} indexKey={}", cacheKey, indexKey);
+                entries.put(cacheKey, objectMapper.writeValueAsString(getValueKey(alertEntity, condition)));
             } catch (Exception e) {
-                log.error("[setCache] Error while caching condition. cacheKey={}", cacheKey, e);
+                log.error("[buildEntries] Serialization error. cacheKey={}", cacheKey, e);
             }
-        });
+        }
+        return entries;
     }
 
-    public void removeCache(Alert alertEntity) {
-        if (alertEntity == null || alertEntity.getStationId() == null || alertEntity.getUid() == null) {
-            log.warn("[removeCache] Skip – alert or identifiers are null. alert={}", alertEntity);
-            return;
-        }
+    /**
+     * Brings Redis from the entries of an alert's previous version to those of its new version
+     * (see {@link #buildEntries}). Keys whose payload did not change are left alone; keys that
+     * disappeared, including every key under a previous station, are deleted.
+     */
+    public void applyDiff(Map<String, String> previousEntries, Map<String, String> entries) {
+        Map<String, String> upserts = new LinkedHashMap<>();
+        Set<String> removals = new HashSet<>();
+        collectDiff(previousEntries, entries, upserts, removals);
+        applyChanges(upserts, removals);
+    }
 
-        String indexPattern = "idx:station:" + alertEntity.getStationId() + ":metric:*";
-        Set<String> indexKeys = scanKeys(indexPattern);
-        log.debug("[removeCache] Found {} indexKeys with pattern {}", indexKeys.size(), indexPattern);
+    /**
+     * Accumulates the writes and deletes needed to go from {@code previousEntries} to {@code entries}.
+     */
+    public void collectDiff(Map<String, String> previousEntries, Map<String, String> entries,
+                            Map<String, String> upserts, Set<String> removals) {
+        previousEntries.keySet().forEach(cacheKey -> {
+            if (!entries.containsKey(cacheKey)) removals.add(cacheKey);
+        });
+        entries.forEach((cacheKey, valueJson) -> {
+            if (!valueJson.equals(previousEntries.get(cacheKey))) upserts.put(cacheKey, valueJson);
+        });
+    }
 
-        indexKeys.forEach(indexKey -> {
-            Set<String> members = customStringRedisTemplate.opsForSet().members(indexKey);
-            if (members == null) return;
+    /**
+     * Writes and deletes condition keys, keeping their index sets in step. The changes of each
+     * (station, metric) series run as one script, so the series is updated atomically even on a
+     * cluster; all scripts are sent in a single pipeline.
+     */
+    public void applyChanges(Map<String, String> upserts, Collection<String> removals) {
+        if (upserts.isEmpty() && removals.isEmpty()) return;
 
-            List<String> keysToDelete = members.stream()
-                    .map(Object::toString)
-                    .filter(key -> key.contains(":alert:" + alertEntity.getUid() + ":"))
-                    .toList();
+        Map<String, List<String[]>> changesBySeries = new LinkedHashMap<>();
+        upserts.forEach((cacheKey, valueJson) -> changesBySeries
+                .computeIfAbsent(CacheUtils.getIndexKeyOf(cacheKey), key -> new ArrayList<>())
+                .add(new String[]{cacheKey, valueJson}));
+        removals.forEach(cacheKey -> {
+            if (upserts.containsKey(cacheKey)) return;
+            changesBySeries.computeIfAbsent(CacheUtils.getIndexKeyOf(cacheKey), key -> new ArrayList<>())
+                    .add(new String[]{cacheKey, ""});
+        });
 
-            if (!keysToDelete.isEmpty()) {
-                redisTemplate.delete(keysToDelete);
-                customStringRedisTemplate.opsForSet().remove(indexKey, keysToDelete.toArray());
-                log.debug("[removeCache] Removed {} cacheKeys from indexKey={}", keysToDelete.size(), indexKey);
-            }
+        RedisSerializer<String> serializer = redisTemplate.getStringSerializer();
+        byte[] script = serializer.serialize(applySeriesDeltaScript.getScriptAsString());
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            changesBySeries.forEach((indexKey, changes) -> {
+                byte[][] keysAndArgs = new byte[changes.size() * 2 + 1][];
+                keysAndArgs[0] = serializer.serialize(indexKey);
+                for (int i = 0; i < changes.size(); i++) {
+                    keysAndArgs[i + 1] = serializer.serialize(changes.get(i)[0]);
+                    keysAndArgs[changes.size() + 1 + i] = serializer.serialize(changes.get(i)[1]);
+                }
+                connection.scriptingCommands().eval(script, ReturnType.INTEGER, changes.size() + 1, keysAndArgs);
+            });
+            return null;
         });
+        log.debug("[applyChanges] series={} upserts={} removals={}", changesBySeries.size(), upserts.size(), removals.size());
     }
 
     public Set<String> updateActiveAlerts(List<Alert> alertList) {
         Set<String> activeCacheKeys = new HashSet<>();
+        List<Map<String, Object>> batchPayload = buildBatchPayload(alertList, condition -> true, activeCacheKeys);
+
+        int batchSize = 100;
+        for (int i = 0; i < batchPayload.size(); i += batchSize) {
+            processBatch(batchPayload.subList(i, Math.min(i + batchSize, batchPayload.size())));
+        }
+        log.info("[updateActiveAlerts] Synced {} cacheKeys", activeCacheKeys.size());
+        return activeCacheKeys;
+    }
+
+    /**
+     * Rebuilds a single (station, metric) series from the given active alerts and drops
+     * index members that no longer belong to it.
+     */
+    public Set<String> syncSeries(Integer stationId, Integer metricId, List<Alert> alertList) {
+        Set<String> activeCacheKeys = new HashSet<>();
+        List<Map<String, Object>> batchPayload = buildBatchPayload(alertList,
+                condition -> metricId.equals(condition.getMetricId()), activeCacheKeys);
+        if (!batchPayload.isEmpty()) {
+            processBatch(batchPayload);
+        }
+
+        String indexKey = CacheUtils.buildIndexKey(stationId, metricId);
+        Set<String> members = customStringRedisTemplate.opsForSet().members(indexKey);
+        if (members != null) {
+            List<String> staleKeys = members.stream()
+                    .filter(key -> !activeCacheKeys.contains(key))
+                    .toList();
+            if (!staleKeys.isEmpty()) {
+                redisTemplate.delete(staleKeys);
+                customStringRedisTemplate.opsForSet().remove(indexKey, staleKeys.toArray());
+            }
+            log.info("[syncSeries] indexKey={} synced={} removed={}", indexKey, activeCacheKeys.size(), staleKeys.size());
+        }
+        return activeCacheKeys;
+    }
+
+    private List<Map<String, Object>> buildBatchPayload(List<Alert> alertList,
+                                                        Predicate<AlertCondition> conditionFilter,
+                                                        Set<String> activeCacheKeys) {
         List<Map<String, Object>> batchPayload = new ArrayList<>();
 
         alertList.forEach(alertEntity -> {
             if (alertEntity.getStationId() == null || alertEntity.getUid() == null) return;
-            if (alertEntity.getConditions() == null) return;
+            if (alertEntity.getConditions() == null || CacheUtils.isSilenced(alertEntity)) return;
 
             alertEntity.getConditions().forEach(condition -> {
                 if (condition.getMetricId() == null) {
@@ -109,6 +208,7 @@ public class CacheService {
                             alertEntity.getUid(), condition.getUid());
                     return;
                 }
+                if (!conditionFilter.test(condition)) return;
                 String cacheKey = CacheUtils.buildCacheKey(
                         alertEntity.getStationId().toString(),
                         alertEntity.getUid().toString(),
@@ -126,13 +226,7 @@ public class CacheService {
                 }
             });
         });
-
-        int batchSize = 100;
-        for (int i = 0; i < batchPayload.size(); i += batchSize) {
-            processBatch(batchPayload.subList(i, Math.min(i + batchSize, batchPayload.size())));
-        }
-        log.info("[updateActiveAlerts] Synced {} cacheKeys", activeCacheKeys.size());
-        return activeCacheKeys;
+        return batchPayload;
     }
 
     private void processBatch(List<Map<String, Object>> operations) {
@@ -149,12 +243,27 @@ public class CacheService {
         });
     }
 
-    private Set<String> scanKeys(String pattern) {
+    Set<String> scanKeys(String pattern) {
         Set<String> keys = new HashSet<>();
-        try (Cursor<byte[]> cursor = redisTemplate.getConnectionFactory()
-                .getConnection()
-                .scan(ScanOptions.scanOptions().match(pattern).count(1000).build())) {
-            while (cursor.hasNext()) keys.add(new String(cursor.next()));
+        ScanOptions scanOptions = ScanOptions.scanOptions().match(pattern).count(1000).build();
+        RedisConnectionFactory connectionFactory = redisTemplate.getRequiredConnectionFactory();
+        try {
+            if (connectionFactory instanceof LettuceConnectionFactory lettuce && lettuce.isClusterAware()) {
+                // SCAN only walks the keyspace of the node it is sent to, so visit every master.
+                try (RedisClusterConnection connection = connectionFactory.getClusterConnection()) {
+                    for (RedisClusterNode node : connection.clusterGetNodes()) {
+                        if (!node.isMaster()) continue;
+                        try (Cursor<byte[]> cursor = connection.scan(node, scanOptions)) {
+                            while (cursor.hasNext()) keys.add(new String(cursor.next()));
+                        }
+                    }
+                }
+            } else {
+                try (RedisConnection connection = connectionFactory.getConnection();
+                     Cursor<byte[]> cursor = connection.keyCommands().scan(scanOptions)) {
+                    while (cursor.hasNext()) keys.add(new String(cursor.next()));
+                }
+            }
         } catch (Exception e) {
             log.error("[scanKeys] Error pattern={}", pattern, e);
         }
@@ -170,5 +279,19 @@ public class CacheService {
             redisTemplate.delete(staleKeys);
             log.info("[cleanupInactiveAlerts] Removed {} staleKeys", staleKeys.size());
         }
+        cleanupLegacyKeys();
+    }
+
+    /**
+     * Drops keys written with the layout used before hash tags were introduced.
+     * They are no longer read by the evaluation path.
+     */
+    private void cleanupLegacyKeys() {
+        Set<String> legacyKeys = new HashSet<>(scanKeys(LEGACY_INDEX_PATTERN));
+        legacyKeys.addAll(scanKeys(LEGACY_CACHE_PATTERN));
+        if (!legacyKeys.isEmpty()) {
+            redisTemplate.delete(legacyKeys);
+            log.info("[cleanupLegacyKeys] Removed {} legacy keys", legacyKeys.size());
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,151 @@
+package com.aquatech.alert.service;
+
+import com.aquatech.alert.engine.CompositeExpression;
+import com.aquatech.alert.engine.LatestValueTable;
+import com.aquatech.alert.entity.Alert;
+import com.aquatech.alert.model.AlertChangeMessage;
+import com.aquatech.alert.model.CachedCondition;
+import com.aquatech.alert.model.SensorData;
+import com.aquatech.alert.repository.AlertRepository;
+import com.aquatech.alert.utils.CacheUtils;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled composite rules of active alerts, indexed by the (station, metric) series they
+ * refer to. Rules are loaded from Postgres at startup and refreshed per alert on every
+ * {@link AlertChangeMessage}, so each replica holds all rules without going through Redis.
+ * A reading updates the {@link LatestValueTable} and re-evaluates only the rules that refer
+ * to its series.
+ */
+@Service
+@Slf4j
+public class CompositeRuleRegistry {
+
+    /**
+     * @param condition view of the rule as a condition, used for tracking and notifications
+     */
+    public record CompiledRule(UUID alertId, Integer stationId, CachedCondition condition,
+                               CompositeExpression expression, Set<Long> seriesKeys) {
+    }
+
+    @Autowired
+    private AlertRepository alertRepository;
+
+    @Value("${alert.composite.max-age-seconds:3600}")
+    private long maxAgeSeconds;
+
+    private final LatestValueTable latestValues = new LatestValueTable();
+    private final Map<UUID, CompiledRule> rulesByAlertId = new ConcurrentHashMap<>();
+    private final Map<Long, List<CompiledRule>> rulesBySeries = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void loadRules() {
+        try {
+            List<Alert> alerts = alertRepository.findActiveAlertsWithRule();
+            alerts.forEach(this::register);
+            log.info("[loadRules] Loaded {} composite rules", rulesByAlertId.size());
+        } catch (Exception e) {
+            log.error("[loadRules] Error loading composite rules", e);
+        }
+    }
+
+    @EventListener
+    public void onAlertChanged(AlertChangeMessage change) {
+        if (change.getAlertId() == null) return;
+        try {
+            Optional<Alert> alert = alertRepository.findById(change.getAlertId());
+            unregister(change.getAlertId());
+            alert.ifPresent(this::register);
+        } catch (Exception e) {
+            log.error("[onAlertChanged] Error refreshing composite rule. alertId={}", change.getAlertId(), e);
+        }
+    }
+
+    /**
+     * Stores the reading and returns the rules that refer to its series.
+     */
+    public List<CompiledRule> record(SensorData sensorData, long timestamp) {
+        long seriesKey = SeriesStateService.seriesKey(sensorData.getStationId(), sensorData.getSensorId());
+        if (!latestValues.put(seriesKey, timestamp, sensorData.getValue())) {
+            return List.of();
+        }
+        return rulesBySeries.getOrDefault(seriesKey, List.of());
+    }
+
+    public boolean evaluate(CompiledRule rule, long timestamp) {
+        return rule.expression().test(latestValues, timestamp - maxAgeSeconds * 1000);
+    }
+
+    public int ruleCount() {
+        return rulesByAlertId.size();
+    }
+
+    private synchronized void register(Alert alert) {
+        if (!"active".equals(alert.getStatus()) || CacheUtils.isSilenced(alert)
+                || alert.getRule() == null || alert.getRule().getExpression() == null) {
+            return;
+        }
+        Integer stationId = alert.getStationId();
+        Set<Integer> metricIds = new HashSet<>();
+        // One table reference per series the rule refers to, given back in unregister().
+        Map<Long, Integer> slotsBySeries = new HashMap<>();
+        CompositeExpression expression;
+        try {
+            expression = CompositeExpression.compile(alert.getRule().getExpression(),
+                    metricId -> slotsBySeries.computeIfAbsent(SeriesStateService.seriesKey(stationId, metricId),
+                            latestValues::slotOf), metricIds);
+        } catch (IllegalArgumentException e) {
+            slotsBySeries.keySet().forEach(latestValues::release);
+            log.warn("[register] Skip invalid composite rule. alertId={} reason={}", alert.getUid(), e.getMessage());
+            return;
+        }
+
+        Set<Long> seriesKeys = new HashSet<>(slotsBySeries.keySet());
+        CompiledRule rule = new CompiledRule(alert.getUid(), stationId, toCondition(alert), expression, seriesKeys);
+        rulesByAlertId.put(alert.getUid(), rule);
+        // Lists are replaced, never mutated, so readers iterate without locking.
+        for (Long seriesKey : seriesKeys) {
+            List<CompiledRule> rules = new ArrayList<>(rulesBySeries.getOrDefault(seriesKey, List.of()));
+            rules.add(rule);
+            rulesBySeries.put(seriesKey, List.copyOf(rules));
+        }
+    }
+
+    private synchronized void unregister(UUID alertId) {
+        CompiledRule rule = rulesByAlertId.remove(alertId);
+        if (rule == null) return;
+        for (Long seriesKey : rule.seriesKeys()) {
+            latestValues.release(seriesKey);
+            List<CompiledRule> rules = new ArrayList<>(rulesBySeries.getOrDefault(seriesKey, List.of()));
+            rules.removeIf(existing -> existing.alertId().equals(alertId));
+            if (rules.isEmpty()) {
+                rulesBySeries.remove(seriesKey);
+            } else {
+                rulesBySeries.put(seriesKey, List.copyOf(rules));
+            }
+        }
+    }
+
+    private CachedCondition toCondition(Alert alert) {
+        CachedCondition condition = new CachedCondition();
+        condition.setAlertId(alert.getUid());
+        condition.setAlertName(alert.getName());
+        condition.setUserId(alert.getUserId());
+        condition.setMessage(alert.getMessage());
+        condition.setConditionUid(alert.getRule().getUid());
+        condition.setSeverity(alert.getRule().getSeverity());
+        condition.setOperator(alert.getRule().getExpression().getOp() != null
+                ? alert.getRule().getExpression().getOp().toUpperCase()
+                : alert.getRule().getExpression().getOperator());
+        condition.setSilenced(alert.getSilenced());
+        return condition;
+    }
+}
@@ -0,0 +1,255 @@
+package com.aquatech.alert.service;
+
+import com.aquatech.alert.constant.RedisConstant;
+import com.aquatech.alert.engine.TimingWheel;
+import com.aquatech.alert.model.CachedCondition;
+import com.aquatech.alert.model.ConditionTimerEvent;
+import com.aquatech.alert.model.SensorData;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-condition timers of firing conditions, kept on an in-process {@link TimingWheel} instead
+ * of Redis TTL keys:
+ * <ul>
+ *     <li>re-notification every {@code renotify-interval-seconds} while firing;</li>
+ *     <li>a "no data" event once the condition's series has been silent for
+ *     {@code stale-timeout-seconds};</li>
+ *     <li>a check shortly before tracking would expire: a series that kept reporting has its
+ *     tracking extended, so a condition that is still breached does not fire again, and a
+ *     series that went silent is resolved instead of lingering.</li>
+ * </ul>
+ * Expired timers are raised as {@link ConditionTimerEvent}s. Readings only stamp the series'
+ * last-seen time; the stale timer re-arms itself from that time when it comes due, so data
+ * arriving costs no timer churn. Conditions loaded as firing from Redis after a restart or a
+ * rebalance carry no timers and fall back to tracking's lazy expiry; timers are dropped when
+ * partitions are revoked, since the series may now be consumed, and timed, by another instance.
+ */
+@Service
+@Slf4j
+public class ConditionTimerService {
+    private static final long TRACKING_TTL_MILLIS = Duration.ofHours(RedisConstant.TRACKING_DURATION_HOURS).toMillis();
+    /** The expiry check runs this long before tracking would expire. */
+    private static final long EXPIRY_MARGIN_MILLIS = Math.min(TRACKING_TTL_MILLIS / 10, Duration.ofMinutes(1).toMillis());
+
+    private enum TimerKind {
+        RENOTIFY, STALE, EXPIRY
+    }
+
+    private record Timer(TimerKind kind, UUID conditionUid) {
+    }
+
+    private static final class ConditionTimers {
+        private final CachedCondition condition;
+        private final Integer stationId;
+        private final long seriesKey;
+        private long lastCheckedAt;
+        private boolean noDataSent;
+        private boolean cancelled;
+        private TimingWheel.Timeout<Timer> renotify;
+        private TimingWheel.Timeout<Timer> stale;
+        private TimingWheel.Timeout<Timer> expiry;
+
+        ConditionTimers(CachedCondition condition, Integer stationId, long seriesKey, long firedAt) {
+            this.condition = condition;
+            this.stationId = stationId;
+            this.seriesKey = seriesKey;
+            this.lastCheckedAt = firedAt;
+        }
+    }
+
+    private static final class SeriesActivity {
+        private volatile long lastSeenAt;
+        private volatile SensorData lastReading;
+        private int firing;
+    }
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${alert.timers.enabled:true}")
+    private boolean enabled;
+
+    @Value("${alert.timers.renotify-interval-seconds:0}")
+    private long renotifyIntervalSeconds;
+
+    @Value("${alert.timers.stale-timeout-seconds:0}")
+    private long staleTimeoutSeconds;
+
+    @Value("${alert.timers.tick-ms:100}")
+    private long tickMillis;
+
+    @Value("${alert.timers.wheel-size:512}")
+    private int wheelSize;
+
+    @Value("${alert.timers.levels:4}")
+    private int levels;
+
+    private TimingWheel<Timer> wheel;
+    private final Map<UUID, ConditionTimers> timersByCondition = new ConcurrentHashMap<>();
+    private final Map<Long, SeriesActivity> activityBySeries = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        wheel = new TimingWheel<>(tickMillis, wheelSize, levels, System.currentTimeMillis());
+    }
+
+    /**
+     * Stamps the series of a reading as active. Only series with a firing condition are tracked.
+     */
+    public void touch(SensorData sensorData) {
+        if (!enabled) return;
+        SeriesActivity activity = activityBySeries.get(
+                SeriesStateService.seriesKey(sensorData.getStationId(), sensorData.getSensorId()));
+        if (activity != null) {
+            activity.lastReading = sensorData;
+            activity.lastSeenAt = System.currentTimeMillis();
+        }
+    }
+
+    public void onFiring(CachedCondition condition, SensorData sensorData) {
+        if (!enabled) return;
+        onResolved(condition.getConditionUid());
+        long now = System.currentTimeMillis();
+        long seriesKey = SeriesStateService.seriesKey(sensorData.getStationId(), sensorData.getSensorId());
+        activityBySeries.compute(seriesKey, (key, activity) -> {
+            if (activity == null) activity = new SeriesActivity();
+            activity.firing++;
+            activity.lastReading = sensorData;
+            activity.lastSeenAt = now;
+            return activity;
+        });
+
+        ConditionTimers timers = new ConditionTimers(condition, sensorData.getStationId(), seriesKey, now);
+        timersByCondition.put(condition.getConditionUid(), timers);
+        synchronized (timers) {
+            if (timers.cancelled) return;
+            UUID conditionUid = condition.getConditionUid();
+            if (renotifyIntervalSeconds > 0) {
+                timers.renotify = wheel.schedule(now + renotifyIntervalSeconds * 1000, new Timer(TimerKind.RENOTIFY, conditionUid));
+            }
+            if (staleTimeoutSeconds > 0) {
+                timers.stale = wheel.schedule(now + staleTimeoutSeconds * 1000, new Timer(TimerKind.STALE, conditionUid));
+            }
+            timers.expiry = wheel.schedule(now + TRACKING_TTL_MILLIS - EXPIRY_MARGIN_MILLIS, new Timer(TimerKind.EXPIRY, conditionUid));
+        }
+    }
+
+    public void onResolved(UUID conditionUid) {
+        if (!enabled) return;
+        ConditionTimers timers = timersByCondition.remove(conditionUid);
+        if (timers == null) return;
+        synchronized (timers) {
+            timers.cancelled = true;
+            wheel.cancel(timers.renotify);
+            wheel.cancel(timers.stale);
+            wheel.cancel(timers.expiry);
+        }
+        activityBySeries.computeIfPresent(timers.seriesKey, (key, activity) -> --activity.firing == 0 ? null : activity);
+    }
+
+    /**
+     * Raises {@link ConditionTimerEvent.Kind#SILENCED} for every condition of the alert timed
+     * here, i.e. firing on this instance's series. Their timers stay until the event resolves them.
+     *
+     * @return uids of those conditions
+     */
+    public Set<UUID> onAlertSilenced(UUID alertId) {
+        Set<UUID> timed = new HashSet<>();
+        if (!enabled) return timed;
+        for (ConditionTimers timers : timersByCondition.values()) {
+            if (!alertId.equals(timers.condition.getAlertId())) continue;
+            SeriesActivity activity = activityBySeries.get(timers.seriesKey);
+            if (activity == null) continue;
+            timed.add(timers.condition.getConditionUid());
+            eventPublisher.publishEvent(new ConditionTimerEvent(ConditionTimerEvent.Kind.SILENCED,
+                    timers.condition, timers.stationId, activity.lastReading));
+        }
+        return timed;
+    }
+
+    /**
+     * Cancels every timer and forgets all series activity.
+     */
+    public void clear() {
+        if (!enabled) return;
+        for (UUID conditionUid : timersByCondition.keySet()) {
+            onResolved(conditionUid);
+        }
+        activityBySeries.clear();
+        log.info("[clear] Condition timers cleared, {} still on the wheel", wheel.size());
+    }
+
+    public int timerCount() {
+        return wheel.size();
+    }
+
+    @Scheduled(fixedRateString = "${alert.timers.tick-ms:100}")
+    public void tick() {
+        if (!enabled) return;
+        long now = System.currentTimeMillis();
+        for (Timer timer : wheel.advance(now)) {
+            try {
+                fire(timer, now);
+            } catch (Exception e) {
+                log.error("[tick] Error handling {} timer conditionUid={}", timer.kind(), timer.conditionUid(), e);
+            }
+        }
+    }
+
+    private void fire(Timer timer, long now) {
+        ConditionTimers timers = timersByCondition.get(timer.conditionUid());
+        if (timers == null) return;
+        SeriesActivity activity = activityBySeries.get(timers.seriesKey);
+        if (activity == null) return;
+
+        ConditionTimerEvent.Kind event = null;
+        synchronized (timers) {
+            if (timers.cancelled) return;
+            switch (timer.kind()) {
+                case RENOTIFY -> {
+                    event = ConditionTimerEvent.Kind.RENOTIFY;
+                    timers.renotify = wheel.schedule(now + renotifyIntervalSeconds * 1000, timer);
+                }
+                case STALE -> {
+                    long staleTimeoutMillis = staleTimeoutSeconds * 1000;
+                    if (now - activity.lastSeenAt >= staleTimeoutMillis) {
+                        if (!timers.noDataSent) {
+                            timers.noDataSent = true;
+                            event = ConditionTimerEvent.Kind.NO_DATA;
+                        }
+                        timers.stale = wheel.schedule(now + staleTimeoutMillis, timer);
+                    } else {
+                        timers.noDataSent = false;
+                        timers.stale = wheel.schedule(activity.lastSeenAt + staleTimeoutMillis, timer);
+                    }
+                }
+                case EXPIRY -> {
+                    boolean reporting = activity.lastSeenAt > timers.lastCheckedAt;
+                    timers.lastCheckedAt = now;
+                    if (reporting) {
+                        event = ConditionTimerEvent.Kind.REFRESH;
+                        timers.expiry = wheel.schedule(now + TRACKING_TTL_MILLIS - EXPIRY_MARGIN_MILLIS, timer);
+                    } else {
+                        event = ConditionTimerEvent.Kind.EXPIRE;
+                    }
+                }
+            }
+        }
+        if (event != null) {
+            eventPublisher.publishEvent(new ConditionTimerEvent(event, timers.condition, timers.stationId, activity.lastReading));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.aquatech.alert.service;
+
+import com.aquatech.alert.dto.ProfilerReportDto;
+import com.aquatech.alert.engine.HeavyHitters;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Always-on profile of the evaluation path: heavy-hitter sketches of the busiest series, the
+ * most evaluated conditions and the most flapping ones (resolved within
+ * {@code flap-seconds} of firing). Readings and evaluations are sampled at
+ * {@code sample-rate}; flaps are rare and always counted.
+ */
+@Service
+@Slf4j
+public class EvaluationProfiler {
+    /** Most firing conditions whose start is remembered for flap detection at once. */
+    private static final int MAX_TRACKED_FIRING = 100_000;
+
+    private final boolean enabled;
+    private final int sampleRate;
+    private final long flapMillis;
+    private final HeavyHitters<Long> series;
+    private final HeavyHitters<UUID> conditions;
+    private final HeavyHitters<UUID> flapping;
+    /**
+     * Start of each recent firing edge. An edge older than the flap window can no longer end in
+     * a flap, so it expires then; resolutions that never arrive (revoked partitions, deleted
+     * alerts) cannot fill the map for good.
+     */
+    private final Cache<UUID, Long> firedAt;
+
+    public EvaluationProfiler(
+            @Value("${alert.profiler.enabled:true}") boolean enabled,
+            @Value("${alert.profiler.capacity:512}") int capacity,
+            @Value("${alert.profiler.sample-rate:8}") int sampleRate,
+            @Value("${alert.profiler.flap-seconds:300}") long flapSeconds
+    ) {
+        int stripes = 2 * Runtime.getRuntime().availableProcessors();
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+        this.flapMillis = flapSeconds * 1000;
+        this.series = new HeavyHitters<>(capacity, stripes, sampleRate);
+        this.conditions = new HeavyHitters<>(capacity, stripes, sampleRate);
+        this.flapping = new HeavyHitters<>(capacity, stripes, 1);
+        this.firedAt = Caffeine.newBuilder()
+                .maximumSize(MAX_TRACKED_FIRING)
+                .expireAfterWrite(Duration.ofSeconds(flapSeconds))
+                .build();
+        log.info("[EvaluationProfiler] enabled={} capacity={} sampleRate={}", enabled, capacity, sampleRate);
+    }
+
+    public void recordReading(Integer stationId, Integer metricId) {
+        if (!enabled) return;
+        series.add(SeriesStateService.seriesKey(stationId, metricId));
+    }
+
+    public void recordEvaluation(UUID conditionUid) {
+        if (!enabled) return;
+        conditions.add(conditionUid);
+    }
+
+    public void onFiring(UUID conditionUid) {
+        if (!enabled) return;
+        firedAt.put(conditionUid, System.currentTimeMillis());
+    }
+
+    public void onResolved(UUID conditionUid) {
+        if (!enabled) return;
+        Long since = firedAt.asMap().remove(conditionUid);
+        if (since != null && System.currentTimeMillis() - since < flapMillis) {
+            flapping.add(conditionUid);
+        }
+    }
+
+    public ProfilerReportDto getReport(int limit) {
+        return new ProfilerReportDto(series.total(), conditions.total(), flapping.total(), sampleRate,
+                hits(series, limit, key -> (int) (key >>> 32) + ":" + key.intValue()),
+                hits(conditions, limit, UUID::toString),
+                hits(flapping, limit, UUID::toString));
+    }
+
+    public void reset() {
+        series.clear();
+        conditions.clear();
+        flapping.clear();
+        log.info("[reset] Profiler sketches cleared");
+    }
+
+    private static <K> List<ProfilerReportDto.Hit> hits(HeavyHitters<K> sketch, int limit, Function<K, String> format) {
+        long total = sketch.total();
+        return sketch.top(limit).stream()
+                .map(estimate -> new ProfilerReportDto.Hit(format.apply(estimate.key()), estimate.count(),
+                        estimate.error(), total == 0 ? 0 : (double) estimate.count() / total))
+                .toList();
+    }
+}
@@ -0,0 +1,70 @@
+package com.aquatech.alert.service;
+
+import com.aquatech.alert.engine.FairScheduler;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs evaluation work for {@link KafkaService} on a {@link FairScheduler}, with one queue per
+ * station or per user ({@code alert.scheduler.tenant}). Weights are given as a comma separated
+ * list such as {@code station:12=4,user:7=2}; unlisted tenants weigh 1.
+ */
+@Service
+@Slf4j
+public class EvaluationScheduler {
+    private static final String TENANT_USER = "user";
+
+    private final FairScheduler scheduler;
+    private final boolean byUser;
+
+    public EvaluationScheduler(
+            @Value("${alert.scheduler.workers:4}") int workers,
+            @Value("${alert.scheduler.quantum:8}") int quantum,
+            @Value("${alert.scheduler.max-in-flight-per-tenant:2}") int maxInFlightPerTenant,
+            @Value("${alert.scheduler.tenant:station}") String tenant,
+            @Value("${alert.scheduler.weights:}") String weights
+    ) {
+        Map<String, Integer> weightByTenant = parseWeights(weights);
+        this.byUser = TENANT_USER.equals(tenant);
+        this.scheduler = new FairScheduler(workers, quantum, maxInFlightPerTenant,
+                key -> weightByTenant.getOrDefault(key, 1), "alert-eval-");
+        log.info("[EvaluationScheduler] workers={} tenant={} weights={}", workers, tenant, weightByTenant);
+    }
+
+    /**
+     * @param userId owner of the condition, or null when it is not known yet; the station's
+     *               queue is used in that case even when scheduling by user
+     */
+    public void submit(Integer stationId, Integer userId, Runnable task) {
+        String tenant = byUser && userId != null ? "user:" + userId : "station:" + stationId;
+        scheduler.submit(tenant, task);
+    }
+
+    public List<FairScheduler.TenantStats> getQueueStats() {
+        return scheduler.snapshot();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.close();
+    }
+
+    private static Map<String, Integer> parseWeights(String weights) {
+        Map<String, Integer> weightByTenant = new HashMap<>();
+        if (weights == null || weights.isBlank()) return weightByTenant;
+        for (String entry : weights.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid scheduler weight: " + entry);
+            }
+            weightByTenant.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        return weightByTenant;
+    }
+}
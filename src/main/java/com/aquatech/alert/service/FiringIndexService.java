@@ -0,0 +1,294 @@
+package com.aquatech.alert.service;
+
+import com.aquatech.alert.constant.RedisConstant;
+import com.aquatech.alert.entity.Alert;
+import com.aquatech.alert.model.AlertChangeMessage;
+import com.aquatech.alert.model.AlertCondition;
+import com.aquatech.alert.model.CachedCondition;
+import com.aquatech.alert.model.FiringCondition;
+import com.aquatech.alert.model.SensorData;
+import com.aquatech.alert.repository.AlertRepository;
+import com.aquatech.alert.utils.CacheUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Which conditions are firing right now, indexed per user and per station
+ * (see {@link CacheUtils#buildFiringUserKey}, {@link CacheUtils#buildFiringStationKey}).
+ * Entries are written at transition time, behind the evaluation path like tracking state, so a
+ * lookup is one HGETALL of the answer. Firing state older than the tracking duration counts as
+ * resolved, so such entries are skipped and removed when read. A condition that keeps firing is
+ * refreshed along with its tracking state: the entry keeps its {@code since} and records the
+ * refresh time, which is what the age is measured from.
+ * <p>
+ * Only alerts that are active and not silenced are listed: an alert change that deactivates or
+ * silences an alert drops its fields right away, and entries of alerts no longer in the active
+ * set (deleted ones, whose fields are not known by then) are removed when read. Entries of
+ * stations under maintenance are hidden, not removed, while the window lasts.
+ */
+@Service
+@Slf4j
+public class FiringIndexService {
+    private static final long TRACKING_TTL_MILLIS = Duration.ofHours(RedisConstant.TRACKING_DURATION_HOURS).toMillis();
+
+    /**
+     * A firing edge carries the entry to index, a refresh only its {@code refreshedAt}; a
+     * resolved edge has neither. A flush keeps the change with the highest {@code sequence} per
+     * condition, so a retried one never overrides a later one.
+     */
+    private record Change(UUID conditionUid, Integer userId, Integer stationId, FiringCondition entry,
+                          long refreshedAt, long sequence) {
+        boolean isRefresh() {
+            return entry == null && refreshedAt > 0;
+        }
+    }
+
+    @Autowired
+    private RedisTemplate<String, String> customStringRedisTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RedisCircuitBreaker redisCircuitBreaker;
+
+    @Autowired
+    private AlertRepository alertRepository;
+
+    @Autowired
+    private MaintenanceService maintenanceService;
+
+    private final Queue<Change> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Set<UUID> listedAlertIds = ConcurrentHashMap.newKeySet();
+    private volatile boolean alertsLoaded;
+
+    @PostConstruct
+    public void loadAlerts() {
+        try {
+            Set<UUID> listed = new HashSet<>();
+            for (Alert alert : alertRepository.getAllActiveAlerts()) {
+                if (isListed(alert)) listed.add(alert.getUid());
+            }
+            listedAlertIds.addAll(listed);
+            listedAlertIds.retainAll(listed);
+            alertsLoaded = true;
+        } catch (Exception e) {
+            log.error("[loadAlerts] Error loading active alerts", e);
+        }
+    }
+
+    @Scheduled(fixedRate = 60 * 60 * 1000, initialDelay = 60 * 60 * 1000)
+    public void scheduledReload() {
+        loadAlerts();
+    }
+
+    @EventListener
+    public void onAlertChanged(AlertChangeMessage change) {
+        if (change.getAlertId() == null) return;
+        try {
+            Optional<Alert> alert = alertRepository.findById(change.getAlertId());
+            if (alert.isPresent() && isListed(alert.get())) {
+                listedAlertIds.add(change.getAlertId());
+                return;
+            }
+            listedAlertIds.remove(change.getAlertId());
+            alert.ifPresent(this::dropFields);
+        } catch (Exception e) {
+            log.error("[onAlertChanged] Error refreshing firing index. alertId={}", change.getAlertId(), e);
+        }
+    }
+
+    public void onFiring(CachedCondition condition, SensorData sensorData, double value) {
+        FiringCondition entry = new FiringCondition(condition.getAlertId(), condition.getAlertName(),
+                condition.getConditionUid(), sensorData.getStationId(), condition.getUserId(), condition.getSeverity(),
+                sensorData.getSensorId(), sensorData.getMetric(), condition.getOperator(), condition.getThreshold(),
+                condition.getThresholdMin(), condition.getThresholdMax(), value, System.currentTimeMillis(), null);
+        pending.add(change(condition.getConditionUid(), condition.getUserId(), sensorData.getStationId(), entry, 0L));
+    }
+
+    /**
+     * Records that a firing condition's tracking state was refreshed, so its entry outlives the
+     * tracking duration for as long as the condition keeps firing.
+     */
+    public void onRefreshed(CachedCondition condition, Integer stationId) {
+        pending.add(change(condition.getConditionUid(), condition.getUserId(), stationId, null, System.currentTimeMillis()));
+    }
+
+    public void onResolved(CachedCondition condition, Integer stationId) {
+        pending.add(change(condition.getConditionUid(), condition.getUserId(), stationId, null, 0L));
+    }
+
+    public List<FiringCondition> getFiringByUserId(Integer userId) {
+        if (userId == null) {
+            throw new IllegalArgumentException("User ID must be provided");
+        }
+        return read(CacheUtils.buildFiringUserKey(userId));
+    }
+
+    public List<FiringCondition> getFiringByStationId(Integer stationId) {
+        if (stationId == null) {
+            throw new IllegalArgumentException("Station ID must be provided");
+        }
+        return read(CacheUtils.buildFiringStationKey(stationId));
+    }
+
+    @Scheduled(fixedDelayString = "${alert.tracking.flush-interval-ms:500}")
+    public synchronized void flush() {
+        // Changes stay queued while Redis is unavailable.
+        if (!redisCircuitBreaker.isAvailable()) return;
+        Map<UUID, Change> latest = new LinkedHashMap<>();
+        Change change;
+        while ((change = pending.poll()) != null) {
+            latest.merge(change.conditionUid(), change, FiringIndexService::newer);
+        }
+        if (latest.isEmpty()) return;
+
+        try {
+            writeChanges(latest.values());
+        } catch (Exception e) {
+            // Requeued as they are; the newest change per condition still wins by sequence.
+            latest.values().forEach(pending::add);
+            log.error("[flush] Failed to write {} firing index changes, will retry", latest.size(), e);
+        }
+    }
+
+    /**
+     * Keeps the later of two changes; a refresh following a firing edge is folded into the
+     * edge's entry, since there is no indexed entry yet for the refresh to update.
+     */
+    private static Change newer(Change a, Change b) {
+        Change later = a.sequence() > b.sequence() ? a : b;
+        Change earlier = later == a ? b : a;
+        if (later.isRefresh() && earlier.entry() != null) {
+            earlier.entry().setRefreshedAt(later.refreshedAt());
+            return new Change(earlier.conditionUid(), earlier.userId(), earlier.stationId(), earlier.entry(),
+                    0L, later.sequence());
+        }
+        return later;
+    }
+
+    private void writeChanges(Collection<Change> changes) throws Exception {
+        RedisSerializer<String> serializer = customStringRedisTemplate.getStringSerializer();
+        Map<Change, FiringCondition> refreshed = readRefreshed(changes);
+        List<byte[]> values = new ArrayList<>(changes.size());
+        for (Change change : changes) {
+            FiringCondition entry = change.isRefresh() ? refreshed.get(change) : change.entry();
+            values.add(entry == null ? null : serializer.serialize(objectMapper.writeValueAsString(entry)));
+        }
+        customStringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            int i = 0;
+            for (Change change : changes) {
+                byte[] field = serializer.serialize(change.conditionUid().toString());
+                byte[] value = values.get(i++);
+                // A refresh whose entry is gone (resolved or dropped meanwhile) writes nothing.
+                if (value == null && change.isRefresh()) continue;
+                List<byte[]> keys = new ArrayList<>(2);
+                keys.add(serializer.serialize(CacheUtils.buildFiringStationKey(change.stationId())));
+                if (change.userId() != null) {
+                    keys.add(serializer.serialize(CacheUtils.buildFiringUserKey(change.userId())));
+                }
+                for (byte[] key : keys) {
+                    if (value == null) {
+                        connection.hashCommands().hDel(key, field);
+                    } else {
+                        connection.hashCommands().hSet(key, field, value);
+                        connection.keyCommands().pExpire(key, TRACKING_TTL_MILLIS);
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Reads the indexed entries the refreshes apply to from the station hashes, with the
+     * refresh time set.
+     */
+    private Map<Change, FiringCondition> readRefreshed(Collection<Change> changes) throws Exception {
+        List<Change> refreshes = changes.stream().filter(Change::isRefresh).toList();
+        if (refreshes.isEmpty()) return Map.of();
+        RedisSerializer<String> serializer = customStringRedisTemplate.getStringSerializer();
+        List<Object> values = customStringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Change change : refreshes) {
+                connection.hashCommands().hGet(serializer.serialize(CacheUtils.buildFiringStationKey(change.stationId())),
+                        serializer.serialize(change.conditionUid().toString()));
+            }
+            return null;
+        });
+        Map<Change, FiringCondition> refreshed = new HashMap<>();
+        for (int i = 0; i < refreshes.size(); i++) {
+            if (!(values.get(i) instanceof String value)) continue;
+            FiringCondition entry = objectMapper.readValue(value, FiringCondition.class);
+            entry.setRefreshedAt(refreshes.get(i).refreshedAt());
+            refreshed.put(refreshes.get(i), entry);
+        }
+        return refreshed;
+    }
+
+    private Change change(UUID conditionUid, Integer userId, Integer stationId, FiringCondition entry, long refreshedAt) {
+        return new Change(conditionUid, userId, stationId, entry, refreshedAt, sequence.incrementAndGet());
+    }
+
+    private static boolean isListed(Alert alert) {
+        return "active".equals(alert.getStatus()) && !CacheUtils.isSilenced(alert);
+    }
+
+    /**
+     * Queues the removal of every field the alert may have in the station and user hashes.
+     */
+    private void dropFields(Alert alert) {
+        if (alert.getStationId() == null) return;
+        List<UUID> conditionUids = new ArrayList<>();
+        if (alert.getConditions() != null) {
+            alert.getConditions().stream().map(AlertCondition::getUid).filter(Objects::nonNull).forEach(conditionUids::add);
+        }
+        if (alert.getRule() != null && alert.getRule().getUid() != null) {
+            conditionUids.add(alert.getRule().getUid());
+        }
+        conditionUids.forEach(uid -> pending.add(change(uid, alert.getUserId(), alert.getStationId(), null, 0L)));
+    }
+
+    private List<FiringCondition> read(String key) {
+        Map<Object, Object> fields = customStringRedisTemplate.opsForHash().entries(key);
+        long now = System.currentTimeMillis();
+        LocalDateTime at = LocalDateTime.now();
+        List<FiringCondition> firing = new ArrayList<>(fields.size());
+        List<Object> stale = new ArrayList<>();
+        fields.forEach((field, value) -> {
+            try {
+                FiringCondition entry = objectMapper.readValue((String) value, FiringCondition.class);
+                Long lastSeen = entry.getRefreshedAt() != null ? entry.getRefreshedAt() : entry.getSince();
+                if (lastSeen == null || now - lastSeen >= TRACKING_TTL_MILLIS
+                        || (alertsLoaded && (entry.getAlertId() == null || !listedAlertIds.contains(entry.getAlertId())))) {
+                    stale.add(field);
+                } else if (!maintenanceService.isSuppressed(entry.getStationId(), at)) {
+                    firing.add(entry);
+                }
+            } catch (Exception e) {
+                log.warn("[read] Skip malformed firing entry key={} field={}", key, field);
+                stale.add(field);
+            }
+        });
+        if (!stale.isEmpty()) {
+            customStringRedisTemplate.opsForHash().delete(key, stale.toArray());
+        }
+        firing.sort(Comparator.comparing(FiringCondition::getSince).reversed());
+        return firing;
+    }
+}
@@ -1,163 +1,508 @@
 package com.aquatech.alert.service;
 
 import com.aquatech.alert.constant.AlertConstant;
-import com.aquatech.alert.constant.OperatorConstant;
-import com.aquatech.alert.constant.RedisConstant;
+import com.aquatech.alert.engine.ConditionColumns;
+import com.aquatech.alert.engine.KeyOrderedExecutor;
+import com.aquatech.alert.engine.ThresholdKernel;
+import com.aquatech.alert.entity.Alert;
+import com.aquatech.alert.model.AlertChangeMessage;
+import com.aquatech.alert.model.AlertCondition;
 import com.aquatech.alert.model.AlertNotification;
+import com.aquatech.alert.model.CachedCondition;
+import com.aquatech.alert.model.ConditionTimerEvent;
 import com.aquatech.alert.model.SensorData;
+import com.aquatech.alert.repository.AlertRepository;
 import com.aquatech.alert.utils.CacheUtils;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
 import org.redisson.api.RLock;
 import org.redisson.api.RedissonClient;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.context.event.EventListener;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Service
 @Slf4j
-public class KafkaService {
+public class KafkaService implements ConsumerSeekAware {
 
     @Value("${kafka.message-topic}")
     private String alertNotificationTopic;
 
     @Autowired private KafkaTemplate<String, String> kafkaTemplate;
     @Autowired private ObjectMapper objectMapper;
-    @Autowired private RedisTemplate<String, Object> redisTemplate;
-    @Autowired private RedisTemplate<String, String> customStringRedisTemplate;
     @Autowired private RedissonClient redissonClient;
-    private final ExecutorService executorService = Executors.newFixedThreadPool(4);
+    @Autowired private SeriesConditionSource seriesConditionSource;
+    @Autowired private TrackingStateService trackingStateService;
+    @Autowired private SeriesStateService seriesStateService;
+    @Autowired private CompositeRuleRegistry compositeRuleRegistry;
+    @Autowired private SeriesConditionCache seriesConditionCache;
+    @Autowired private MaintenanceService maintenanceService;
+    @Autowired private EvaluationScheduler evaluationScheduler;
+    @Autowired private AlertEventService alertEventService;
+    @Autowired private FiringIndexService firingIndexService;
+    @Autowired private AlertStreamService alertStreamService;
+    @Autowired private ConditionTimerService conditionTimerService;
+    @Autowired private EvaluationProfiler evaluationProfiler;
+    @Autowired private RedisCircuitBreaker redisCircuitBreaker;
+    @Autowired private AlertRepository alertRepository;
+    @Autowired(required = false) private AsyncCacheService asyncCacheService;
+    @Autowired(required = false) private OffHeapConditionService offHeapConditionService;
+    @Autowired(required = false) private NotificationDigestService notificationDigestService;
+    private static final String MODE_KEY_ORDERED = "key-ordered";
 
+    private final Semaphore asyncPermits;
+    private final ThresholdKernel thresholdKernel;
+    /** Null in record mode, where each reading is evaluated on the consumer thread. */
+    private final KeyOrderedExecutor keyOrderedExecutor;
+    private final Semaphore recordPermits;
+    private final long revokeDrainMillis;
+    /** Tracking locks used instead of the Redisson lock while Redis is unavailable. */
+    private final ReentrantLock[] localTrackingLocks = new ReentrantLock[256];
+
+    public KafkaService(@Value("${alert.evaluation.async-max-in-flight:10000}") int asyncMaxInFlight,
+                        @Value("${alert.evaluation.vector-kernel:true}") boolean vectorKernel,
+                        @Value("${alert.consumer.mode:record}") String consumerMode,
+                        @Value("${alert.consumer.lanes:8}") int lanes,
+                        @Value("${alert.consumer.max-in-flight:10000}") int maxInFlightRecords,
+                        @Value("${alert.consumer.revoke-drain-ms:10000}") long revokeDrainMillis) {
+        this.asyncPermits = new Semaphore(asyncMaxInFlight);
+        this.keyOrderedExecutor = MODE_KEY_ORDERED.equals(consumerMode) ? new KeyOrderedExecutor(lanes, "alert-lane-") : null;
+        this.recordPermits = new Semaphore(maxInFlightRecords);
+        this.revokeDrainMillis = revokeDrainMillis;
+        this.thresholdKernel = ThresholdKernel.create(vectorKernel);
+        for (int i = 0; i < localTrackingLocks.length; i++) {
+            localTrackingLocks[i] = new ReentrantLock();
+        }
+        log.info("[KafkaService] Threshold kernel: {} consumer mode: {}", thresholdKernel.getClass().getSimpleName(), consumerMode);
+    }
+
+    /**
+     * Tracking state is rebuilt from Redis whenever partitions are (re)assigned, which also
+     * covers startup, so transitions written behind by the previous owner are picked up.
+     */
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        trackingStateService.reload();
+    }
+
+    /**
+     * Key-ordered mode: lets in-flight readings finish so their offsets are acknowledged before
+     * the partitions move. Readings still running after the drain timeout are redelivered to
+     * the new owner. In both modes condition timers are then dropped, so this instance no longer
+     * re-notifies, reports missing data or expires conditions whose series moved away.
+     */
+    @Override
+    public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+        if (partitions.isEmpty()) return;
+        if (keyOrderedExecutor != null) {
+            try {
+                if (!keyOrderedExecutor.awaitIdle(revokeDrainMillis)) {
+                    log.warn("[onPartitionsRevoked] {} readings still in flight after {}ms", keyOrderedExecutor.pending(), revokeDrainMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        conditionTimerService.clear();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (keyOrderedExecutor != null) keyOrderedExecutor.close();
+    }
+
+    /**
+     * Readings of a silenced, deactivated or deleted alert are no longer evaluated, so none
+     * would resolve its firing conditions. The instance timing such a condition resolves it
+     * like an expiry, RESOLVED included; tracking that no instance times (loaded from Redis
+     * after a restart or rebalance) is cleared without a notification.
+     */
+    @EventListener
+    public void onAlertChanged(AlertChangeMessage change) {
+        if (change.getAlertId() == null) return;
+        try {
+            Optional<Alert> alert = alertRepository.findById(change.getAlertId());
+            if (alert.isPresent() && "active".equals(alert.get().getStatus()) && !CacheUtils.isSilenced(alert.get())) {
+                return;
+            }
+            Set<UUID> timed = conditionTimerService.onAlertSilenced(change.getAlertId());
+            alert.ifPresent(silenced -> clearUntimedTracking(silenced, timed));
+        } catch (Exception e) {
+            log.error("[onAlertChanged] Error resolving silenced conditions. alertId={}", change.getAlertId(), e);
+        }
+    }
+
+    private void clearUntimedTracking(Alert alert, Set<UUID> timed) {
+        if (alert.getStationId() == null) return;
+        List<UUID> conditionUids = new ArrayList<>();
+        if (alert.getConditions() != null) {
+            alert.getConditions().stream().map(AlertCondition::getUid).filter(Objects::nonNull).forEach(conditionUids::add);
+        }
+        if (alert.getRule() != null && alert.getRule().getUid() != null) {
+            conditionUids.add(alert.getRule().getUid());
+        }
+        for (UUID conditionUid : conditionUids) {
+            if (timed.contains(conditionUid) || !trackingStateService.isFiring(conditionUid, alert.getStationId())) continue;
+            trackingStateService.markResolved(conditionUid, alert.getStationId());
+        }
+    }
+
+    /**
+     * In key-ordered mode ({@code alert.consumer.mode}) readings of a partition are evaluated in
+     * parallel on {@link KeyOrderedExecutor} lanes keyed by (station, metric), so a series is
+     * still evaluated in offset order, including its transitions. Each reading is acknowledged
+     * once evaluated; with async acks the container commits only up to the lowest offset not
+     * yet acknowledged.
+     */
     @KafkaListener(
             topics = "${kafka.alert-topic}",
             groupId = "${spring.kafka.consumer.group-id}"
     )
-    public void consumeSensorData(String messagePayload) {
-        SensorData sensorData = null;
+    public void consumeSensorData(String messagePayload, Acknowledgment acknowledgment) {
+        SensorData sensorData;
         try {
             sensorData = objectMapper.readValue(messagePayload, SensorData.class);
         //    log.debug("[consumeSensorData] stationId={} sensorId={} metric={} value={} unit={} datetime={}",
         //            sensorData.getStationId(), sensorData.getSensorId(), sensorData.getMetric(), sensorData.getValue(), sensorData.getUnit(), sensorData.getDatetime());
+        } catch (Exception ex) {
+            log.error("[consumeSensorData] Parse error. payload={}", messagePayload, ex);
+            acknowledgment.acknowledge();
+            return;
+        }
+        if (keyOrderedExecutor == null) {
+            evaluateReading(sensorData, messagePayload);
+            acknowledgment.acknowledge();
+            return;
+        }
+
+        try {
+            recordPermits.acquire();
+        } catch (InterruptedException ie) {
+            // Left unacknowledged, so it is redelivered.
+            Thread.currentThread().interrupt();
+            return;
+        }
+        long key = sensorData.getStationId() == null || sensorData.getSensorId() == null
+                ? 0 : SeriesStateService.seriesKey(sensorData.getStationId(), sensorData.getSensorId());
+        keyOrderedExecutor.execute(key, () -> {
+            try {
+                evaluateReading(sensorData, messagePayload);
+            } finally {
+                recordPermits.release();
+                acknowledgment.acknowledge();
+            }
+        });
+    }
+
+    private void evaluateReading(SensorData sensorData, String messagePayload) {
+        try {
             evaluateSensorData(sensorData);
         } catch (Exception ex) {
-            log.error("[consumeSensorData] Parse or processing error. payload={}", messagePayload, ex);
+            log.error("[consumeSensorData] Processing error. payload={}", messagePayload, ex);
         }
     }
 
     private void evaluateSensorData(SensorData sensorData) {
-        String indexKey = CacheUtils.buildIndexKey(sensorData.getStationId(), sensorData.getSensorId());
-        Set<String> cacheKeys = customStringRedisTemplate.opsForSet().members(indexKey);
-        if (cacheKeys == null || cacheKeys.isEmpty()) {
-            log.trace("[evaluateSensorData] No conditions for indexKey={}", indexKey);
+        // Stamped before the maintenance check so a station under maintenance does not look silent.
+        conditionTimerService.touch(sensorData);
+        // Stations under maintenance are dropped before any lookup, state update or publish.
+        if (maintenanceService.isSuppressed(sensorData.getStationId(), sensorData.getDatetime())) {
+            return;
+        }
+        evaluationProfiler.recordReading(sensorData.getStationId(), sensorData.getSensorId());
+        // Recorded, and stateful conditions evaluated, on the consumer thread in arrival order;
+        // the outcome travels with the reading to wherever its conditions are evaluated.
+        SeriesStateService.Outcome outcome = seriesStateService.record(sensorData);
+        evaluateCompositeRules(sensorData);
+        if (offHeapConditionService != null) {
+            evaluateColumns(offHeapConditionService.getColumns(sensorData.getStationId(), sensorData.getSensorId()),
+                    sensorData, outcome);
+            return;
+        }
+        // Cached columns, or in degraded mode (breaker open) the last snapshot of the series.
+        ConditionColumns local = seriesConditionSource.getLocal(sensorData.getStationId(), sensorData.getSensorId());
+        if (local != null) {
+            evaluateColumns(local, sensorData, outcome);
+            return;
+        }
+        // Degraded mode: a series never fetched since startup waits until Redis is back.
+        if (!redisCircuitBreaker.isAvailable()) return;
+        if (asyncCacheService != null) {
+            evaluateSensorDataAsync(sensorData, outcome);
+            return;
+        }
+        // Blocking variant, on the consumer thread.
+        evaluateColumns(seriesConditionSource.fetch(sensorData.getStationId(), sensorData.getSensorId()), sensorData, outcome);
+    }
+
+    /**
+     * Non-blocking variant: the index and the conditions are fetched without parking a thread,
+     * cached as columns for the next readings, and tracking state is read from memory. Only readings that flip a condition's state are
+     * handed to the evaluation scheduler, where the lock and the tracking update still run synchronously.
+     */
+    private void evaluateSensorDataAsync(SensorData sensorData, SeriesStateService.Outcome outcome) {
+        try {
+            asyncPermits.acquire();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
             return;
         }
 
+        long generation = seriesConditionCache.generation();
+        long startedAt = System.nanoTime();
+        CompletionStage<ConditionColumns> fetched = asyncCacheService.getConditions(sensorData.getStationId(), sensorData.getSensorId())
+                .whenComplete((conditions, ex) -> redisCircuitBreaker.record(ex == null, System.nanoTime() - startedAt))
+                .thenApply(conditions -> {
+                    ConditionColumns columns = ConditionColumns.of(conditions);
+                    seriesConditionCache.put(sensorData.getStationId(), sensorData.getSensorId(), columns, generation);
+                    return columns;
+                });
+        if (KeyOrderedExecutor.isLaneThread()) {
+            // Finished on the lane so the series' next reading sees this one's transitions.
+            try {
+                evaluateColumns(fetched.toCompletableFuture().join(), sensorData, outcome);
+            } catch (CompletionException ex) {
+                log.error("[evaluateSensorDataAsync] Error for stationId={} metricId={}",
+                        sensorData.getStationId(), sensorData.getSensorId(), ex.getCause());
+            } finally {
+                asyncPermits.release();
+            }
+            return;
+        }
+        fetched.thenAccept(columns -> evaluateColumns(columns, sensorData, outcome))
+                .whenComplete((ignored, ex) -> {
+                    asyncPermits.release();
+                    if (ex != null) {
+                        log.error("[evaluateSensorDataAsync] Error for stationId={} metricId={}",
+                                sensorData.getStationId(), sensorData.getSensorId(), ex);
+                    }
+                });
+    }
+
+    /**
+     * Evaluates all plain threshold conditions of the series in one kernel pass and the rest
+     * one by one; only conditions whose state flips go to the evaluation scheduler.
+     */
+    private void evaluateColumns(ConditionColumns columns, SensorData sensorData, SeriesStateService.Outcome outcome) {
+        if (columns.size() == 0) return;
         double currentValue = sensorData.getValue();
-        for (String cacheKey : cacheKeys) {
-            executorService.submit(() -> processCacheKey(cacheKey, currentValue, sensorData));
+        long[] met = thresholdKernel.evaluate(columns, currentValue);
+        for (int i = 0; i < columns.size(); i++) {
+            UUID conditionUid = columns.conditionUid(i);
+            evaluationProfiler.recordEvaluation(conditionUid);
+            boolean isMet = columns.isGeneral(i)
+                    ? seriesStateService.evaluate(columns.condition(i), outcome, sensorData, currentValue)
+                    : ConditionColumns.isSet(met, i);
+            if (isMet != trackingStateService.isFiring(conditionUid, sensorData.getStationId())) {
+                // Off-heap columns decode the condition only here, once it flips.
+                CachedCondition condition = columns.condition(i);
+                dispatch(sensorData.getStationId(), condition.getUserId(),
+                        () -> applyTransition(condition, isMet, currentValue, sensorData));
+            }
         }
-//
-    //    log.info("[evaluateSensorData] Submitted {}/{} cacheKeys for async processing for indexKey={}",
-    //            cacheKeys.size(), cacheKeys.size(), indexKey);
     }
 
-    private void processCacheKey(String cacheKey, double currentValue, SensorData sensorData) {
-        try {
-            String jsonValue = customStringRedisTemplate.opsForValue().get(cacheKey);
+    /**
+     * Re-evaluates the composite rules that refer to this reading's series. Other operands are
+     * read from the local latest-value table, so this needs no Redis round trip.
+     */
+    private void evaluateCompositeRules(SensorData sensorData) {
+        long timestamp = SeriesStateService.timestampOf(sensorData);
+        double currentValue = sensorData.getValue();
+        for (CompositeRuleRegistry.CompiledRule rule : compositeRuleRegistry.record(sensorData, timestamp)) {
+            evaluationProfiler.recordEvaluation(rule.condition().getConditionUid());
+            boolean isMet = compositeRuleRegistry.evaluate(rule, timestamp);
+            if (isMet != trackingStateService.isFiring(rule.condition().getConditionUid(), sensorData.getStationId())) {
+                dispatch(sensorData.getStationId(), rule.condition().getUserId(),
+                        () -> applyTransition(rule.condition(), isMet, currentValue, sensorData));
+            }
+        }
+    }
 
-            if (jsonValue == null) {
+    /**
+     * Follow-up work of a reading runs inline on a key-ordered lane, keeping the series' order;
+     * otherwise it goes to the evaluation scheduler.
+     */
+    private void dispatch(Integer stationId, Integer userId, Runnable task) {
+        if (KeyOrderedExecutor.isLaneThread()) {
+            task.run();
+        } else {
+            evaluationScheduler.submit(stationId, userId, task);
+        }
+    }
+
+    private void applyTransition(CachedCondition condition, boolean isMet, double currentValue, SensorData sensorData) {
+        UUID conditionUid = condition.getConditionUid();
+        Lock trackingLock = null;
+        try {
+            trackingLock = lockTracking(conditionUid);
+            if (trackingLock == null) {
+                log.warn("[applyTransition] Could not acquire lock for conditionUid={} within 1s", conditionUid);
                 return;
             }
 
-            Map<String, Object> conditionMap = objectMapper.readValue(
-                    jsonValue, new TypeReference<>() {}
-            );
-            String conditionUid = (String) conditionMap.get(RedisConstant.KEY_CONDITION_UID);
-
-            boolean isMet = evaluateCondition(
-                    (String) conditionMap.get(RedisConstant.KEY_OPERATOR),
-                    currentValue,
-                    toDouble(conditionMap.get(RedisConstant.KEY_THRESHOLD)),
-                    toDouble(conditionMap.get(RedisConstant.KEY_THRESHOLD_MIN)),
-                    toDouble(conditionMap.get(RedisConstant.KEY_THRESHOLD_MAX))
-            );
-
-            RLock trackingLock = redissonClient.getLock("lock:tracking:" + conditionUid);
-            boolean locked = false;
-            try {
-                locked = trackingLock.tryLock(1, 5, TimeUnit.MINUTES);
-                if (!locked) {
-                    log.warn("[processCacheKey] Could not acquire lock for conditionUid={} within 1s", conditionUid);
-                    return;
-                }
+            // Re-check under the lock: another reading may have applied the same transition.
+            boolean trackingExists = trackingStateService.isFiring(conditionUid, sensorData.getStationId());
 
-                String trackingKey = RedisConstant.TRACKING_PREFIX + conditionUid;
-                boolean trackingExists = redisTemplate.hasKey(trackingKey);
-
-                if (isMet && !trackingExists) {
-                    // log.info("[processCacheKey] Condition met for conditionUid={} cacheKey={} value={}",
-                    //         conditionUid, cacheKey, currentValue);
-                    publishNotification(conditionMap, sensorData, currentValue, AlertConstant.TYPE_ALERT);
-                    redisTemplate.opsForValue().set(
-                            trackingKey,
-                            "1",
-                            Duration.ofHours(RedisConstant.TRACKING_DURATION_HOURS)
-                    );
-                } else if (!isMet && trackingExists) {
-                    publishNotification(conditionMap, sensorData, currentValue, AlertConstant.TYPE_RESOLVED);
-                    redisTemplate.delete(trackingKey);
-                }
+            if (isMet && !trackingExists) {
+                // log.info("[applyTransition] Condition met for conditionUid={} value={}",
+                //         conditionUid, currentValue);
+                publishNotification(condition, sensorData, currentValue, AlertConstant.TYPE_ALERT);
+                trackingStateService.markFiring(conditionUid, sensorData.getStationId());
+                firingIndexService.onFiring(condition, sensorData, currentValue);
+                conditionTimerService.onFiring(condition, sensorData);
+                evaluationProfiler.onFiring(conditionUid);
+            } else if (!isMet && trackingExists) {
+                publishNotification(condition, sensorData, currentValue, AlertConstant.TYPE_RESOLVED);
+                trackingStateService.markResolved(conditionUid, sensorData.getStationId());
+                firingIndexService.onResolved(condition, sensorData.getStationId());
+                conditionTimerService.onResolved(conditionUid);
+                evaluationProfiler.onResolved(conditionUid);
+            }
 
-            } catch (InterruptedException ie) {
-                Thread.currentThread().interrupt();
-                log.error("[processCacheKey] Interrupted while waiting for lock conditionUid={}", conditionUid, ie);
-            } catch (Exception e) {
-                log.error("[processCacheKey] Error processing cacheKey={}", cacheKey, e);
-            } finally {
-                if (locked && trackingLock.isHeldByCurrentThread()) {
-                    trackingLock.unlock();
-                }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            log.error("[applyTransition] Interrupted while waiting for lock conditionUid={}", conditionUid, ie);
+        } catch (Exception e) {
+            log.error("[applyTransition] Error processing conditionUid={}", conditionUid, e);
+        } finally {
+            unlockTracking(trackingLock, conditionUid);
+        }
+    }
+
+    @EventListener
+    public void onConditionTimer(ConditionTimerEvent event) {
+        evaluationScheduler.submit(event.getStationId(), event.getCondition().getUserId(), () -> applyTimer(event));
+    }
+
+    /**
+     * Re-notification and "no data" only go out while the condition is still firing and its
+     * station is not under maintenance. Expiry checks and silenced alerts take the tracking lock
+     * like a transition.
+     */
+    private void applyTimer(ConditionTimerEvent event) {
+        CachedCondition condition = event.getCondition();
+        UUID conditionUid = condition.getConditionUid();
+        SensorData lastReading = event.getLastReading();
+        if (event.getKind() == ConditionTimerEvent.Kind.RENOTIFY || event.getKind() == ConditionTimerEvent.Kind.NO_DATA) {
+            if (!trackingStateService.isFiring(conditionUid, event.getStationId())
+                    || maintenanceService.isSuppressed(event.getStationId(), LocalDateTime.now())) {
+                return;
             }
+            publishNotification(condition, lastReading, lastReading.getValue(),
+                    event.getKind() == ConditionTimerEvent.Kind.RENOTIFY ? AlertConstant.TYPE_RENOTIFY : AlertConstant.TYPE_NO_DATA);
+            return;
+        }
+
+        Lock trackingLock = null;
+        try {
+            trackingLock = lockTracking(conditionUid);
+            if (trackingLock == null || !trackingStateService.isFiring(conditionUid, event.getStationId())) return;
+
+            if (event.getKind() == ConditionTimerEvent.Kind.REFRESH) {
+                trackingStateService.markFiring(conditionUid, event.getStationId());
+                firingIndexService.onRefreshed(condition, event.getStationId());
+            } else {
+                publishNotification(condition, lastReading, lastReading.getValue(), AlertConstant.TYPE_RESOLVED);
+                trackingStateService.markResolved(conditionUid, event.getStationId());
+                firingIndexService.onResolved(condition, event.getStationId());
+                conditionTimerService.onResolved(conditionUid);
+                evaluationProfiler.onResolved(conditionUid);
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            log.error("[applyTimer] Interrupted while waiting for lock conditionUid={}", conditionUid, ie);
+        } catch (Exception e) {
+            log.error("[applyTimer] Error processing {} for conditionUid={}", event.getKind(), conditionUid, e);
+        } finally {
+            unlockTracking(trackingLock, conditionUid);
+        }
+    }
+
+    /**
+     * The Redisson tracking lock while Redis is available, otherwise a local lock striped by
+     * condition, so transitions keep flowing in degraded mode (exclusive within this instance
+     * only). Returns null if the lock was not acquired within 1s.
+     */
+    private Lock lockTracking(UUID conditionUid) throws InterruptedException {
+        if (!redisCircuitBreaker.isAvailable()) {
+            ReentrantLock lock = localTrackingLocks[Math.floorMod(conditionUid.hashCode(), localTrackingLocks.length)];
+            return lock.tryLock(1, TimeUnit.SECONDS) ? lock : null;
+        }
+        RLock lock = redissonClient.getLock("lock:tracking:" + conditionUid);
+        long startedAt = System.nanoTime();
+        boolean locked;
+        try {
+            locked = lock.tryLock(1, 5, TimeUnit.MINUTES);
+        } catch (RuntimeException e) {
+            redisCircuitBreaker.record(false, System.nanoTime() - startedAt);
+            throw e;
+        }
+        // Time spent waiting for another holder is not Redis latency.
+        redisCircuitBreaker.record(true, 0);
+        return locked ? lock : null;
+    }
+
+    private void unlockTracking(Lock lock, UUID conditionUid) {
+        if (lock == null) return;
+        try {
+            if (lock instanceof RLock rLock && !rLock.isHeldByCurrentThread()) return;
+            lock.unlock();
         } catch (Exception e) {
-                log.error("[processCacheKey] Error processing cacheKey={}", cacheKey, e);
+            log.warn("[unlockTracking] Could not release lock for conditionUid={}, it expires with its lease", conditionUid, e);
         }
     }
 
-    private void publishNotification(Map<String, Object> conditionMap, SensorData sensorData,
+    private void publishNotification(CachedCondition condition, SensorData sensorData,
                                      Double currentValue, String messageType) {
         try {
             AlertNotification notification = new AlertNotification();
-            notification.setAlertId(UUID.fromString((String) conditionMap.get(RedisConstant.KEY_ALERT_ID)));
-            notification.setAlertName((String) conditionMap.get(RedisConstant.KEY_ALERT_NAME));
+            notification.setAlertId(condition.getAlertId());
+            notification.setAlertName(condition.getAlertName());
             notification.setStationId(sensorData.getStationId());
-            notification.setUserId((Integer) conditionMap.get(RedisConstant.KEY_USER_ID));
-            notification.setMessage((String) conditionMap.get(RedisConstant.KEY_MESSAGE));
-            notification.setSeverity((Integer) conditionMap.get(RedisConstant.KEY_SEVERITY));
+            notification.setUserId(condition.getUserId());
+            notification.setMessage(condition.getMessage());
+            notification.setSeverity(condition.getSeverity());
             notification.setTimestamp(LocalDateTime.now());
             notification.setTypeMessage(messageType);
-            notification.setSilenced((Integer) conditionMap.get(RedisConstant.KEY_SILENCED));
+            notification.setSilenced(condition.getSilenced());
 
             notification.setTriggeredMetricId(sensorData.getSensorId());
             notification.setTriggeredMetricName(sensorData.getMetric());
-            notification.setTriggeredOperator((String) conditionMap.get(RedisConstant.KEY_OPERATOR));
-            notification.setTriggeredThreshold(toDouble(conditionMap.get(RedisConstant.KEY_THRESHOLD)));
-            notification.setTriggeredThresholdMin(toDouble(conditionMap.get(RedisConstant.KEY_THRESHOLD_MIN)));
-            notification.setTriggeredThresholdMax(toDouble(conditionMap.get(RedisConstant.KEY_THRESHOLD_MAX)));
+            notification.setTriggeredOperator(condition.getOperator());
+            notification.setTriggeredThreshold(condition.getThreshold());
+            notification.setTriggeredThresholdMin(condition.getThresholdMin());
+            notification.setTriggeredThresholdMax(condition.getThresholdMax());
             notification.setTriggeredValue(currentValue);
 
+            alertEventService.record(condition, sensorData, currentValue, messageType);
+            alertStreamService.publish(notification);
+            if (notificationDigestService != null && !notificationDigestService.offer(notification)) {
+                return;
+            }
             String notificationJson = objectMapper.writeValueAsString(notification);
             kafkaTemplate.send(alertNotificationTopic, notificationJson);
         //    log.debug("[publishNotification] Sent {} for alertId={} conditionUid={}",
@@ -166,26 +511,4 @@ public class KafkaService {
             log.error("[publishNotification] Serialization/send error", e);
         }
     }
-
-    private boolean evaluateCondition(String operator, Double value, Double threshold,
-                                      Double minThreshold, Double maxThreshold) {
-        if (value == null || operator == null) return false;
-        return switch (operator.toUpperCase()) {
-            case OperatorConstant.EQUAL              -> threshold != null && Math.abs(value - threshold) < OperatorConstant.THRESHOLD_PRECISION;
-            case OperatorConstant.NOT_EQUAL          -> threshold != null && Math.abs(value - threshold) >= OperatorConstant.THRESHOLD_PRECISION;
-            case OperatorConstant.GREATER_THAN       -> threshold != null && value > threshold;
-            case OperatorConstant.GREATER_THAN_EQUAL -> threshold != null && value >= threshold;
-            case OperatorConstant.LESS_THAN          -> threshold != null && value < threshold;
-            case OperatorConstant.LESS_THAN_EQUAL    -> threshold != null && value <= threshold;
-            case OperatorConstant.RANGE              -> minThreshold != null && maxThreshold != null && value >= minThreshold && value <= maxThreshold;
-            case OperatorConstant.OUTSIDE_RANGE      -> minThreshold != null && maxThreshold != null && (value < minThreshold || value > maxThreshold);
-            default -> false;
-        };
-    }
-
-    private Double toDouble(Object obj) {
-        if (obj == null) return null;
-        if (obj instanceof Number num) return num.doubleValue();
-        try { return Double.parseDouble(obj.toString()); } catch (NumberFormatException ignored) { return null; }
-    }
 }
\ No newline at end of file
@@ -0,0 +1,116 @@
+package com.aquatech.alert.service;
+
+import com.aquatech.alert.dto.MaintenanceWindowDto;
+import com.aquatech.alert.engine.MaintenanceCalendar;
+import com.aquatech.alert.entity.MaintenanceWindow;
+import com.aquatech.alert.repository.MaintenanceWindowRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Maintenance windows per station and the {@link MaintenanceCalendar} the evaluation path
+ * checks before doing any work for a reading. The calendar is rebuilt locally on every change
+ * and once a minute, which also picks up changes made on other replicas and drops ended windows.
+ * <p>
+ * A window pauses evaluation, it does not resolve: a condition firing when the window starts
+ * stays tracked (and hidden from the firing index) and is re-evaluated by the station's first
+ * reading after the window, which sends RESOLVED then if it has cleared.
+ */
+@Service
+@Slf4j
+public class MaintenanceService {
+    private static final int ALL_DAYS = 0b111_1111;
+
+    @Autowired
+    private MaintenanceWindowRepository maintenanceWindowRepository;
+
+    private volatile MaintenanceCalendar calendar = MaintenanceCalendar.empty();
+
+    @PostConstruct
+    public void loadCalendar() {
+        try {
+            refreshCalendar();
+        } catch (Exception e) {
+            log.error("[loadCalendar] Error loading maintenance windows", e);
+        }
+    }
+
+    @Scheduled(fixedDelay = 60 * 1000, initialDelay = 60 * 1000)
+    public void scheduledRefresh() {
+        try {
+            refreshCalendar();
+        } catch (Exception e) {
+            log.error("[scheduledRefresh] Error refreshing maintenance calendar", e);
+        }
+    }
+
+    public boolean isSuppressed(Integer stationId, LocalDateTime at) {
+        return calendar.isSuppressed(stationId, at == null ? LocalDateTime.now() : at);
+    }
+
+    public MaintenanceWindow createWindow(MaintenanceWindowDto windowDto) {
+        if (windowDto == null || windowDto.getStationId() == null) {
+            throw new IllegalArgumentException("Station ID must be provided");
+        }
+        boolean weekly = windowDto.getDaysOfWeek() != null;
+        if (weekly) {
+            if (windowDto.getDaysOfWeek() <= 0 || windowDto.getDaysOfWeek() > ALL_DAYS
+                    || windowDto.getStartTime() == null
+                    || windowDto.getDurationMinutes() == null || windowDto.getDurationMinutes() <= 0) {
+                throw new IllegalArgumentException("Weekly window needs days of week, start time and a positive duration");
+            }
+        } else if (windowDto.getStartsAt() == null || windowDto.getEndsAt() == null
+                || !windowDto.getEndsAt().isAfter(windowDto.getStartsAt())) {
+            throw new IllegalArgumentException("One-off window needs a start before its end");
+        }
+
+        MaintenanceWindow window = new MaintenanceWindow();
+        window.setStationId(windowDto.getStationId());
+        window.setReason(windowDto.getReason());
+        window.setCreatedAt(LocalDateTime.now());
+        if (weekly) {
+            window.setDaysOfWeek(windowDto.getDaysOfWeek());
+            window.setStartTime(windowDto.getStartTime());
+            window.setDurationMinutes(windowDto.getDurationMinutes());
+        } else {
+            window.setStartsAt(windowDto.getStartsAt());
+            window.setEndsAt(windowDto.getEndsAt());
+        }
+        MaintenanceWindow created = maintenanceWindowRepository.save(window);
+        refreshCalendar();
+        return created;
+    }
+
+    public List<MaintenanceWindow> getWindowsByStationId(Integer stationId) {
+        if (stationId == null) {
+            throw new IllegalArgumentException("Station ID must be provided");
+        }
+        return maintenanceWindowRepository.findByStationId(stationId);
+    }
+
+    public void deleteWindow(String windowId) {
+        if (windowId == null) {
+            throw new IllegalArgumentException("Window ID must be provided");
+        }
+        UUID uid = UUID.fromString(windowId);
+        if (!maintenanceWindowRepository.existsById(uid)) {
+            throw new IllegalArgumentException("Maintenance window not found");
+        }
+        maintenanceWindowRepository.deleteById(uid);
+        refreshCalendar();
+    }
+
+    private void refreshCalendar() {
+        List<MaintenanceWindow> windows = maintenanceWindowRepository.findCurrentAndUpcoming(LocalDateTime.now());
+        MaintenanceCalendar refreshed = MaintenanceCalendar.of(windows);
+        calendar = refreshed;
+        log.debug("[refreshCalendar] {} windows across {} stations", windows.size(), refreshed.stationCount());
+    }
+}
@@ -0,0 +1,145 @@
+package com.aquatech.alert.service;
+
+import com.aquatech.alert.constant.AlertConstant;
+import com.aquatech.alert.model.AlertDigestNotification;
+import com.aquatech.alert.model.AlertNotification;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collapses notification storms per user. The first edge for a user goes out immediately and
+ * opens a window; edges arriving inside the window are buffered and sent as one
+ * {@link AlertDigestNotification} when it closes, which opens the next window. A window that
+ * closes with nothing buffered ends the storm, so the next isolated edge is again immediate.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "alert.digest.enabled", havingValue = "true")
+public class NotificationDigestService {
+
+    private static final class UserBuffer {
+        private final List<AlertNotification> pending = new ArrayList<>();
+        private long windowEndsAt;
+
+        UserBuffer(long windowEndsAt) {
+            this.windowEndsAt = windowEndsAt;
+        }
+
+        List<AlertNotification> drain() {
+            List<AlertNotification> drained = new ArrayList<>(pending);
+            pending.clear();
+            return drained;
+        }
+    }
+
+    @Value("${kafka.message-topic}")
+    private String alertNotificationTopic;
+
+    @Value("${alert.digest.window-ms:5000}")
+    private long windowMs;
+
+    @Value("${alert.digest.max-items:500}")
+    private int maxItems;
+
+    @Autowired
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<Integer, UserBuffer> buffers = new ConcurrentHashMap<>();
+
+    /**
+     * @return true if the caller should publish the notification itself right away,
+     *         false if it was buffered for a digest
+     */
+    public boolean offer(AlertNotification notification) {
+        if (notification.getUserId() == null) return true;
+        long now = System.currentTimeMillis();
+        boolean[] sendNow = {false};
+        List<List<AlertNotification>> full = new ArrayList<>(1);
+        buffers.compute(notification.getUserId(), (userId, buffer) -> {
+            if (buffer == null) {
+                sendNow[0] = true;
+                return new UserBuffer(now + windowMs);
+            }
+            buffer.pending.add(notification);
+            if (buffer.pending.size() >= maxItems) {
+                full.add(buffer.drain());
+            }
+            return buffer;
+        });
+        full.forEach(items -> send(notification.getUserId(), items));
+        return sendNow[0];
+    }
+
+    @Scheduled(fixedDelayString = "${alert.digest.tick-ms:250}")
+    public void flushDue() {
+        long now = System.currentTimeMillis();
+        for (Integer userId : buffers.keySet()) {
+            List<List<AlertNotification>> due = new ArrayList<>(1);
+            buffers.computeIfPresent(userId, (id, buffer) -> {
+                if (buffer.windowEndsAt > now) return buffer;
+                if (buffer.pending.isEmpty()) return null;
+                due.add(buffer.drain());
+                buffer.windowEndsAt = now + windowMs;
+                return buffer;
+            });
+            due.forEach(items -> send(userId, items));
+        }
+    }
+
+    /**
+     * Sends every buffered edge, due or not, so edges held for a digest are not lost when the
+     * instance is stopped.
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        int sent = 0;
+        for (Integer userId : buffers.keySet()) {
+            List<List<AlertNotification>> pending = new ArrayList<>(1);
+            buffers.computeIfPresent(userId, (id, buffer) -> {
+                if (!buffer.pending.isEmpty()) pending.add(buffer.drain());
+                return null;
+            });
+            for (List<AlertNotification> items : pending) {
+                send(userId, items);
+                sent += items.size();
+            }
+        }
+        kafkaTemplate.flush();
+        log.info("[flushOnShutdown] Digest buffers flushed, {} edges sent", sent);
+    }
+
+    private void send(Integer userId, List<AlertNotification> items) {
+        try {
+            String payload;
+            if (items.size() == 1) {
+                payload = objectMapper.writeValueAsString(items.get(0));
+            } else {
+                int resolvedCount = (int) items.stream()
+                        .filter(item -> AlertConstant.TYPE_RESOLVED.equals(item.getTypeMessage()))
+                        .count();
+                payload = objectMapper.writeValueAsString(new AlertDigestNotification(userId, LocalDateTime.now(),
+                        AlertConstant.TYPE_DIGEST, items.size() - resolvedCount, resolvedCount, items));
+            }
+            kafkaTemplate.send(alertNotificationTopic, payload);
+            log.debug("[send] userId={} items={}", userId, items.size());
+        } catch (Exception e) {
+            log.error("[send] Serialization/send error. userId={} items={}", userId, items.size(), e);
+        }
+    }
+}
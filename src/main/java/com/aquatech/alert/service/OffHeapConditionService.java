@@ -0,0 +1,93 @@
+package com.aquatech.alert.service;
+
+import com.aquatech.alert.engine.ConditionColumns;
+import com.aquatech.alert.engine.OffHeapConditionStore;
+import com.aquatech.alert.entity.Alert;
+import com.aquatech.alert.model.AlertChangeMessage;
+import com.aquatech.alert.model.AlertCondition;
+import com.aquatech.alert.model.CachedCondition;
+import com.aquatech.alert.utils.CacheUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Condition source used instead of Redis when {@code alert.evaluation.condition-source=off-heap}.
+ * The whole active rule set is built from Postgres into an {@link OffHeapConditionStore} and
+ * swapped in atomically. Alert changes mark the store dirty and are folded into one rebuild
+ * per {@code alert.evaluation.off-heap.rebuild-delay-ms}; an hourly rebuild mirrors the Redis sync.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "alert.evaluation.condition-source", havingValue = "off-heap")
+public class OffHeapConditionService {
+
+    @Autowired
+    private AlertService alertService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private volatile OffHeapConditionStore store = OffHeapConditionStore.builder().build();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    @PostConstruct
+    public void load() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("[load] Error building off-heap condition store", e);
+        }
+    }
+
+    public ConditionColumns getColumns(Integer stationId, Integer metricId) {
+        return store.columns(SeriesStateService.seriesKey(stationId, metricId));
+    }
+
+    @EventListener
+    public void onAlertChanged(AlertChangeMessage change) {
+        dirty.set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${alert.evaluation.off-heap.rebuild-delay-ms:1000}")
+    public void rebuildIfDirty() {
+        if (!dirty.getAndSet(false)) return;
+        try {
+            rebuild();
+        } catch (Exception e) {
+            dirty.set(true);
+            log.error("[rebuildIfDirty] Error rebuilding off-heap condition store, will retry", e);
+        }
+    }
+
+    @Scheduled(fixedRate = 60 * 60 * 1000, initialDelay = 60 * 60 * 1000)
+    public void scheduledRebuild() {
+        dirty.set(true);
+    }
+
+    private void rebuild() {
+        long startedAt = System.currentTimeMillis();
+        OffHeapConditionStore.Builder builder = OffHeapConditionStore.builder();
+        for (Alert alert : alertService.getAllActiveAlerts()) {
+            if (alert.getStationId() == null || alert.getUid() == null || alert.getConditions() == null
+                    || CacheUtils.isSilenced(alert)) continue;
+            for (AlertCondition condition : alert.getConditions()) {
+                if (condition.getMetricId() == null || condition.getUid() == null) continue;
+                // Same payload as the Redis cache entry, so both sources evaluate identically.
+                CachedCondition cached = objectMapper.convertValue(CacheUtils.getValueKey(alert, condition), CachedCondition.class);
+                builder.add(SeriesStateService.seriesKey(alert.getStationId(), condition.getMetricId()), cached);
+            }
+        }
+        OffHeapConditionStore rebuilt = builder.build();
+        store = rebuilt;
+        log.info("[rebuild] {} conditions in {} series, {} bytes off-heap, took {} ms", rebuilt.size(),
+                rebuilt.seriesCount(), rebuilt.offHeapBytes(), System.currentTimeMillis() - startedAt);
+    }
+}
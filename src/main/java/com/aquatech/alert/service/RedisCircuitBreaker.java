@@ -0,0 +1,133 @@
+package com.aquatech.alert.service;
+
+import com.aquatech.alert.engine.CircuitBreaker;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Tracks the health of Redis from the outcome and latency of the evaluation path's calls and
+ * of a periodic PING. While the breaker is open, evaluation runs degraded: conditions come from
+ * the last snapshot in {@link SeriesConditionCache}, tracking locks are local, and tracking
+ * transitions are journaled by {@link TrackingStateService} until Redis is back. The PING
+ * runs on its own virtual thread so a stalled Redis never holds up the scheduled tasks.
+ */
+@Service
+@Slf4j
+public class RedisCircuitBreaker {
+    private final boolean enabled;
+    private final long probeIntervalMillis;
+    private final CircuitBreaker breaker;
+    private volatile Thread probeThread;
+
+    @Autowired
+    private RedisTemplate<String, String> customStringRedisTemplate;
+
+    public RedisCircuitBreaker(
+            @Value("${alert.redis-breaker.enabled:true}") boolean enabled,
+            @Value("${alert.redis-breaker.window-size:50}") int windowSize,
+            @Value("${alert.redis-breaker.minimum-calls:20}") int minimumCalls,
+            @Value("${alert.redis-breaker.failure-rate-threshold:0.5}") double failureRateThreshold,
+            @Value("${alert.redis-breaker.slow-call-ms:500}") long slowCallMillis,
+            @Value("${alert.redis-breaker.slow-call-rate-threshold:0.8}") double slowCallRateThreshold,
+            @Value("${alert.redis-breaker.open-seconds:10}") long openSeconds,
+            @Value("${alert.redis-breaker.probes:3}") int probes,
+            @Value("${alert.redis-breaker.probe-interval-ms:1000}") long probeIntervalMillis
+    ) {
+        this.enabled = enabled;
+        this.probeIntervalMillis = probeIntervalMillis;
+        this.breaker = new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold,
+                Duration.ofMillis(slowCallMillis).toNanos(), slowCallRateThreshold,
+                Duration.ofSeconds(openSeconds).toNanos(), probes);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) return;
+        probeThread = Thread.ofVirtual().name("redis-breaker-probe").start(this::runProbe);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (probeThread != null) probeThread.interrupt();
+    }
+
+    public boolean isAvailable() {
+        return !enabled || breaker.isClosed();
+    }
+
+    /**
+     * Runs a Redis call and records its outcome; exceptions are rethrown.
+     */
+    public <T> T call(Supplier<T> call) {
+        long startedAt = System.nanoTime();
+        try {
+            T result = call.get();
+            record(true, System.nanoTime() - startedAt);
+            return result;
+        } catch (RuntimeException e) {
+            record(false, System.nanoTime() - startedAt);
+            throw e;
+        }
+    }
+
+    public void record(boolean success, long durationNanos) {
+        if (!enabled) return;
+        onStateChange(breaker.record(success, durationNanos, System.nanoTime()));
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", enabled);
+        status.put("state", breaker.state());
+        status.put("failureRate", breaker.failureRate());
+        status.put("slowCallRate", breaker.slowCallRate());
+        return status;
+    }
+
+    private void runProbe() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Thread.sleep(probeIntervalMillis);
+                boolean probing = breaker.tryProbe(System.nanoTime());
+                long startedAt = System.nanoTime();
+                boolean success;
+                try {
+                    customStringRedisTemplate.execute((RedisCallback<String>) RedisConnection::ping);
+                    success = true;
+                } catch (Exception e) {
+                    success = false;
+                    log.debug("[runProbe] PING failed: {}", e.getMessage());
+                }
+                long duration = System.nanoTime() - startedAt;
+                if (probing) {
+                    onStateChange(breaker.recordProbe(success, duration, System.nanoTime()));
+                } else {
+                    record(success, duration);
+                }
+            }
+        } catch (InterruptedException e) {
+            // Shutting down.
+        }
+    }
+
+    private void onStateChange(CircuitBreaker.State state) {
+        if (state == CircuitBreaker.State.OPEN) {
+            log.warn("[onStateChange] Redis breaker opened, evaluating in degraded mode. failureRate={} slowCallRate={}",
+                    breaker.failureRate(), breaker.slowCallRate());
+        } else if (state == CircuitBreaker.State.CLOSED) {
+            log.info("[onStateChange] Redis breaker closed, reconciling journaled tracking transitions");
+        }
+    }
+}
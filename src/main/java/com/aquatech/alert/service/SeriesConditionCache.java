@@ -0,0 +1,71 @@
+package com.aquatech.alert.service;
+
+import com.aquatech.alert.engine.ConditionColumns;
+import com.aquatech.alert.model.AlertChangeMessage;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Columnar conditions of recently evaluated series, so repeated readings of a series skip
+ * the Redis fetch and JSON parsing. Change messages do not say which series an edit touched,
+ * so any alert change drops every entry; the TTL bounds staleness from direct cache syncs.
+ * <p>
+ * Every fetched entry is also kept, without TTL and across alert changes, as the last known
+ * snapshot of its series. It is only read while Redis is unavailable (see
+ * {@link RedisCircuitBreaker}), when a possibly stale condition beats not evaluating at all.
+ */
+@Service
+public class SeriesConditionCache {
+    private final Cache<Long, ConditionColumns> columnsBySeries;
+    private final Cache<Long, ConditionColumns> snapshotBySeries;
+    private final AtomicLong generation = new AtomicLong();
+
+    public SeriesConditionCache(
+            @Value("${alert.evaluation.series-cache.max-series:100000}") long maxSeries,
+            @Value("${alert.evaluation.series-cache.ttl-seconds:30}") long ttlSeconds
+    ) {
+        this.columnsBySeries = Caffeine.newBuilder()
+                .maximumSize(maxSeries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+        this.snapshotBySeries = Caffeine.newBuilder()
+                .maximumSize(maxSeries)
+                .build();
+    }
+
+    public ConditionColumns get(Integer stationId, Integer metricId) {
+        return columnsBySeries.getIfPresent(SeriesStateService.seriesKey(stationId, metricId));
+    }
+
+    /**
+     * Read before fetching conditions and pass to {@link #put}, so a fetch that raced with an
+     * alert change is not cached.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    public void put(Integer stationId, Integer metricId, ConditionColumns columns, long fetchedAtGeneration) {
+        if (generation.get() == fetchedAtGeneration) {
+            long seriesKey = SeriesStateService.seriesKey(stationId, metricId);
+            columnsBySeries.put(seriesKey, columns);
+            snapshotBySeries.put(seriesKey, columns);
+        }
+    }
+
+    public ConditionColumns getSnapshot(Integer stationId, Integer metricId) {
+        return snapshotBySeries.getIfPresent(SeriesStateService.seriesKey(stationId, metricId));
+    }
+
+    @EventListener
+    public void onAlertChanged(AlertChangeMessage change) {
+        generation.incrementAndGet();
+        columnsBySeries.invalidateAll();
+    }
+}
@@ -0,0 +1,52 @@
+package com.aquatech.alert.service;
+
+import com.aquatech.alert.engine.ConditionColumns;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Columns of a series for the Redis-backed evaluation paths: the cached columns, the last
+ * snapshot while Redis is unavailable, or a blocking fetch. Whatever is fetched here is cached
+ * and kept as the degraded-mode snapshot, so with {@code alert.evaluation.async-redis=false}
+ * an open breaker still finds the conditions of every series read since startup.
+ */
+@Service
+@Slf4j
+public class SeriesConditionSource {
+    private final SeriesConditionCache seriesConditionCache;
+    private final RedisCircuitBreaker redisCircuitBreaker;
+    private final CacheService cacheService;
+
+    public SeriesConditionSource(SeriesConditionCache seriesConditionCache, RedisCircuitBreaker redisCircuitBreaker,
+                                 CacheService cacheService) {
+        this.seriesConditionCache = seriesConditionCache;
+        this.redisCircuitBreaker = redisCircuitBreaker;
+        this.cacheService = cacheService;
+    }
+
+    /**
+     * Cached columns, or while Redis is unavailable the last snapshot; null when the series
+     * has to be fetched, or in degraded mode was never fetched since startup.
+     */
+    public ConditionColumns getLocal(Integer stationId, Integer metricId) {
+        ConditionColumns cached = seriesConditionCache.get(stationId, metricId);
+        if (cached != null || redisCircuitBreaker.isAvailable()) return cached;
+        ConditionColumns snapshot = seriesConditionCache.getSnapshot(stationId, metricId);
+        if (snapshot == null) {
+            log.trace("[getLocal] No snapshot for stationId={} metricId={}", stationId, metricId);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Blocking fetch: one SMEMBERS and one MGET through the breaker, cached like the
+     * non-blocking fetch.
+     */
+    public ConditionColumns fetch(Integer stationId, Integer metricId) {
+        long generation = seriesConditionCache.generation();
+        ConditionColumns columns = ConditionColumns.of(redisCircuitBreaker.call(
+                () -> cacheService.getConditions(stationId, metricId)));
+        seriesConditionCache.put(stationId, metricId, columns, generation);
+        return columns;
+    }
+}
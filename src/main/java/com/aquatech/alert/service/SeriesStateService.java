@@ -0,0 +1,289 @@
+package com.aquatech.alert.service;
+
+import com.aquatech.alert.constant.OperatorConstant;
+import com.aquatech.alert.engine.SeriesStats;
+import com.aquatech.alert.engine.SeriesWindow;
+import com.aquatech.alert.engine.UuidLongMap;
+import com.aquatech.alert.model.CachedCondition;
+import com.aquatech.alert.model.SensorData;
+import com.aquatech.alert.utils.ConditionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-series state for windowed, sustained and change/anomaly conditions.
+ * <p>
+ * Stateful conditions are registered per series up front, which creates the window or
+ * statistics they need, so every reading from then on is counted.
+ * {@link #record} adds a reading and evaluates the series' registered conditions right away, on
+ * the thread that records the series in order; the {@link Outcome} travels with the reading, so
+ * an evaluation that runs later on another thread still sees the state as of its own reading.
+ * Series without stateful conditions cost two map lookups per reading. Sustained conditions
+ * keep the time their comparison first held, keyed by condition uid.
+ */
+@Service
+@Slf4j
+public class SeriesStateService {
+    private static final long NOT_BREACHED = Long.MIN_VALUE;
+
+    private final int windowCapacity;
+    private final double ewmAlpha;
+    private final int warmupReadings;
+
+    private final Map<Long, SeriesWindow> windows = new ConcurrentHashMap<>();
+    private final Map<Long, SeriesStats> stats = new ConcurrentHashMap<>();
+    private final UuidLongMap breachedSince = new UuidLongMap();
+    private final Map<Long, List<CachedCondition>> statefulBySeries = new ConcurrentHashMap<>();
+    private final Map<UUID, Long> seriesByCondition = new ConcurrentHashMap<>();
+
+    /**
+     * Results of a series' stateful conditions for one reading, taken when it was recorded.
+     */
+    public static final class Outcome {
+        public static final Outcome NONE = new Outcome(new UUID[0], new boolean[0]);
+
+        private final UUID[] conditionUids;
+        private final boolean[] met;
+
+        private Outcome(UUID[] conditionUids, boolean[] met) {
+            this.conditionUids = conditionUids;
+            this.met = met;
+        }
+
+        /**
+         * @return the result for the condition, or null if it was not registered for the series
+         * when the reading was recorded
+         */
+        public Boolean resultOf(UUID conditionUid) {
+            for (int i = 0; i < conditionUids.length; i++) {
+                if (conditionUids[i].equals(conditionUid)) return met[i];
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Also used directly by backtests, which keep isolated state per replay.
+     */
+    public SeriesStateService(
+            @Value("${alert.window.capacity:1024}") int windowCapacity,
+            @Value("${alert.stats.ewm-alpha:0.1}") double ewmAlpha,
+            @Value("${alert.stats.warmup-readings:10}") int warmupReadings
+    ) {
+        this.windowCapacity = windowCapacity;
+        this.ewmAlpha = ewmAlpha;
+        this.warmupReadings = warmupReadings;
+    }
+
+    public static long seriesKey(Integer stationId, Integer metricId) {
+        return ((long) stationId << 32) | (metricId & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Reading time in epoch millis; readings without a timestamp use the arrival time.
+     */
+    public static long timestampOf(SensorData sensorData) {
+        if (sensorData.getDatetime() == null) return System.currentTimeMillis();
+        return sensorData.getDatetime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Conditions whose result depends on earlier readings and so must be evaluated in order.
+     */
+    public static boolean isStateful(CachedCondition condition) {
+        return condition.isWindowed() || condition.isSustained() || isDerivedOperator(condition.getOperator());
+    }
+
+    /**
+     * Registers a stateful condition for a series, replacing an earlier registration of the same
+     * uid; the series' window, statistics and the condition's sustain state carry over. Conditions that are
+     * not stateful are ignored.
+     */
+    public synchronized void register(long seriesKey, CachedCondition condition) {
+        if (condition.getConditionUid() == null || !isStateful(condition)) return;
+        Long previousKey = seriesByCondition.get(condition.getConditionUid());
+        if (previousKey != null) {
+            removeFromSeries(previousKey, condition.getConditionUid());
+        }
+        if (condition.isWindowed()) {
+            windows.computeIfAbsent(seriesKey, key -> new SeriesWindow(windowCapacity));
+        }
+        if (isDerivedOperator(condition.getOperator())) {
+            stats.computeIfAbsent(seriesKey, key -> new SeriesStats(ewmAlpha, warmupReadings));
+        }
+        // Lists are replaced, never mutated, so record() iterates without locking.
+        List<CachedCondition> conditions = new ArrayList<>(statefulBySeries.getOrDefault(seriesKey, List.of()));
+        conditions.add(condition);
+        statefulBySeries.put(seriesKey, List.copyOf(conditions));
+        seriesByCondition.put(condition.getConditionUid(), seriesKey);
+        if (previousKey != null && previousKey != seriesKey) {
+            releaseState(previousKey);
+        }
+    }
+
+    /**
+     * Drops the conditions and their sustain state; a window or statistics go once no condition
+     * of their series needs them.
+     */
+    public synchronized void unregister(Collection<UUID> conditionUids) {
+        for (UUID conditionUid : conditionUids) {
+            Long seriesKey = seriesByCondition.remove(conditionUid);
+            if (seriesKey == null) continue;
+            breachedSince.remove(conditionUid);
+            removeFromSeries(seriesKey, conditionUid);
+            releaseState(seriesKey);
+        }
+    }
+
+    private void removeFromSeries(long seriesKey, UUID conditionUid) {
+        List<CachedCondition> conditions = new ArrayList<>(statefulBySeries.getOrDefault(seriesKey, List.of()));
+        conditions.removeIf(existing -> existing.getConditionUid().equals(conditionUid));
+        if (conditions.isEmpty()) {
+            statefulBySeries.remove(seriesKey);
+        } else {
+            statefulBySeries.put(seriesKey, List.copyOf(conditions));
+        }
+    }
+
+    private void releaseState(long seriesKey) {
+        List<CachedCondition> conditions = statefulBySeries.getOrDefault(seriesKey, List.of());
+        if (conditions.stream().noneMatch(CachedCondition::isWindowed)) {
+            windows.remove(seriesKey);
+        }
+        if (conditions.stream().noneMatch(condition -> isDerivedOperator(condition.getOperator()))) {
+            stats.remove(seriesKey);
+        }
+    }
+
+    public boolean isRegistered(UUID conditionUid) {
+        return seriesByCondition.containsKey(conditionUid);
+    }
+
+    /**
+     * Adds the reading to its series' state and evaluates the series' registered stateful
+     * conditions against it. Must be called in reading order per series.
+     */
+    public Outcome record(SensorData sensorData) {
+        long seriesKey = seriesKey(sensorData.getStationId(), sensorData.getSensorId());
+        long timestamp = timestampOf(sensorData);
+        double value = sensorData.getValue();
+        SeriesWindow window = windows.get(seriesKey);
+        if (window != null) {
+            window.add(timestamp, value);
+        }
+        SeriesStats seriesStats = stats.get(seriesKey);
+        if (seriesStats != null) {
+            seriesStats.add(timestamp, value);
+        }
+
+        List<CachedCondition> conditions = statefulBySeries.get(seriesKey);
+        if (conditions == null) return Outcome.NONE;
+        UUID[] conditionUids = new UUID[conditions.size()];
+        boolean[] met = new boolean[conditions.size()];
+        for (int i = 0; i < conditions.size(); i++) {
+            CachedCondition condition = conditions.get(i);
+            conditionUids[i] = condition.getConditionUid();
+            met[i] = compute(condition, window, seriesStats, timestamp, value);
+        }
+        return new Outcome(conditionUids, met);
+    }
+
+    public static boolean isDerivedOperator(String operator) {
+        if (operator == null) return false;
+        return switch (operator.toUpperCase()) {
+            case OperatorConstant.RATE_OF_CHANGE, OperatorConstant.PERCENT_CHANGE, OperatorConstant.Z_SCORE -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * Value a change/anomaly operator compares against its threshold for the reading just
+     * recorded, or NaN while there is not enough history.
+     */
+    private static double derive(CachedCondition condition, SeriesStats seriesStats) {
+        if (seriesStats == null) return Double.NaN;
+        return switch (condition.getOperator().toUpperCase()) {
+            case OperatorConstant.RATE_OF_CHANGE -> seriesStats.ratePerMinute();
+            case OperatorConstant.PERCENT_CHANGE -> seriesStats.percentChange();
+            case OperatorConstant.Z_SCORE -> seriesStats.zScore();
+            default -> Double.NaN;
+        };
+    }
+
+    private static double aggregate(CachedCondition condition, SeriesWindow window, long timestamp) {
+        if (window == null) return Double.NaN;
+        return window.aggregate(condition.getAggregation(), condition.getWindowSeconds() * 1000L, timestamp);
+    }
+
+    /**
+     * Returns true once {@code breached} has held for the condition's sustain duration. Only
+     * called while recording, so the breach start only ever moves forward in reading order.
+     */
+    private boolean isSustained(CachedCondition condition, boolean breached, long timestamp) {
+        UUID conditionUid = condition.getConditionUid();
+        if (!breached) {
+            breachedSince.remove(conditionUid);
+            return false;
+        }
+        long since = breachedSince.get(conditionUid, NOT_BREACHED);
+        if (since == NOT_BREACHED) {
+            breachedSince.put(conditionUid, timestamp);
+            since = timestamp;
+        }
+        return timestamp - since >= condition.getSustainSeconds() * 1000L;
+    }
+
+    /**
+     * Result of the condition for a reading: stateful conditions take the result recorded with
+     * the reading, the rest compare the current value. A stateful condition not registered yet when the reading was recorded, e.g.
+     * one created since, is registered now and counts as not met until its next reading.
+     */
+    public boolean evaluate(CachedCondition condition, Outcome outcome, SensorData sensorData, double value) {
+        if (isStateful(condition)) {
+            Boolean recorded = outcome.resultOf(condition.getConditionUid());
+            if (recorded != null) return recorded;
+            if (!isRegistered(condition.getConditionUid())) {
+                register(seriesKey(sensorData.getStationId(), sensorData.getSensorId()), condition);
+            }
+            return false;
+        }
+        return compute(condition, null, null, timestampOf(sensorData), value);
+    }
+
+    /**
+     * Compares the current value, the window aggregate for windowed conditions, or the derived
+     * change/z-score for those operators, and then applies the sustain duration if any.
+     */
+    private boolean compute(CachedCondition condition, SeriesWindow window, SeriesStats seriesStats,
+                            long timestamp, double value) {
+        double observed = value;
+        if (isDerivedOperator(condition.getOperator())) {
+            observed = derive(condition, seriesStats);
+        } else if (condition.isWindowed()) {
+            observed = aggregate(condition, window, timestamp);
+        }
+        boolean breached = !Double.isNaN(observed) && ConditionUtils.evaluate(condition.getOperator(), observed,
+                condition.getThreshold(), condition.getThresholdMin(), condition.getThresholdMax());
+        if (condition.isSustained()) {
+            return isSustained(condition, breached, timestamp);
+        }
+        return breached;
+    }
+
+    public int conditionCount() {
+        return seriesByCondition.size();
+    }
+
+    public int windowCount() {
+        return windows.size();
+    }
+}
@@ -0,0 +1,110 @@
+package com.aquatech.alert.service;
+
+import com.aquatech.alert.entity.Alert;
+import com.aquatech.alert.model.AlertChangeMessage;
+import com.aquatech.alert.model.AlertCondition;
+import com.aquatech.alert.model.CachedCondition;
+import com.aquatech.alert.repository.AlertRepository;
+import com.aquatech.alert.utils.CacheUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registers the windowed, sustained and change/anomaly conditions of active alerts with
+ * {@link SeriesStateService}, so they are evaluated as each reading is recorded. Loaded from
+ * Postgres at startup, refreshed per alert on every {@link AlertChangeMessage} and fully
+ * re-synced hourly, like the Redis condition cache.
+ */
+@Service
+@Slf4j
+public class StatefulConditionRegistry {
+
+    @Autowired
+    private AlertRepository alertRepository;
+
+    @Autowired
+    private SeriesStateService seriesStateService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<UUID, Set<UUID>> conditionUidsByAlertId = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void load() {
+        try {
+            List<Alert> alerts = alertRepository.getAllActiveAlerts();
+            Set<UUID> loaded = new HashSet<>();
+            for (Alert alert : alerts) {
+                register(alert);
+                loaded.add(alert.getUid());
+            }
+            for (UUID alertId : new ArrayList<>(conditionUidsByAlertId.keySet())) {
+                if (!loaded.contains(alertId)) register(alertId, Map.of());
+            }
+            log.info("[load] Registered {} stateful conditions", seriesStateService.conditionCount());
+        } catch (Exception e) {
+            log.error("[load] Error registering stateful conditions", e);
+        }
+    }
+
+    @Scheduled(fixedRate = 60 * 60 * 1000, initialDelay = 60 * 60 * 1000)
+    public void scheduledReload() {
+        load();
+    }
+
+    @EventListener
+    public void onAlertChanged(AlertChangeMessage change) {
+        if (change.getAlertId() == null) return;
+        try {
+            Optional<Alert> alert = alertRepository.findById(change.getAlertId());
+            if (alert.isPresent()) {
+                register(alert.get());
+            } else {
+                register(change.getAlertId(), Map.of());
+            }
+        } catch (Exception e) {
+            log.error("[onAlertChanged] Error refreshing stateful conditions. alertId={}", change.getAlertId(), e);
+        }
+    }
+
+    private void register(Alert alert) {
+        if (alert.getUid() == null) return;
+        Map<UUID, Map.Entry<Long, CachedCondition>> conditions = new HashMap<>();
+        if ("active".equals(alert.getStatus()) && !CacheUtils.isSilenced(alert)
+                && alert.getStationId() != null && alert.getConditions() != null) {
+            for (AlertCondition condition : alert.getConditions()) {
+                if (condition.getMetricId() == null || condition.getUid() == null) continue;
+                // Same payload as the Redis cache entry, so registered and fetched conditions match.
+                CachedCondition cached = objectMapper.convertValue(CacheUtils.getValueKey(alert, condition), CachedCondition.class);
+                if (!SeriesStateService.isStateful(cached)) continue;
+                conditions.put(condition.getUid(), Map.entry(
+                        SeriesStateService.seriesKey(alert.getStationId(), condition.getMetricId()), cached));
+            }
+        }
+        register(alert.getUid(), conditions);
+    }
+
+    /**
+     * Registers the alert's current stateful conditions and drops the ones it no longer has.
+     */
+    private synchronized void register(UUID alertId, Map<UUID, Map.Entry<Long, CachedCondition>> conditions) {
+        conditions.values().forEach(entry -> seriesStateService.register(entry.getKey(), entry.getValue()));
+        Set<UUID> previous = conditionUidsByAlertId.getOrDefault(alertId, Set.of());
+        List<UUID> removed = previous.stream().filter(uid -> !conditions.containsKey(uid)).toList();
+        seriesStateService.unregister(removed);
+        if (conditions.isEmpty()) {
+            conditionUidsByAlertId.remove(alertId);
+        } else {
+            conditionUidsByAlertId.put(alertId, Set.copyOf(conditions.keySet()));
+        }
+    }
+}
@@ -44,6 +44,16 @@ public class SyncService {
         }
     }
 
+    /**
+     * Rebuilds the cache of one (station, metric) series without touching the rest of the keyspace.
+     *
+     * @return number of condition keys now cached for the series
+     */
+    public int syncSeriesToRedis(Integer stationId, Integer metricId) {
+        List<Alert> alerts = alertService.getActiveAlertsByStationIdAndMetricId(stationId, metricId);
+        return cacheService.syncSeries(stationId, metricId, alerts).size();
+    }
+
     private void syncAlertsToRedis() {
         List<Alert> alerts = alertService.getAllActiveAlerts();
 
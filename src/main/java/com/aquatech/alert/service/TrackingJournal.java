@@ -0,0 +1,95 @@
+package com.aquatech.alert.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Local append-only file of the tracking transitions made while Redis was unavailable, one
+ * {@code conditionUid,stationId,firingSince,sequence} line each (firingSince 0 means resolved).
+ * It lets transitions that have not reached Redis survive a restart; it is cleared once they are
+ * written. Lines are not necessarily in sequence order, so readers keep the highest sequence per
+ * condition; lines written before the sequence was added read as sequence 0.
+ */
+@Service
+@Slf4j
+public class TrackingJournal {
+
+    public record Entry(UUID conditionUid, Integer stationId, long firingSince, long sequence) {
+    }
+
+    private final Path path;
+    private BufferedWriter writer;
+    private int size = -1;
+
+    public TrackingJournal(@Value("${alert.redis-breaker.journal-path:./data/tracking-journal.log}") String path) {
+        this.path = Path.of(path);
+    }
+
+    public synchronized void append(UUID conditionUid, Integer stationId, long firingSince, long sequence) {
+        try {
+            if (writer == null) {
+                Files.createDirectories(path.toAbsolutePath().getParent());
+                writer = Files.newBufferedWriter(path, StandardCharsets.US_ASCII,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            writer.write(conditionUid + "," + stationId + "," + firingSince + "," + sequence);
+            writer.newLine();
+            writer.flush();
+            if (size >= 0) size++;
+        } catch (IOException e) {
+            log.error("[append] Failed to journal transition conditionUid={}", conditionUid, e);
+        }
+    }
+
+    public synchronized List<Entry> readAll() {
+        List<Entry> entries = new ArrayList<>();
+        if (!Files.exists(path)) return entries;
+        try {
+            for (String line : Files.readAllLines(path, StandardCharsets.US_ASCII)) {
+                String[] fields = line.split(",");
+                try {
+                    long sequence = fields.length > 3 ? Long.parseLong(fields[3]) : 0L;
+                    entries.add(new Entry(UUID.fromString(fields[0]), Integer.valueOf(fields[1]),
+                            Long.parseLong(fields[2]), sequence));
+                } catch (RuntimeException e) {
+                    log.warn("[readAll] Skip malformed journal line={}", line);
+                }
+            }
+        } catch (IOException e) {
+            log.error("[readAll] Failed to read journal path={}", path, e);
+        }
+        size = entries.size();
+        return entries;
+    }
+
+    public synchronized int size() {
+        if (size < 0) readAll();
+        return size;
+    }
+
+    public synchronized void clear() {
+        if (size() == 0) return;
+        try {
+            if (writer != null) {
+                writer.close();
+                writer = null;
+            }
+            Files.deleteIfExists(path);
+            log.info("[clear] Reconciled {} journaled transitions", size);
+            size = 0;
+        } catch (IOException e) {
+            log.error("[clear] Failed to clear journal path={}", path, e);
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package com.aquatech.alert.service;
+
+import com.aquatech.alert.constant.RedisConstant;
+import com.aquatech.alert.engine.UuidLongMap;
+import com.aquatech.alert.utils.CacheUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Firing/resolved state of every condition, held locally as conditionUid -> firing-since millis.
+ * Evaluation only reads this map, so readings that do not change a condition's state cost no I/O.
+ * Transitions are queued and written behind in batches to one hash per station
+ * (see {@link CacheUtils#buildTrackingKey}); Redis is the durable copy used to rebuild the map
+ * when partitions are assigned.
+ * <p>
+ * Fields carry no TTL of their own. An entry older than the tracking duration is treated as
+ * resolved when it is next read, locally or on reload, and its field is removed then. Each
+ * write also pushes the hash's own expiry forward, so a station whose fields all went stale
+ * without being read again disappears on its own.
+ * <p>
+ * While {@link RedisCircuitBreaker} reports Redis unavailable, transitions stay queued and are
+ * also appended to the {@link TrackingJournal}, including the ones already queued when the
+ * breaker opened; the first successful flush after recovery
+ * reconciles them to Redis and clears the journal. A journal left by a restart during an outage
+ * is replayed on startup.
+ */
+@Service
+@Slf4j
+public class TrackingStateService {
+    private static final long NOT_FIRING = 0L;
+    private static final long TRACKING_TTL_MILLIS = Duration.ofHours(RedisConstant.TRACKING_DURATION_HOURS).toMillis();
+
+    /**
+     * @param sequence order in which transitions were made; a flush keeps the highest per
+     *                 condition, so a retried one never overrides a later one
+     */
+    private record Transition(UUID conditionUid, Integer stationId, long firingSince, long sequence) {
+    }
+
+    @Autowired
+    private RedisTemplate<String, String> customStringRedisTemplate;
+
+    @Autowired
+    private CacheService cacheService;
+
+    @Autowired
+    private RedisCircuitBreaker redisCircuitBreaker;
+
+    @Autowired
+    private TrackingJournal trackingJournal;
+
+    private volatile UuidLongMap firingSince = new UuidLongMap();
+    private final Queue<Transition> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ReentrantReadWriteLock reloadLock = new ReentrantReadWriteLock();
+    private volatile long lastReloadStartedAt;
+    private boolean queueJournaled;
+
+    public boolean isFiring(UUID conditionUid, Integer stationId) {
+        long since = firingSince.get(conditionUid, NOT_FIRING);
+        if (since == NOT_FIRING) return false;
+        if (isExpired(since, System.currentTimeMillis())) {
+            // Called on Redis I/O threads, so the cleanup is only queued and never waits for a
+            // reload: a removal the reload swaps away is harmless, since the reload drops
+            // expired fields itself and the queued HDEL still reaches Redis.
+            firingSince.remove(conditionUid);
+            pending.add(transition(conditionUid, stationId, NOT_FIRING));
+            return false;
+        }
+        return true;
+    }
+
+    public void markFiring(UUID conditionUid, Integer stationId) {
+        long now = System.currentTimeMillis();
+        reloadLock.readLock().lock();
+        try {
+            firingSince.put(conditionUid, now);
+            queue(transition(conditionUid, stationId, now));
+        } finally {
+            reloadLock.readLock().unlock();
+        }
+    }
+
+    public void markResolved(UUID conditionUid, Integer stationId) {
+        reloadLock.readLock().lock();
+        try {
+            firingSince.remove(conditionUid);
+            queue(transition(conditionUid, stationId, NOT_FIRING));
+        } finally {
+            reloadLock.readLock().unlock();
+        }
+    }
+
+    public int firingCount() {
+        return firingSince.size();
+    }
+
+    /**
+     * Synchronized because reload() also flushes: a batch must be written or requeued before
+     * the next one is taken, or a requeued old transition could follow a newer one into Redis.
+     */
+    @Scheduled(fixedDelayString = "${alert.tracking.flush-interval-ms:500}")
+    public synchronized void flush() {
+        // Degraded mode: transitions stay queued (and journaled) until Redis is back. The ones
+        // queued before the breaker opened are journaled once here, by the first flush to see it.
+        if (!redisCircuitBreaker.isAvailable()) {
+            if (!queueJournaled) {
+                pending.forEach(this::journal);
+                queueJournaled = true;
+            }
+            return;
+        }
+        queueJournaled = false;
+        Map<UUID, Transition> latest = new LinkedHashMap<>();
+        Transition transition;
+        while ((transition = pending.poll()) != null) {
+            latest.merge(transition.conditionUid(), transition,
+                    (kept, polled) -> polled.sequence() > kept.sequence() ? polled : kept);
+        }
+        if (latest.isEmpty()) return;
+
+        try {
+            redisCircuitBreaker.call(() -> {
+                writeTransitions(latest.values());
+                return null;
+            });
+            log.debug("[flush] Wrote {} tracking transitions", latest.size());
+            if (pending.isEmpty()) trackingJournal.clear();
+        } catch (Exception e) {
+            // Requeued as they are: the next flush keeps the newest transition per condition by
+            // sequence, so one made while this write was failing still wins.
+            latest.values().forEach(pending::add);
+            log.error("[flush] Failed to write {} tracking transitions, will retry", latest.size(), e);
+        }
+    }
+
+    /**
+     * Re-applies transitions journaled before a restart; the next flush writes them to Redis.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void replayJournal() {
+        List<TrackingJournal.Entry> entries = trackingJournal.readAll();
+        if (entries.isEmpty()) return;
+        // Journal lines are not in sequence order (the queue is journaled after later marks).
+        Map<UUID, TrackingJournal.Entry> latest = new LinkedHashMap<>();
+        for (TrackingJournal.Entry entry : entries) {
+            latest.merge(entry.conditionUid(), entry,
+                    (kept, read) -> read.sequence() >= kept.sequence() ? read : kept);
+            sequence.accumulateAndGet(entry.sequence(), Math::max);
+        }
+        reloadLock.readLock().lock();
+        try {
+            for (TrackingJournal.Entry entry : latest.values()) {
+                if (entry.firingSince() == NOT_FIRING) {
+                    firingSince.remove(entry.conditionUid());
+                } else {
+                    firingSince.put(entry.conditionUid(), entry.firingSince());
+                }
+                pending.add(transition(entry.conditionUid(), entry.stationId(), entry.firingSince()));
+            }
+        } finally {
+            reloadLock.readLock().unlock();
+        }
+        log.info("[replayJournal] Replayed {} journaled tracking transitions", entries.size());
+    }
+
+    private void queue(Transition transition) {
+        pending.add(transition);
+        if (!redisCircuitBreaker.isAvailable()) journal(transition);
+    }
+
+    private void journal(Transition transition) {
+        trackingJournal.append(transition.conditionUid(), transition.stationId(),
+                transition.firingSince(), transition.sequence());
+    }
+
+    /**
+     * Rebuilds the local map from Redis. Concurrent requests collapse into one reload.
+     */
+    public void reload() {
+        long requestedAt = System.nanoTime();
+        reloadLock.writeLock().lock();
+        try {
+            if (lastReloadStartedAt - requestedAt > 0) return;
+            lastReloadStartedAt = System.nanoTime();
+
+            flush();
+            UuidLongMap loaded = new UuidLongMap();
+            loadStationHashes(loaded);
+            loadLegacyKeys(loaded);
+            firingSince = loaded;
+            log.info("[reload] Loaded {} firing conditions", loaded.size());
+        } catch (Exception e) {
+            log.error("[reload] Failed to load tracking state", e);
+        } finally {
+            reloadLock.writeLock().unlock();
+        }
+    }
+
+    private void writeTransitions(Collection<Transition> transitions) {
+        RedisSerializer<String> serializer = customStringRedisTemplate.getStringSerializer();
+        long now = System.currentTimeMillis();
+        customStringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Transition transition : transitions) {
+                byte[] key = serializer.serialize(CacheUtils.buildTrackingKey(transition.stationId()));
+                byte[] field = serializer.serialize(transition.conditionUid().toString());
+                if (transition.firingSince() == NOT_FIRING || isExpired(transition.firingSince(), now)) {
+                    connection.hashCommands().hDel(key, field);
+                } else {
+                    connection.hashCommands().hSet(key, field, serializer.serialize(Long.toString(transition.firingSince())));
+                    connection.keyCommands().pExpire(key, TRACKING_TTL_MILLIS);
+                }
+            }
+            return null;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private void loadStationHashes(UuidLongMap loaded) {
+        RedisSerializer<String> serializer = customStringRedisTemplate.getStringSerializer();
+        List<String> keys = new ArrayList<>(cacheService.scanKeys(RedisConstant.TRACKING_KEY_PATTERN));
+        int batchSize = 500;
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < keys.size(); i += batchSize) {
+            List<String> batch = keys.subList(i, Math.min(i + batchSize, keys.size()));
+            List<Object> hashes = customStringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                batch.forEach(key -> connection.hashCommands().hGetAll(serializer.serialize(key)));
+                return null;
+            }, StringRedisSerializer.UTF_8);
+
+            Map<String, List<String>> expiredFields = new HashMap<>();
+            for (int j = 0; j < batch.size(); j++) {
+                String key = batch.get(j);
+                ((Map<String, String>) hashes.get(j)).forEach((field, value) -> {
+                    try {
+                        long since = Long.parseLong(value);
+                        if (isExpired(since, now)) {
+                            expiredFields.computeIfAbsent(key, k -> new ArrayList<>()).add(field);
+                        } else {
+                            loaded.put(UUID.fromString(field), since);
+                        }
+                    } catch (IllegalArgumentException e) {
+                        log.warn("[loadStationHashes] Skip malformed tracking field key={} field={}", key, field);
+                    }
+                });
+            }
+            if (!expiredFields.isEmpty()) {
+                customStringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    expiredFields.forEach((key, fields) -> connection.hashCommands().hDel(serializer.serialize(key),
+                            fields.stream().map(serializer::serialize).toArray(byte[][]::new)));
+                    return null;
+                });
+            }
+        }
+    }
+
+    /**
+     * Picks up per-condition keys written before the move to station hashes. They still carry
+     * their own TTL, so they age out without a migration; until then they keep suppressing
+     * duplicate alerts.
+     */
+    private void loadLegacyKeys(UuidLongMap loaded) {
+        List<String> keys = new ArrayList<>(cacheService.scanKeys(RedisConstant.LEGACY_TRACKING_PREFIX + "*"));
+        if (keys.isEmpty()) return;
+        List<String> values = customStringRedisTemplate.opsForValue().multiGet(keys);
+        if (values == null) return;
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < keys.size(); i++) {
+            if (values.get(i) == null) continue;
+            try {
+                UUID conditionUid = UUID.fromString(keys.get(i).substring(RedisConstant.LEGACY_TRACKING_PREFIX.length()));
+                if (loaded.get(conditionUid, NOT_FIRING) == NOT_FIRING) {
+                    loaded.put(conditionUid, now);
+                }
+            } catch (IllegalArgumentException e) {
+                log.warn("[loadLegacyKeys] Skip malformed tracking key={}", keys.get(i));
+            }
+        }
+    }
+
+    private Transition transition(UUID conditionUid, Integer stationId, long firingSince) {
+        return new Transition(conditionUid, stationId, firingSince, sequence.incrementAndGet());
+    }
+
+    private static boolean isExpired(long firingSince, long now) {
+        return now - firingSince >= TRACKING_TTL_MILLIS;
+    }
+}
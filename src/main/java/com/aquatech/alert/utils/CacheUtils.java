@@ -19,10 +19,28 @@ public class CacheUtils {
     private static final String ALERT = "alert";
     private static final String METRIC = "metric";
     private static final String CONDITION = "condition";
+    private static final String INDEX = "idx";
+    private static final String TRACKING = "tracking";
+    private static final String FIRING = "firing";
+    private static final String USER = "user";
+
+    /**
+     * Builds the Redis Cluster hash tag shared by every key of one (station, metric) group.
+     * Only the part between the braces is hashed, so the index set and all of its condition
+     * keys land in the same slot and can be pipelined or scripted together.
+     * Format: {station:{stationId}:metric:{metricId}}
+     *
+     * @param stationId The station ID
+     * @param metricId  The metric ID
+     * @return The hash tag including braces
+     */
+    public static String buildSeriesTag(String stationId, String metricId) {
+        return "{" + STATION + ":" + stationId + ":" + METRIC + ":" + metricId + "}";
+    }
 
     /**
      * Builds a cache key for storing alert condition data.
-     * Format: station:{stationId}:alert:{alertId}:metric:{metricId}:condition:{conditionId}
+     * Format: {station:{stationId}:metric:{metricId}}:alert:{alertId}:condition:{conditionId}
      *
      * @param stationId   The station ID
      * @param alertId     The alert ID
@@ -36,12 +54,19 @@ public class CacheUtils {
             String metricId,
             String conditionId
     ) {
-        return STATION + ":" + stationId + ":" +
+        return buildSeriesTag(stationId, metricId) + ":" +
                 ALERT + ":" + alertId + ":" +
-                METRIC + ":" + metricId + ":" +
                 CONDITION + ":" + conditionId;
     }
 
+    /**
+     * Silenced alerts are kept out of every evaluation source (Redis, the off-heap store and
+     * composite rules), so their readings are never fetched, evaluated or published.
+     */
+    public static boolean isSilenced(Alert alert) {
+        return alert.getSilenced() != null && alert.getSilenced() != 0;
+    }
+
     public static Map<String, Object> getValueKey(Alert alert, AlertCondition condition) {
         Map<String, Object> valueMap = new HashMap<>();
         valueMap.put(RedisConstant.KEY_ALERT_ID, alert.getUid());
@@ -56,10 +81,54 @@ public class CacheUtils {
         valueMap.put(RedisConstant.KEY_THRESHOLD_MIN, condition.getThresholdMin());
         valueMap.put(RedisConstant.KEY_THRESHOLD_MAX, condition.getThresholdMax());
         valueMap.put(RedisConstant.KEY_SILENCED, alert.getSilenced());
+        valueMap.put(RedisConstant.KEY_AGGREGATION, condition.getAggregation());
+        valueMap.put(RedisConstant.KEY_WINDOW_SECONDS, condition.getWindowSeconds());
+        valueMap.put(RedisConstant.KEY_SUSTAIN_SECONDS, condition.getSustainSeconds());
         return valueMap;
     }
 
+    /**
+     * Builds the key of the set listing every condition cache key of a (station, metric) group.
+     * Format: idx:{station:{stationId}:metric:{metricId}}
+     */
     public static String buildIndexKey(Integer stationId, Integer metricId) {
-        return "idx:station:" + stationId + ":metric:" + metricId;
+        return buildIndexKey(String.valueOf(stationId), String.valueOf(metricId));
+    }
+
+    public static String buildIndexKey(String stationId, String metricId) {
+        return INDEX + ":" + buildSeriesTag(stationId, metricId);
+    }
+
+    /**
+     * Returns the index key a condition cache key belongs to, derived from its hash tag.
+     */
+    public static String getIndexKeyOf(String cacheKey) {
+        return INDEX + ":" + cacheKey.substring(0, cacheKey.indexOf('}') + 1);
+    }
+
+    /**
+     * Builds the key of the hash holding every firing condition of a station,
+     * field = conditionUid, value = firing-since epoch millis.
+     * Format: tracking:{station:{stationId}}
+     */
+    public static String buildTrackingKey(Integer stationId) {
+        return TRACKING + ":{" + STATION + ":" + stationId + "}";
+    }
+
+    /**
+     * Builds the key of the hash listing the firing conditions of a user's alerts,
+     * field = conditionUid, value = {@link com.aquatech.alert.model.FiringCondition} JSON.
+     * Format: firing:{user:{userId}}
+     */
+    public static String buildFiringUserKey(Integer userId) {
+        return FIRING + ":{" + USER + ":" + userId + "}";
+    }
+
+    /**
+     * Station counterpart of {@link #buildFiringUserKey}.
+     * Format: firing:{station:{stationId}}
+     */
+    public static String buildFiringStationKey(Integer stationId) {
+        return FIRING + ":{" + STATION + ":" + stationId + "}";
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,28 @@
+package com.aquatech.alert.utils;
+
+import com.aquatech.alert.constant.OperatorConstant;
+
+/**
+ * Operator comparisons shared by per-condition and composite rule evaluation.
+ */
+public class ConditionUtils {
+    public static boolean evaluate(String operator, Double value, Double threshold,
+                                   Double minThreshold, Double maxThreshold) {
+        if (value == null || operator == null) return false;
+        return switch (operator.toUpperCase()) {
+            case OperatorConstant.EQUAL              -> threshold != null && Math.abs(value - threshold) < OperatorConstant.THRESHOLD_PRECISION;
+            case OperatorConstant.NOT_EQUAL          -> threshold != null && Math.abs(value - threshold) >= OperatorConstant.THRESHOLD_PRECISION;
+            case OperatorConstant.GREATER_THAN       -> threshold != null && value > threshold;
+            case OperatorConstant.GREATER_THAN_EQUAL -> threshold != null && value >= threshold;
+            case OperatorConstant.LESS_THAN          -> threshold != null && value < threshold;
+            case OperatorConstant.LESS_THAN_EQUAL    -> threshold != null && value <= threshold;
+            case OperatorConstant.RANGE              -> minThreshold != null && maxThreshold != null && value >= minThreshold && value <= maxThreshold;
+            case OperatorConstant.OUTSIDE_RANGE      -> minThreshold != null && maxThreshold != null && (value < minThreshold || value > maxThreshold);
+            // Derived operators: magnitude against threshold, or outside [min, max] for a signed band.
+            case OperatorConstant.RATE_OF_CHANGE, OperatorConstant.PERCENT_CHANGE, OperatorConstant.Z_SCORE ->
+                    threshold != null ? Math.abs(value) >= threshold
+                            : minThreshold != null && maxThreshold != null && (value < minThreshold || value > maxThreshold);
+            default -> false;
+        };
+    }
+}
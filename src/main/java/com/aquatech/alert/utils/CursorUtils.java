@@ -0,0 +1,33 @@
+package com.aquatech.alert.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Encodes keyset pagination positions as opaque, URL-safe cursors.
+ * Format before encoding: {createdAt}|{uid}
+ */
+public class CursorUtils {
+    private static final String SEPARATOR = "|";
+
+    public record Position(LocalDateTime createdAt, UUID uid) {
+    }
+
+    public static String encode(LocalDateTime createdAt, UUID uid) {
+        String raw = createdAt + SEPARATOR + uid;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Position decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new Position(LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
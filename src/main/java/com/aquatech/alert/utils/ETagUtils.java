@@ -0,0 +1,32 @@
+package com.aquatech.alert.utils;
+
+import com.aquatech.alert.entity.Alert;
+
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Builds strong ETags from alert {@code updatedAt} stamps, so a conditional GET can be answered
+ * without serializing the body.
+ */
+public class ETagUtils {
+
+    public static String forAlert(Alert alert) {
+        return "\"" + alert.getUid() + "-" + Long.toHexString(toMicros(alert)) + "\"";
+    }
+
+    public static String forAlerts(List<Alert> alerts) {
+        long hash = 1125899906842597L;
+        for (Alert alert : alerts) {
+            hash = 31 * hash + alert.getUid().hashCode();
+            hash = 31 * hash + toMicros(alert);
+        }
+        return "\"" + alerts.size() + "-" + Long.toHexString(hash) + "\"";
+    }
+
+    private static long toMicros(Alert alert) {
+        if (alert.getUpdatedAt() == null) return 0L;
+        var instant = alert.getUpdatedAt().toInstant(ZoneOffset.UTC);
+        return instant.getEpochSecond() * 1_000_000L + instant.getNano() / 1_000;
+    }
+}
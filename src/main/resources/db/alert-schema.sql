@@ -0,0 +1,40 @@
+-- Runs after Hibernate's ddl-auto (spring.jpa.defer-datasource-initialization) as a single
+-- statement, so it must stay idempotent.
+
+-- alert.conditions used to be TEXT; convert it in place on existing databases.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1
+               FROM information_schema.columns
+               WHERE table_name = 'alert'
+                 AND column_name = 'conditions'
+                 AND data_type = 'text') THEN
+        ALTER TABLE alert ALTER COLUMN conditions TYPE jsonb USING COALESCE(NULLIF(conditions, ''), '[]')::jsonb;
+    END IF;
+END $$;
+
+-- Serves containment lookups such as conditions @> '[{"metric_id": 3}]'.
+CREATE INDEX IF NOT EXISTS idx_alert_conditions ON alert USING GIN (conditions jsonb_path_ops);
+
+-- History of every ALERT/RESOLVED edge, range partitioned by month on occurred_at. Monthly
+-- partitions are created ahead of time by AlertEventService; the default partition only
+-- catches rows outside them.
+CREATE TABLE IF NOT EXISTS alert_event (
+    alert_id      UUID             NOT NULL,
+    condition_uid UUID,
+    station_id    INTEGER          NOT NULL,
+    user_id       INTEGER,
+    metric_id     INTEGER,
+    type_message  VARCHAR(16)      NOT NULL,
+    severity      INTEGER,
+    value         DOUBLE PRECISION,
+    threshold     DOUBLE PRECISION,
+    threshold_min DOUBLE PRECISION,
+    threshold_max DOUBLE PRECISION,
+    occurred_at   TIMESTAMP        NOT NULL
+) PARTITION BY RANGE (occurred_at);
+
+CREATE TABLE IF NOT EXISTS alert_event_default PARTITION OF alert_event DEFAULT;
+
+CREATE INDEX IF NOT EXISTS idx_alert_event_alert ON alert_event (alert_id, occurred_at);
+CREATE INDEX IF NOT EXISTS idx_alert_event_station ON alert_event (station_id, occurred_at);
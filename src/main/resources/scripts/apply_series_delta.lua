@@ -0,0 +1,15 @@
+-- Applies the condition key changes of one (station, metric) series atomically.
+-- KEYS[1]      index set of the series
+-- KEYS[2..n]   condition cache keys of the series (same hash tag as KEYS[1])
+-- ARGV[i - 1]  payload JSON to store under KEYS[i], or an empty string to delete it
+for i = 2, #KEYS do
+    local payload = ARGV[i - 1]
+    if payload == '' then
+        redis.call('DEL', KEYS[i])
+        redis.call('SREM', KEYS[1], KEYS[i])
+    else
+        redis.call('SET', KEYS[i], payload)
+        redis.call('SADD', KEYS[1], KEYS[i])
+    end
+end
+return #KEYS - 1
@@ -0,0 +1,62 @@
+package com.aquatech.alert.engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+    private static final long SLOW = 100;
+    private static final long OPEN = 1_000;
+
+    private static CircuitBreaker breaker() {
+        return new CircuitBreaker(10, 4, 0.5, SLOW, 0.8, OPEN, 2);
+    }
+
+    @Test
+    void opensOnFailureRateOnceMinimumCallsAreIn() {
+        CircuitBreaker breaker = breaker();
+        assertNull(breaker.record(false, 1, 0));
+        assertNull(breaker.record(false, 1, 0));
+        assertNull(breaker.record(true, 1, 0));
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.record(true, 1, 0));
+        assertFalse(breaker.isClosed());
+        assertNull(breaker.record(true, 1, 0));
+    }
+
+    @Test
+    void opensOnSlowCalls() {
+        CircuitBreaker breaker = breaker();
+        for (int i = 0; i < 3; i++) {
+            assertNull(breaker.record(true, SLOW, 0));
+        }
+        assertNull(breaker.record(true, 1, 0));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.record(true, SLOW, 0));
+    }
+
+    @Test
+    void oldOutcomesLeaveTheWindow() {
+        CircuitBreaker healthy = breaker();
+        for (int i = 0; i < 10; i++) healthy.record(true, 1, 0);
+        for (int i = 0; i < 4; i++) assertNull(healthy.record(false, 1, 0));
+
+        assertEquals(0.4, healthy.failureRate(), 1e-9);
+        assertTrue(healthy.isClosed());
+    }
+
+    @Test
+    void probesCloseAfterWaitAndBadProbeReopens() {
+        CircuitBreaker breaker = breaker();
+        for (int i = 0; i < 4; i++) breaker.record(false, 1, 0);
+
+        assertFalse(breaker.tryProbe(OPEN - 1));
+        assertTrue(breaker.tryProbe(OPEN));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.recordProbe(false, 1, OPEN));
+        assertFalse(breaker.tryProbe(OPEN + 1));
+
+        assertTrue(breaker.tryProbe(2 * OPEN));
+        assertNull(breaker.recordProbe(true, 1, 2 * OPEN));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.recordProbe(true, 1, 2 * OPEN));
+        assertEquals(0, breaker.failureRate());
+    }
+}
@@ -0,0 +1,48 @@
+package com.aquatech.alert.engine;
+
+import com.aquatech.alert.model.RuleNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompositeExpressionTest {
+
+    private static RuleNode compare(int metricId, String operator, double threshold) {
+        return new RuleNode(null, null, metricId, operator, threshold, null, null);
+    }
+
+    @Test
+    void evaluatesAndOrAgainstLatestValues() {
+        LatestValueTable table = new LatestValueTable();
+        RuleNode rule = new RuleNode("AND", List.of(
+                compare(1, "GT", 30),
+                new RuleNode("OR", List.of(compare(2, "LT", 4), compare(3, "GT", 9)), null, null, null, null, null)
+        ), null, null, null, null, null);
+        Set<Integer> metricIds = new HashSet<>();
+        CompositeExpression expression = CompositeExpression.compile(rule, metricId -> table.slotOf(metricId), metricIds);
+        assertEquals(Set.of(1, 2, 3), metricIds);
+
+        table.put(1, 1_000, 31);
+        assertFalse(expression.test(table, 0), "missing operands are not met");
+
+        table.put(2, 1_000, 5);
+        table.put(3, 1_000, 8);
+        assertFalse(expression.test(table, 0));
+
+        table.put(2, 2_000, 3.5);
+        assertTrue(expression.test(table, 0));
+        assertFalse(expression.test(table, 1_500), "stale operands are not met");
+    }
+
+    @Test
+    void rejectsMalformedRules() {
+        assertThrows(IllegalArgumentException.class,
+                () -> CompositeExpression.validate(new RuleNode("XOR", List.of(compare(1, "GT", 1)), null, null, null, null, null)));
+        assertThrows(IllegalArgumentException.class,
+                () -> CompositeExpression.validate(new RuleNode(null, null, null, "GT", 1.0, null, null)));
+    }
+}
@@ -0,0 +1,45 @@
+package com.aquatech.alert.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DropOldestBufferTest {
+
+    @Test
+    void overflowDropsOldest() throws InterruptedException {
+        DropOldestBuffer<Integer> buffer = new DropOldestBuffer<>(3);
+        for (int i = 1; i <= 5; i++) {
+            buffer.offer(i);
+        }
+
+        assertEquals(2, buffer.takeDropped());
+        assertEquals(0, buffer.takeDropped());
+        assertEquals(3, buffer.poll(0, TimeUnit.MILLISECONDS));
+        assertEquals(4, buffer.poll(0, TimeUnit.MILLISECONDS));
+        assertEquals(5, buffer.poll(0, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void pollTimesOutWhenEmpty() throws InterruptedException {
+        DropOldestBuffer<Integer> buffer = new DropOldestBuffer<>(1);
+
+        assertNull(buffer.poll(10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void pollWakesOnOffer() throws InterruptedException {
+        DropOldestBuffer<Integer> buffer = new DropOldestBuffer<>(1);
+        Thread.ofVirtual().start(() -> {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException ignored) {
+            }
+            buffer.offer(7);
+        });
+
+        assertEquals(7, buffer.poll(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,78 @@
+package com.aquatech.alert.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FairSchedulerTest {
+
+    private static List<String> drain(FairScheduler scheduler, List<String> ran) {
+        Runnable task;
+        while ((task = scheduler.poll()) != null) {
+            task.run();
+        }
+        return ran;
+    }
+
+    @Test
+    void backloggedTenantDoesNotStarveOthers() {
+        FairScheduler scheduler = new FairScheduler(0, 2, 10, tenant -> 1, "test-");
+        List<String> ran = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            scheduler.submit("busy", () -> ran.add("busy"));
+        }
+        scheduler.submit("quiet", () -> ran.add("quiet"));
+
+        drain(scheduler, ran);
+
+        assertEquals(11, ran.size());
+        assertEquals("quiet", ran.get(2));
+    }
+
+    @Test
+    void weightScalesShare() {
+        FairScheduler scheduler = new FairScheduler(0, 1, 10, tenant -> Map.of("heavy", 3).getOrDefault(tenant, 1), "test-");
+        List<String> ran = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            scheduler.submit("heavy", () -> ran.add("heavy"));
+            scheduler.submit("light", () -> ran.add("light"));
+        }
+
+        drain(scheduler, ran);
+
+        assertEquals(List.of("heavy", "heavy", "heavy", "light", "heavy", "heavy", "heavy", "light"),
+                ran.subList(0, 8));
+    }
+
+    @Test
+    void tenantAtInFlightCapIsSkipped() {
+        FairScheduler scheduler = new FairScheduler(0, 4, 1, tenant -> 1, "test-");
+        scheduler.submit("a", () -> { });
+        scheduler.submit("a", () -> { });
+
+        Runnable first = scheduler.poll();
+        assertNotNull(first);
+        assertNull(scheduler.poll());
+
+        first.run();
+        assertNotNull(scheduler.poll());
+    }
+
+    @Test
+    void workersRunSubmittedTasks() throws InterruptedException {
+        try (FairScheduler scheduler = new FairScheduler(2, 8, 2, tenant -> 1, "test-")) {
+            CountDownLatch done = new CountDownLatch(100);
+            for (int i = 0; i < 100; i++) {
+                scheduler.submit("station:" + (i % 5), done::countDown);
+            }
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            assertTrue(scheduler.snapshot().stream().allMatch(stats -> stats.queued() == 0));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.aquatech.alert.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyOrderedExecutorTest {
+
+    @Test
+    void keepsSubmissionOrderPerKey() throws InterruptedException {
+        try (KeyOrderedExecutor executor = new KeyOrderedExecutor(4, "test-lane-")) {
+            ConcurrentHashMap<Long, List<Integer>> seen = new ConcurrentHashMap<>();
+            for (int i = 0; i < 10_000; i++) {
+                long key = i % 37;
+                int sequence = i;
+                executor.execute(key, () -> seen.computeIfAbsent(key, k -> Collections.synchronizedList(new ArrayList<>())).add(sequence));
+            }
+
+            assertTrue(executor.awaitIdle(5_000));
+            assertEquals(0, executor.pending());
+            assertEquals(37, seen.size());
+            seen.values().forEach(sequences -> {
+                for (int i = 1; i < sequences.size(); i++) {
+                    assertTrue(sequences.get(i - 1) < sequences.get(i));
+                }
+            });
+        }
+    }
+
+    @Test
+    void otherLanesProceedWhileOneIsBlocked() throws InterruptedException {
+        try (KeyOrderedExecutor executor = new KeyOrderedExecutor(2, "test-lane-")) {
+            long blockedKey = 0;
+            long otherKey = 1;
+            while (KeyOrderedExecutor.laneOf(otherKey, 2) == KeyOrderedExecutor.laneOf(blockedKey, 2)) otherKey++;
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch ran = new CountDownLatch(1);
+            executor.execute(blockedKey, () -> {
+                try {
+                    release.await();
+                } catch (InterruptedException ignored) {
+                }
+            });
+            executor.execute(otherKey, ran::countDown);
+
+            assertTrue(ran.await(5, TimeUnit.SECONDS));
+            assertFalse(executor.awaitIdle(50));
+            release.countDown();
+            assertTrue(executor.awaitIdle(5_000));
+        }
+    }
+
+    @Test
+    void marksLaneThreads() throws InterruptedException {
+        try (KeyOrderedExecutor executor = new KeyOrderedExecutor(1, "test-lane-")) {
+            AtomicBoolean onLane = new AtomicBoolean();
+            executor.execute(7, () -> onLane.set(KeyOrderedExecutor.isLaneThread()));
+
+            assertTrue(executor.awaitIdle(5_000));
+            assertTrue(onLane.get());
+            assertFalse(KeyOrderedExecutor.isLaneThread());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.aquatech.alert.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatestValueTableTest {
+
+    @Test
+    void valueAndTimestampAreNeverTorn() throws InterruptedException {
+        LatestValueTable table = new LatestValueTable();
+        int slot = table.slotOf(1);
+        AtomicBoolean done = new AtomicBoolean();
+        Thread writer = new Thread(() -> {
+            for (long i = 1; i <= 200_000; i++) {
+                table.put(1, i, i);
+            }
+            done.set(true);
+        });
+        writer.start();
+        while (!done.get()) {
+            LatestValueTable.Reading reading = table.latest(slot);
+            if (reading != null) {
+                assertEquals(reading.timestamp(), (long) reading.value());
+            }
+        }
+        writer.join();
+    }
+
+    @Test
+    void slotIsFreedWithItsLastReferenceAndReused() {
+        LatestValueTable table = new LatestValueTable();
+        int slot = table.slotOf(1);
+        assertEquals(slot, table.slotOf(1));
+        table.put(1, 1_000, 5);
+
+        table.release(1);
+        assertTrue(table.put(1, 2_000, 6), "still referenced by one rule");
+        table.release(1);
+        assertFalse(table.put(1, 3_000, 7));
+        assertEquals(0, table.size());
+
+        assertEquals(slot, table.slotOf(2));
+        assertNull(table.latest(slot), "a reused slot starts empty");
+    }
+}
@@ -0,0 +1,54 @@
+package com.aquatech.alert.engine;
+
+import com.aquatech.alert.entity.MaintenanceWindow;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MaintenanceCalendarTest {
+
+    private static MaintenanceWindow oneOff(int stationId, LocalDateTime startsAt, LocalDateTime endsAt) {
+        MaintenanceWindow window = new MaintenanceWindow();
+        window.setStationId(stationId);
+        window.setStartsAt(startsAt);
+        window.setEndsAt(endsAt);
+        return window;
+    }
+
+    private static MaintenanceWindow weekly(int stationId, int daysOfWeek, LocalTime startTime, int durationMinutes) {
+        MaintenanceWindow window = new MaintenanceWindow();
+        window.setStationId(stationId);
+        window.setDaysOfWeek(daysOfWeek);
+        window.setStartTime(startTime);
+        window.setDurationMinutes(durationMinutes);
+        return window;
+    }
+
+    @Test
+    void suppressesInsideOneOffAndWeeklyWindows() {
+        LocalDateTime base = LocalDateTime.of(2025, 3, 3, 0, 0); // Monday
+        MaintenanceCalendar calendar = MaintenanceCalendar.of(List.of(
+                oneOff(1, base.plusHours(10), base.plusHours(12)),
+                oneOff(1, base.plusHours(11), base.plusHours(13)),
+                // Sundays 23:00 for two hours, wrapping into Monday.
+                weekly(2, 1 << 6, LocalTime.of(23, 0), 120)
+        ));
+
+        assertFalse(calendar.isSuppressed(1, base.plusHours(9).plusMinutes(59)));
+        assertTrue(calendar.isSuppressed(1, base.plusHours(10)));
+        assertTrue(calendar.isSuppressed(1, base.plusHours(12).plusMinutes(30)));
+        assertFalse(calendar.isSuppressed(1, base.plusHours(13)));
+
+        assertTrue(calendar.isSuppressed(2, base.minusMinutes(30)));
+        assertTrue(calendar.isSuppressed(2, base.plusMinutes(59)));
+        assertFalse(calendar.isSuppressed(2, base.plusMinutes(60)));
+        assertTrue(calendar.isSuppressed(2, base.plusWeeks(3).minusMinutes(1)));
+
+        assertFalse(calendar.isSuppressed(3, base.plusHours(11)));
+    }
+}
@@ -0,0 +1,52 @@
+package com.aquatech.alert.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NdjsonReadingScannerTest {
+
+    private static boolean parse(String line, NdjsonReadingScanner.Reading reading) {
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        return new NdjsonReadingScanner(ByteBuffer.wrap(bytes)).parse(0, bytes.length, reading);
+    }
+
+    @Test
+    void parsesFieldsInAnyOrderAndSkipsOthers() {
+        NdjsonReadingScanner.Reading reading = new NdjsonReadingScanner.Reading();
+
+        assertTrue(parse("{\"unit\":\"mg/L\",\"datetime\":\"2024-03-01 12:30:15\",\"value\":-7.25,"
+                + "\"extra\":{\"a\":[1,\"}\"]},\"sensor_id\":\"4\",\"station_id\":12}", reading));
+
+        assertEquals(12, reading.stationId);
+        assertEquals(4, reading.metricId);
+        assertEquals(-7.25, reading.value);
+        assertEquals(LocalDateTime.of(2024, 3, 1, 12, 30, 15).toEpochSecond(ZoneOffset.UTC), reading.localEpochSecond);
+    }
+
+    @Test
+    void matchesDoubleParsing() {
+        NdjsonReadingScanner.Reading reading = new NdjsonReadingScanner.Reading();
+        for (String value : new String[]{"0.1", "123456.789", "1e3", "0.12345678901234567890", "42"}) {
+            assertTrue(parse("{\"station_id\":1,\"sensor_id\":2,\"value\":" + value
+                    + ",\"datetime\":\"2024-01-01T00:00:00\"}", reading));
+            assertEquals(Double.parseDouble(value), reading.value, value);
+        }
+    }
+
+    @Test
+    void rejectsMalformedOrIncompleteLines() {
+        NdjsonReadingScanner.Reading reading = new NdjsonReadingScanner.Reading();
+
+        assertFalse(parse("", reading));
+        assertFalse(parse("{\"station_id\":1,\"sensor_id\":2,\"value\":3}", reading));
+        assertFalse(parse("{\"station_id\":1,\"sensor_id\":2,\"value\":null,\"datetime\":\"2024-01-01 00:00:00\"}", reading));
+        assertFalse(parse("{\"station_id\":1,\"sensor_id\":2,\"value\":3,\"datetime\":\"2024-13-01 00:00:00\"}", reading));
+        assertFalse(parse("{\"station_id\":1,\"sensor_id\":2,\"value\":3,\"datetime\":\"2024-01", reading));
+    }
+}
@@ -0,0 +1,96 @@
+package com.aquatech.alert.engine;
+
+import com.aquatech.alert.model.CachedCondition;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapConditionStoreTest {
+
+    private static CachedCondition condition(UUID alertId, String operator, Double threshold) {
+        CachedCondition condition = new CachedCondition();
+        condition.setAlertId(alertId);
+        condition.setAlertName("Pond 3 oxygen");
+        condition.setUserId(42);
+        condition.setMessage("Dissolved oxygen is low – check aerators");
+        condition.setConditionUid(UUID.randomUUID());
+        condition.setSeverity(2);
+        condition.setOperator(operator);
+        condition.setThreshold(threshold);
+        condition.setSilenced(0);
+        return condition;
+    }
+
+    @Test
+    void roundTripsConditionsBySeries() {
+        UUID alertId = UUID.randomUUID();
+        CachedCondition low = condition(alertId, "LT", 4.0);
+        CachedCondition band = condition(alertId, "OUTSIDE_RANGE", null);
+        band.setThresholdMin(6.5);
+        band.setThresholdMax(8.5);
+        band.setAggregation("AVG");
+        band.setSilenced(1);
+        band.setAlertName(null);
+
+        OffHeapConditionStore store = OffHeapConditionStore.builder()
+                .add(1L, low)
+                .add(2L, band)
+                .add(1L, condition(UUID.randomUUID(), "GT", 30.0))
+                .build();
+
+        assertEquals(3, store.size());
+        assertEquals(2, store.seriesCount());
+        assertEquals(0, store.columns(3L).size());
+
+        ConditionColumns series = store.columns(1L);
+        assertEquals(2, series.size());
+        CachedCondition read = series.condition(0);
+        assertEquals(low.getConditionUid(), read.getConditionUid());
+        assertEquals(alertId, read.getAlertId());
+        assertEquals("LT", read.getOperator());
+        assertEquals(4.0, read.getThreshold());
+        assertNull(read.getThresholdMin());
+        assertEquals(42, read.getUserId());
+        assertEquals(low.getMessage(), read.getMessage());
+        assertNull(read.getWindowSeconds());
+
+        CachedCondition banded = store.columns(2L).condition(0);
+        assertNotSame(band, banded);
+        assertNull(banded.getThreshold());
+        assertEquals(6.5, banded.getThresholdMin());
+        assertEquals("AVG", banded.getAggregation());
+        assertEquals(1, banded.getSilenced());
+        // Texts are written once per alert, from its first condition.
+        assertEquals("Pond 3 oxygen", banded.getAlertName());
+    }
+
+    @Test
+    void buildsColumnsOncePerSeriesAndDecodesOnDemand() {
+        CachedCondition low = condition(UUID.randomUUID(), "LT", 4.0);
+        CachedCondition sustained = condition(UUID.randomUUID(), "GT", 30.0);
+        sustained.setSustainSeconds(60);
+
+        OffHeapConditionStore store = OffHeapConditionStore.builder()
+                .add(1L, low)
+                .add(1L, sustained)
+                .build();
+
+        ConditionColumns columns = store.columns(1L);
+        assertSame(columns, store.columns(1L));
+        assertEquals(0, store.columns(2L).size());
+        assertEquals(2, columns.size());
+        assertEquals(low.getConditionUid(), columns.conditionUid(0));
+        assertFalse(columns.isGeneral(0));
+        assertEquals(4.0, columns.thresholds[0]);
+        assertTrue(columns.isGeneral(1));
+        assertSame(sustained, columns.condition(1), "general conditions are held");
+        assertEquals(sustained.getConditionUid(), columns.conditionUid(1));
+
+        CachedCondition decoded = columns.condition(0);
+        assertNotSame(low, decoded);
+        assertEquals(low.getConditionUid(), decoded.getConditionUid());
+        assertEquals(low.getMessage(), decoded.getMessage());
+    }
+}
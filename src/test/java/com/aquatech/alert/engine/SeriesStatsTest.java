@@ -0,0 +1,33 @@
+package com.aquatech.alert.engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SeriesStatsTest {
+
+    @Test
+    void derivesChangeFromPreviousReading() {
+        SeriesStats stats = new SeriesStats(0.1, 10);
+        stats.add(0, 8.0);
+        assertTrue(Double.isNaN(stats.ratePerMinute()));
+
+        stats.add(30_000, 7.0);
+        assertEquals(-2.0, stats.ratePerMinute(), 1e-9);
+        assertEquals(-12.5, stats.percentChange(), 1e-9);
+    }
+
+    @Test
+    void flagsSpikeAgainstWarmedUpBaseline() {
+        SeriesStats stats = new SeriesStats(0.1, 10);
+        for (int i = 0; i < 50; i++) {
+            stats.add(i * 60_000L, 7.0 + (i % 2 == 0 ? 0.1 : -0.1));
+            if (i < 10) assertTrue(Double.isNaN(stats.zScore()));
+        }
+        assertTrue(Math.abs(stats.zScore()) < 3);
+
+        stats.add(50 * 60_000L, 4.0);
+        assertTrue(stats.zScore() < -10);
+    }
+}
@@ -0,0 +1,51 @@
+package com.aquatech.alert.engine;
+
+import com.aquatech.alert.constant.AggregationConstant;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SeriesWindowTest {
+
+    @Test
+    void aggregatesMatchBruteForceOverSlidingWindows() {
+        int capacity = 64;
+        SeriesWindow window = new SeriesWindow(capacity);
+        List<long[]> timestamps = new ArrayList<>();
+        List<Double> values = new ArrayList<>();
+        Random random = new Random(7);
+        long now = 0;
+
+        for (int i = 0; i < 5_000; i++) {
+            now += 1 + random.nextInt(2_000);
+            double value = random.nextInt(1_000) / 10.0;
+            window.add(now, value);
+            timestamps.add(new long[]{now});
+            values.add(value);
+
+            for (long windowMillis : new long[]{5_000, 30_000, 300_000}) {
+                double sum = 0;
+                double min = Double.NaN;
+                double max = Double.NaN;
+                int count = 0;
+                for (int j = values.size() - 1; j >= Math.max(0, values.size() - capacity); j--) {
+                    if (timestamps.get(j)[0] <= now - windowMillis) break;
+                    double v = values.get(j);
+                    sum += v;
+                    min = count == 0 ? v : Math.min(min, v);
+                    max = count == 0 ? v : Math.max(max, v);
+                    count++;
+                }
+                assertEquals(count, window.aggregate(AggregationConstant.COUNT, windowMillis, now));
+                assertEquals(min, window.aggregate(AggregationConstant.MIN, windowMillis, now));
+                assertEquals(max, window.aggregate(AggregationConstant.MAX, windowMillis, now));
+                assertEquals(count == 0 ? Double.NaN : sum / count,
+                        window.aggregate(AggregationConstant.AVG, windowMillis, now), 1e-6);
+            }
+        }
+    }
+}
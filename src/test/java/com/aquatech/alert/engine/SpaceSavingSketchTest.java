@@ -0,0 +1,78 @@
+package com.aquatech.alert.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpaceSavingSketchTest {
+
+    @Test
+    void countsExactlyUntilFull() {
+        SpaceSavingSketch<String> sketch = new SpaceSavingSketch<>(3);
+        sketch.add("a", 1);
+        sketch.add("b", 2);
+        sketch.add("a", 4);
+
+        assertEquals(0, sketch.min());
+        assertTrue(sketch.entries().contains(new SpaceSavingSketch.Entry<>("a", 5L, 0L)));
+        assertTrue(sketch.entries().contains(new SpaceSavingSketch.Entry<>("b", 2L, 0L)));
+    }
+
+    @Test
+    void newKeyReplacesSmallestCounter() {
+        SpaceSavingSketch<String> sketch = new SpaceSavingSketch<>(2);
+        sketch.add("a", 5);
+        sketch.add("b", 2);
+        sketch.add("c", 1);
+
+        List<SpaceSavingSketch.Entry<String>> entries = sketch.entries();
+        assertEquals(2, entries.size());
+        assertTrue(entries.contains(new SpaceSavingSketch.Entry<>("a", 5L, 0L)));
+        assertTrue(entries.contains(new SpaceSavingSketch.Entry<>("c", 3L, 2L)));
+        assertEquals(3, sketch.min());
+    }
+
+    @Test
+    void heavyKeysSurviveNoise() {
+        SpaceSavingSketch<Integer> sketch = new SpaceSavingSketch<>(50);
+        Random random = new Random(7);
+        long[] exact = new long[3];
+        for (int i = 0; i < 100_000; i++) {
+            int key = i % 10 == 0 ? i % 3 : 1000 + random.nextInt(100_000);
+            if (key < 3) exact[key]++;
+            sketch.add(key, 1);
+        }
+
+        for (int key = 0; key < 3; key++) {
+            int k = key;
+            SpaceSavingSketch.Entry<Integer> entry = sketch.entries().stream()
+                    .filter(e -> e.key() == k).findFirst().orElseThrow();
+            assertTrue(entry.count() >= exact[key]);
+            assertTrue(entry.count() - entry.error() <= exact[key]);
+        }
+    }
+
+    @Test
+    void mergedStripesKeepBounds() throws InterruptedException {
+        HeavyHitters<Integer> hitters = new HeavyHitters<>(20, 4, 1);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    hitters.add(i % 4 == 0 ? 1 : 100 + i % 500);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) thread.join();
+
+        HeavyHitters.Estimate<Integer> top = hitters.top(1).get(0);
+        assertEquals(1, top.key());
+        assertTrue(top.count() >= 10_000);
+        assertTrue(top.count() - top.error() <= 10_000);
+        assertEquals(40_000, hitters.total());
+    }
+}
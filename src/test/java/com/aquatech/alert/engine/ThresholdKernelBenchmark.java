@@ -0,0 +1,66 @@
+package com.aquatech.alert.engine;
+
+import com.aquatech.alert.model.CachedCondition;
+import com.aquatech.alert.utils.ConditionUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-reading cost of evaluating every condition of one series: the original string switch,
+ * the scalar kernel and the vector kernel. Run {@link #main} from the IDE, or
+ * {@code org.openjdk.jmh.Main ThresholdKernelBenchmark} on the test classpath with
+ * {@code --add-modules jdk.incubator.vector}; it is not part of the test suite.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class ThresholdKernelBenchmark {
+
+    @Param({"16", "256", "4096"})
+    private int conditionCount;
+
+    private List<CachedCondition> conditions;
+    private ConditionColumns columns;
+    private final ThresholdKernel scalar = new ScalarThresholdKernel();
+    private final ThresholdKernel vector = new VectorThresholdKernel();
+    private double value;
+
+    @Setup
+    public void setup() {
+        conditions = ThresholdKernelTest.randomConditions(new Random(3), conditionCount);
+        columns = ConditionColumns.of(conditions);
+        value = 9.5;
+    }
+
+    @Benchmark
+    public void stringSwitch(Blackhole blackhole) {
+        for (CachedCondition condition : conditions) {
+            blackhole.consume(ConditionUtils.evaluate(condition.getOperator(), value,
+                    condition.getThreshold(), condition.getThresholdMin(), condition.getThresholdMax()));
+        }
+    }
+
+    @Benchmark
+    public long[] scalarKernel() {
+        return scalar.evaluate(columns, value);
+    }
+
+    @Benchmark
+    public long[] vectorKernel() {
+        return vector.evaluate(columns, value);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ThresholdKernelBenchmark.class.getSimpleName()).build()).run();
+    }
+}
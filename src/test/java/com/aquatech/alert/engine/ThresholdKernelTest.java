@@ -0,0 +1,49 @@
+package com.aquatech.alert.engine;
+
+import com.aquatech.alert.model.CachedCondition;
+import com.aquatech.alert.utils.ConditionUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ThresholdKernelTest {
+    private static final String[] OPERATORS = {"EQ", "NEQ", "GT", "GTE", "LT", "LTE", "RANGE", "OUTSIDE_RANGE", "gt"};
+
+    static List<CachedCondition> randomConditions(Random random, int count) {
+        return random.ints(count, 0, OPERATORS.length).mapToObj(op -> {
+            CachedCondition condition = new CachedCondition();
+            condition.setOperator(OPERATORS[op]);
+            condition.setThreshold(random.nextInt(10) == 0 ? null : (double) random.nextInt(20));
+            double min = random.nextInt(20);
+            condition.setThresholdMin(random.nextInt(10) == 0 ? null : min);
+            condition.setThresholdMax(min + random.nextInt(10));
+            return condition;
+        }).toList();
+    }
+
+    @Test
+    void vectorAndScalarKernelsMatchOperatorSemantics() {
+        Random random = new Random(11);
+        ThresholdKernel scalar = new ScalarThresholdKernel();
+        ThresholdKernel vector = new VectorThresholdKernel();
+
+        for (int size : new int[]{0, 1, 7, 64, 130, 1000}) {
+            List<CachedCondition> conditions = randomConditions(random, size);
+            ConditionColumns columns = ConditionColumns.of(conditions);
+            for (double value : new double[]{-1, 0, 5, 5.0005, 10, 19.5, Double.NaN}) {
+                long[] expected = scalar.evaluate(columns, value);
+                assertArrayEquals(expected, vector.evaluate(columns, value));
+                for (int i = 0; i < size; i++) {
+                    CachedCondition condition = conditions.get(i);
+                    assertEquals(!Double.isNaN(value) && ConditionUtils.evaluate(condition.getOperator(), value,
+                                    condition.getThreshold(), condition.getThresholdMin(), condition.getThresholdMax()),
+                            ConditionColumns.isSet(expected, i));
+                }
+            }
+        }
+    }
+}
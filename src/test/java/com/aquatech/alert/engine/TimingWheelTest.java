@@ -0,0 +1,62 @@
+package com.aquatech.alert.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    @Test
+    void timersExpireAtTheirTickAcrossLevels() {
+        TimingWheel<Long> wheel = new TimingWheel<>(10, 8, 3, 0);
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            long deadline = 10 + random.nextInt(20_000);
+            deadlines.add(deadline);
+            wheel.schedule(deadline, deadline);
+        }
+
+        int expired = 0;
+        for (long now = 10; now <= 21_000; now += 10) {
+            for (long deadline : wheel.advance(now)) {
+                assertTrue(deadline <= now && deadline > now - 10, "deadline " + deadline + " fired at " + now);
+                expired++;
+            }
+        }
+        assertEquals(deadlines.size(), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void deadlineBeyondTopLevelIsRePlaced() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 4, 2, 0);
+        wheel.schedule(100, "far");
+
+        assertTrue(wheel.advance(99).isEmpty());
+        assertEquals(List.of("far"), wheel.advance(100));
+    }
+
+    @Test
+    void cancelledTimerNeverFires() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 16, 2, 0);
+        TimingWheel.Timeout<String> cancelled = wheel.schedule(50, "cancelled");
+        wheel.schedule(50, "kept");
+
+        assertTrue(wheel.cancel(cancelled));
+        assertFalse(wheel.cancel(cancelled));
+        assertEquals(List.of("kept"), wheel.advance(60));
+    }
+
+    @Test
+    void pastDeadlineFiresOnNextTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 16, 2, 1000);
+        wheel.schedule(500, "late");
+
+        assertEquals(List.of("late"), wheel.advance(1010));
+    }
+}
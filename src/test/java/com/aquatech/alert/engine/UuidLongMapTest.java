@@ -0,0 +1,43 @@
+package com.aquatech.alert.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class UuidLongMapTest {
+
+    @Test
+    void matchesHashMapUnderRandomPutAndRemove() {
+        UuidLongMap map = new UuidLongMap();
+        Map<UUID, Long> expected = new HashMap<>();
+        UUID[] keys = new UUID[2_000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = UUID.randomUUID();
+        }
+
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            UUID key = keys[random.nextInt(keys.length)];
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key) != null, map.remove(key));
+            } else {
+                long value = random.nextLong();
+                map.put(key, value);
+                expected.put(key, value);
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (UUID key : keys) {
+            assertEquals(expected.getOrDefault(key, -1L), map.get(key, -1L));
+        }
+        Map<UUID, Long> iterated = new HashMap<>();
+        map.forEach(iterated::put);
+        assertEquals(expected, iterated);
+    }
+}
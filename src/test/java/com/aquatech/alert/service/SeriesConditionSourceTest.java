@@ -0,0 +1,45 @@
+package com.aquatech.alert.service;
+
+import com.aquatech.alert.engine.ConditionColumns;
+import com.aquatech.alert.model.AlertChangeMessage;
+import com.aquatech.alert.model.CachedCondition;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SeriesConditionSourceTest {
+
+    @Test
+    void blockingFetchSeedsTheSnapshotUsedWhileTheBreakerIsOpen() {
+        SeriesConditionCache cache = new SeriesConditionCache(100, 30);
+        // Opens once 4 calls are recorded and half failed; never probes, since start() is not called.
+        RedisCircuitBreaker breaker = new RedisCircuitBreaker(true, 4, 4, 0.5, 500, 0.8, 60, 1, 1000);
+        CacheService cacheService = mock(CacheService.class);
+        CachedCondition condition = new CachedCondition();
+        condition.setConditionUid(UUID.randomUUID());
+        condition.setOperator("GT");
+        condition.setThreshold(30.0);
+        when(cacheService.getConditions(1, 2)).thenReturn(List.of(condition));
+        SeriesConditionSource source = new SeriesConditionSource(cache, breaker, cacheService);
+
+        assertNull(source.getLocal(1, 2), "not fetched yet");
+        assertEquals(1, source.fetch(1, 2).size());
+
+        for (int i = 0; i < 4; i++) {
+            breaker.record(false, 0);
+        }
+        assertFalse(breaker.isAvailable());
+        // Drops the cached columns; the snapshot survives alert changes.
+        cache.onAlertChanged(new AlertChangeMessage());
+
+        ConditionColumns degraded = source.getLocal(1, 2);
+        assertNotNull(degraded);
+        assertEquals(condition.getConditionUid(), degraded.conditionUid(0));
+        assertNull(source.getLocal(1, 3), "series never fetched has no snapshot");
+        verify(cacheService, times(1)).getConditions(anyInt(), anyInt());
+    }
+}
@@ -0,0 +1,106 @@
+package com.aquatech.alert.service;
+
+import com.aquatech.alert.constant.AggregationConstant;
+import com.aquatech.alert.constant.OperatorConstant;
+import com.aquatech.alert.model.CachedCondition;
+import com.aquatech.alert.model.SensorData;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SeriesStateServiceTest {
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    @Test
+    void windowedResultIsTheOneRecordedWithTheReading() {
+        SeriesStateService state = new SeriesStateService(64, 0.1, 3);
+        CachedCondition condition = condition(OperatorConstant.GREATER_THAN, 10.0);
+        condition.setAggregation(AggregationConstant.AVG);
+        condition.setWindowSeconds(60);
+        state.register(SeriesStateService.seriesKey(1, 2), condition);
+
+        SensorData first = reading(20, 0);
+        SeriesStateService.Outcome firstOutcome = state.record(first);
+        SensorData second = reading(0, 120);
+        SeriesStateService.Outcome secondOutcome = state.record(second);
+
+        // Evaluated after the later reading was recorded, as on a cache miss.
+        assertTrue(state.evaluate(condition, firstOutcome, first, first.getValue()));
+        assertFalse(state.evaluate(condition, secondOutcome, second, second.getValue()));
+    }
+
+    @Test
+    void sustainFollowsRecordingOrderWhateverTheEvaluationOrder() {
+        SeriesStateService state = new SeriesStateService(64, 0.1, 3);
+        CachedCondition condition = condition(OperatorConstant.GREATER_THAN, 10.0);
+        condition.setSustainSeconds(30);
+        state.register(SeriesStateService.seriesKey(1, 2), condition);
+
+        SensorData first = reading(20, 0);
+        SeriesStateService.Outcome firstOutcome = state.record(first);
+        SensorData second = reading(20, 40);
+        SeriesStateService.Outcome secondOutcome = state.record(second);
+
+        assertTrue(state.evaluate(condition, secondOutcome, second, second.getValue()));
+        assertFalse(state.evaluate(condition, firstOutcome, first, first.getValue()));
+    }
+
+    @Test
+    void derivedValuesCountEveryReadingSinceRegistration() {
+        SeriesStateService state = new SeriesStateService(64, 0.1, 3);
+        CachedCondition condition = condition(OperatorConstant.PERCENT_CHANGE, 50.0);
+        state.register(SeriesStateService.seriesKey(1, 2), condition);
+
+        SensorData first = reading(10, 0);
+        SeriesStateService.Outcome firstOutcome = state.record(first);
+        SensorData second = reading(20, 60);
+        SeriesStateService.Outcome secondOutcome = state.record(second);
+        SensorData third = reading(21, 120);
+        SeriesStateService.Outcome thirdOutcome = state.record(third);
+
+        // Evaluated after the last reading was recorded: each still sees its own change.
+        assertFalse(state.evaluate(condition, firstOutcome, first, first.getValue()));
+        assertTrue(state.evaluate(condition, secondOutcome, second, second.getValue()));
+        assertFalse(state.evaluate(condition, thirdOutcome, third, third.getValue()));
+    }
+
+    @Test
+    void unregisteredConditionIsRegisteredAndEvaluatedFromTheNextReading() {
+        SeriesStateService state = new SeriesStateService(64, 0.1, 3);
+        CachedCondition condition = condition(OperatorConstant.GREATER_THAN, 10.0);
+        condition.setSustainSeconds(1);
+
+        SensorData first = reading(20, 0);
+        assertFalse(state.evaluate(condition, state.record(first), first, first.getValue()));
+        assertTrue(state.isRegistered(condition.getConditionUid()));
+
+        state.record(reading(20, 1));
+        SensorData third = reading(20, 2);
+        assertTrue(state.evaluate(condition, state.record(third), third, third.getValue()));
+
+        state.unregister(List.of(condition.getConditionUid()));
+        assertFalse(state.isRegistered(condition.getConditionUid()));
+    }
+
+    private static CachedCondition condition(String operator, Double threshold) {
+        CachedCondition condition = new CachedCondition();
+        condition.setConditionUid(UUID.randomUUID());
+        condition.setOperator(operator);
+        condition.setThreshold(threshold);
+        return condition;
+    }
+
+    private static SensorData reading(double value, long secondsAfterStart) {
+        SensorData sensorData = new SensorData();
+        sensorData.setStationId(1);
+        sensorData.setSensorId(2);
+        sensorData.setValue(value);
+        sensorData.setDatetime(START.plusSeconds(secondsAfterStart));
+        return sensorData;
+    }
+}
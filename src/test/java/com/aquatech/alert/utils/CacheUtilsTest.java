@@ -0,0 +1,33 @@
+package com.aquatech.alert.utils;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.ClusterSlotHashUtil;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CacheUtilsTest {
+
+    @Test
+    void indexAndConditionKeysOfOneSeriesShareASlot() {
+        String indexKey = CacheUtils.buildIndexKey(12, 3);
+        int indexSlot = ClusterSlotHashUtil.calculateSlot(indexKey);
+
+        for (int i = 0; i < 50; i++) {
+            String cacheKey = CacheUtils.buildCacheKey("12", UUID.randomUUID().toString(),
+                    "3", UUID.randomUUID().toString());
+            assertEquals(indexSlot, ClusterSlotHashUtil.calculateSlot(cacheKey), cacheKey);
+        }
+    }
+
+    @Test
+    void cacheKeyKeepsAlertSegmentForPrefixFiltering() {
+        String alertId = UUID.randomUUID().toString();
+        String cacheKey = CacheUtils.buildCacheKey("1", alertId, "2", UUID.randomUUID().toString());
+
+        assertTrue(cacheKey.startsWith("{station:1:metric:2}:"), cacheKey);
+        assertTrue(cacheKey.contains(":alert:" + alertId + ":"), cacheKey);
+    }
+}